@@ -26,6 +26,11 @@ public class DataInitializer implements CommandLineRunner {
 
     @Override
     public void run(String... args) throws Exception {
+        if (parkingLotRepository.count() > 0) {
+            logger.info("Existing data found, skipping data initialization");
+            return;
+        }
+
         logger.info("Initializing data...");
 
         ParkingLot lot1 = new ParkingLot();
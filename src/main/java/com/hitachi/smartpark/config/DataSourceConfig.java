@@ -0,0 +1,67 @@
+package com.hitachi.smartpark.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
+
+@Configuration
+public class DataSourceConfig {
+
+    @Value("${app.lanes.shared.pool-size:10}")
+    private int sharedPoolSize;
+
+    @Value("${app.lanes.shared.connection-timeout-ms:30000}")
+    private long sharedConnectionTimeoutMillis;
+
+    @Value("${app.lanes.gate.pool-size:10}")
+    private int gatePoolSize;
+
+    @Value("${app.lanes.gate.connection-timeout-ms:2000}")
+    private long gateConnectionTimeoutMillis;
+
+    @Value("${app.lanes.status.pool-size:5}")
+    private int statusPoolSize;
+
+    @Value("${app.lanes.status.connection-timeout-ms:1000}")
+    private long statusConnectionTimeoutMillis;
+
+    @Value("${app.lanes.bulk.pool-size:3}")
+    private int bulkPoolSize;
+
+    @Value("${app.lanes.bulk.connection-timeout-ms:30000}")
+    private long bulkConnectionTimeoutMillis;
+
+    @Value("${app.lanes.export.pool-size:2}")
+    private int exportPoolSize;
+
+    @Value("${app.lanes.export.connection-timeout-ms:30000}")
+    private long exportConnectionTimeoutMillis;
+
+    @Bean
+    public DataSource dataSource(DataSourceProperties properties) {
+        Map<Object, Object> lanePools = new HashMap<>();
+        lanePools.put(ExecutionLanes.Lane.GATE, pool(properties, "gate", gatePoolSize, gateConnectionTimeoutMillis));
+        lanePools.put(ExecutionLanes.Lane.STATUS, pool(properties, "status", statusPoolSize, statusConnectionTimeoutMillis));
+        lanePools.put(ExecutionLanes.Lane.BULK, pool(properties, "bulk", bulkPoolSize, bulkConnectionTimeoutMillis));
+        lanePools.put(ExecutionLanes.Lane.EXPORT, pool(properties, "export", exportPoolSize, exportConnectionTimeoutMillis));
+
+        LaneRoutingDataSource dataSource = new LaneRoutingDataSource();
+        dataSource.setTargetDataSources(lanePools);
+        dataSource.setDefaultTargetDataSource(pool(properties, "shared", sharedPoolSize, sharedConnectionTimeoutMillis));
+        return dataSource;
+    }
+
+    private HikariDataSource pool(DataSourceProperties properties, String name, int size, long connectionTimeoutMillis) {
+        HikariDataSource pool = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        pool.setPoolName("smartpark-" + name);
+        pool.setMaximumPoolSize(size);
+        pool.setConnectionTimeout(connectionTimeoutMillis);
+        return pool;
+    }
+}
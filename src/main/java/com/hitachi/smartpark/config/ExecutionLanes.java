@@ -0,0 +1,241 @@
+package com.hitachi.smartpark.config;
+
+import com.hitachi.smartpark.dto.ExecutionLaneStats;
+import com.hitachi.smartpark.exception.ServiceOverloadedException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+@Component
+public class ExecutionLanes implements WebMvcConfigurer {
+
+    public enum Lane { GATE, STATUS, BULK, EXPORT }
+
+    public static final String LANE_ATTRIBUTE = ExecutionLanes.class.getName() + ".lane";
+
+    private static final ThreadLocal<Lane> CURRENT_LANE = new ThreadLocal<>();
+    private static final ThreadLocal<ServiceOverloadedException> EXPIRED_TASK = new ThreadLocal<>();
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    @Value("${app.lanes.gate.threads:32}")
+    private int gateThreads;
+
+    @Value("${app.lanes.gate.queue-depth:256}")
+    private int gateQueueDepth;
+
+    @Value("${app.lanes.gate.queue-timeout-ms:2000}")
+    private long gateQueueTimeoutMillis;
+
+    @Value("${app.lanes.status.threads:16}")
+    private int statusThreads;
+
+    @Value("${app.lanes.status.queue-depth:512}")
+    private int statusQueueDepth;
+
+    @Value("${app.lanes.status.queue-timeout-ms:1000}")
+    private long statusQueueTimeoutMillis;
+
+    @Value("${app.lanes.bulk.threads:4}")
+    private int bulkThreads;
+
+    @Value("${app.lanes.bulk.queue-depth:16}")
+    private int bulkQueueDepth;
+
+    @Value("${app.lanes.bulk.queue-timeout-ms:10000}")
+    private long bulkQueueTimeoutMillis;
+
+    @Value("${app.lanes.export.threads:2}")
+    private int exportThreads;
+
+    @Value("${app.lanes.export.queue-depth:4}")
+    private int exportQueueDepth;
+
+    @Value("${app.lanes.export.queue-timeout-ms:10000}")
+    private long exportQueueTimeoutMillis;
+
+    @Value("${app.lanes.export.request-timeout-ms:3600000}")
+    private long exportRequestTimeoutMillis;
+
+    private final Map<Lane, LaneExecutor> executors = new EnumMap<>(Lane.class);
+
+    @PostConstruct
+    public void init() {
+        executors.put(Lane.GATE, new LaneExecutor(Lane.GATE, gateThreads, gateQueueDepth,
+                gateQueueTimeoutMillis, virtualThreads));
+        executors.put(Lane.STATUS, new LaneExecutor(Lane.STATUS, statusThreads, statusQueueDepth,
+                statusQueueTimeoutMillis, virtualThreads));
+        executors.put(Lane.BULK, new LaneExecutor(Lane.BULK, bulkThreads, bulkQueueDepth,
+                bulkQueueTimeoutMillis, virtualThreads));
+        executors.put(Lane.EXPORT, new LaneExecutor(Lane.EXPORT, exportThreads, exportQueueDepth,
+                exportQueueTimeoutMillis, virtualThreads));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executors.values().forEach(executor -> executor.pool.shutdownNow());
+    }
+
+    public static Lane currentLane() {
+        return CURRENT_LANE.get();
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(taskExecutor(Lane.EXPORT));
+        configurer.registerCallableInterceptors(new ExportRequestInterceptor());
+    }
+
+    AsyncTaskExecutor taskExecutor(Lane lane) {
+        return new LaneTaskExecutor(executors.get(lane));
+    }
+
+    public <T> CompletableFuture<T> submit(Lane lane, Supplier<T> task) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null) {
+            attributes.setAttribute(LANE_ATTRIBUTE, lane, RequestAttributes.SCOPE_REQUEST);
+        }
+        return executors.get(lane).submit(task);
+    }
+
+    public List<ExecutionLaneStats> getStats() {
+        List<ExecutionLaneStats> stats = new ArrayList<>(executors.size());
+        executors.values().forEach(executor -> stats.add(executor.stats()));
+        return stats;
+    }
+
+    private static final class LaneExecutor {
+
+        private final Lane lane;
+        private final int queueDepth;
+        private final long queueTimeoutNanos;
+        private final ThreadPoolExecutor pool;
+        private final LongAdder rejections = new LongAdder();
+        private final LongAdder expirations = new LongAdder();
+
+        private LaneExecutor(Lane lane, int threads, int queueDepth, long queueTimeoutMillis, boolean virtual) {
+            this.lane = lane;
+            this.queueDepth = queueDepth;
+            this.queueTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(queueTimeoutMillis);
+            ThreadFactory threadFactory = WorkerThreads.factory("lane-" + lane.name().toLowerCase() + "-", virtual);
+            this.pool = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(queueDepth), runnable -> threadFactory.newThread(() -> {
+                        CURRENT_LANE.set(lane);
+                        runnable.run();
+                    }));
+        }
+
+        private <T> CompletableFuture<T> submit(Supplier<T> task) {
+            CompletableFuture<T> future = new CompletableFuture<>();
+            execute(() -> {
+                try {
+                    future.complete(task.get());
+                } catch (Throwable ex) {
+                    future.completeExceptionally(ex);
+                }
+            }, future::completeExceptionally);
+            return future;
+        }
+
+        private void execute(Runnable task, Consumer<ServiceOverloadedException> onExpired) {
+            long enqueuedAt = System.nanoTime();
+            try {
+                pool.execute(() -> {
+                    if (System.nanoTime() - enqueuedAt > queueTimeoutNanos) {
+                        expirations.increment();
+                        onExpired.accept(overloaded("timed out waiting"));
+                        return;
+                    }
+                    task.run();
+                });
+            } catch (RejectedExecutionException ex) {
+                rejections.increment();
+                throw overloaded("is full");
+            }
+        }
+
+        private ServiceOverloadedException overloaded(String reason) {
+            return new ServiceOverloadedException(
+                    "The " + lane.name().toLowerCase() + " execution lane " + reason + ", retry later", 1);
+        }
+
+        private ExecutionLaneStats stats() {
+            return new ExecutionLaneStats(lane.name(), pool.getMaximumPoolSize(), pool.getActiveCount(),
+                    pool.getQueue().size(), queueDepth, pool.getCompletedTaskCount(),
+                    rejections.sum(), expirations.sum());
+        }
+    }
+
+    private static final class LaneTaskExecutor implements AsyncTaskExecutor {
+
+        private final LaneExecutor executor;
+
+        private LaneTaskExecutor(LaneExecutor executor) {
+            this.executor = executor;
+        }
+
+        @Override
+        public void execute(Runnable task) {
+            try {
+                executor.execute(task, expired -> {
+                    EXPIRED_TASK.set(expired);
+                    try {
+                        task.run();
+                    } finally {
+                        EXPIRED_TASK.remove();
+                    }
+                });
+            } catch (ServiceOverloadedException ex) {
+                throw new TaskRejectedException(ex.getMessage(), ex);
+            }
+        }
+    }
+
+    private final class ExportRequestInterceptor implements CallableProcessingInterceptor {
+
+        @Override
+        public <T> void beforeConcurrentHandling(NativeWebRequest request, Callable<T> task) {
+            WebAsyncUtils.getAsyncManager(request).getAsyncWebRequest().setTimeout(exportRequestTimeoutMillis);
+        }
+
+        @Override
+        public <T> void preProcess(NativeWebRequest request, Callable<T> task) {
+            ServiceOverloadedException expired = EXPIRED_TASK.get();
+            if (expired == null) {
+                return;
+            }
+            HttpServletResponse response = request.getNativeResponse(HttpServletResponse.class);
+            if (response != null && !response.isCommitted()) {
+                response.reset();
+            }
+            throw expired;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.hitachi.smartpark.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+
+public class LaneRoutingDataSource extends AbstractRoutingDataSource implements Closeable {
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return ExecutionLanes.currentLane();
+    }
+
+    @Override
+    public void close() {
+        getResolvedDataSources().values().forEach(LaneRoutingDataSource::closePool);
+        closePool(getResolvedDefaultDataSource());
+    }
+
+    private static void closePool(DataSource dataSource) {
+        if (dataSource instanceof HikariDataSource pool) {
+            pool.close();
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.hitachi.smartpark.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+@Configuration
+public class SecondLevelCacheConfig {
+
+    public static final String PARKING_LOTS_REGION = "parking-lots";
+    public static final String VEHICLES_REGION = "vehicles";
+
+    @Value("${app.cache.parking-lots.max-size:1000}")
+    private long parkingLotsMaxSize;
+
+    @Value("${app.cache.parking-lots.ttl:10m}")
+    private Duration parkingLotsTtl;
+
+    @Value("${app.cache.vehicles.max-size:100000}")
+    private long vehiclesMaxSize;
+
+    @Value("${app.cache.vehicles.ttl:30m}")
+    private Duration vehiclesTtl;
+
+    @Bean(destroyMethod = "close")
+    public CacheManager secondLevelCacheManager() {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("smartpark-" + UUID.randomUUID()), getClass().getClassLoader());
+        cacheManager.createCache(PARKING_LOTS_REGION, regionConfiguration(parkingLotsMaxSize, parkingLotsTtl));
+        cacheManager.createCache(VEHICLES_REGION, regionConfiguration(vehiclesMaxSize, vehiclesTtl));
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager secondLevelCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, secondLevelCacheManager);
+    }
+
+    private CaffeineConfiguration<Object, Object> regionConfiguration(long maxSize, Duration ttl) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(maxSize));
+        configuration.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+        configuration.setNativeStatisticsEnabled(true);
+        return configuration;
+    }
+}
@@ -0,0 +1,34 @@
+package com.hitachi.smartpark.controller;
+
+import com.hitachi.smartpark.config.ExecutionLanes;
+import com.hitachi.smartpark.dto.ConcurrencyLimitStats;
+import com.hitachi.smartpark.dto.ExecutionLaneStats;
+import com.hitachi.smartpark.security.ConcurrencyLimitFilter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/concurrency")
+public class ConcurrencyController {
+
+    @Autowired
+    private ConcurrencyLimitFilter concurrencyLimitFilter;
+
+    @Autowired
+    private ExecutionLanes executionLanes;
+
+    @GetMapping("/stats")
+    public ResponseEntity<ConcurrencyLimitStats> getConcurrencyStats() {
+        return ResponseEntity.ok(concurrencyLimitFilter.getStats());
+    }
+
+    @GetMapping("/lanes")
+    public ResponseEntity<List<ExecutionLaneStats>> getLaneStats() {
+        return ResponseEntity.ok(executionLanes.getStats());
+    }
+}
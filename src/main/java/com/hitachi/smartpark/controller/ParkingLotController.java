@@ -1,17 +1,27 @@
 package com.hitachi.smartpark.controller;
 
+import com.hitachi.smartpark.config.ExecutionLanes;
+import com.hitachi.smartpark.config.ExecutionLanes.Lane;
+import com.hitachi.smartpark.dto.PageResponse;
 import com.hitachi.smartpark.dto.ParkingLotRequest;
+import com.hitachi.smartpark.dto.ParkingLotResponse;
 import com.hitachi.smartpark.dto.ParkingLotStatusResponse;
-import com.hitachi.smartpark.entity.ParkingLot;
-import com.hitachi.smartpark.entity.Vehicle;
+import com.hitachi.smartpark.dto.ParkingSessionResponse;
+import com.hitachi.smartpark.dto.VehicleResponse;
+import com.hitachi.smartpark.entity.VehicleType;
+import com.hitachi.smartpark.service.OccupancyBroadcaster;
 import com.hitachi.smartpark.service.ParkingLotService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/v1/parking-lots")
@@ -20,34 +30,77 @@ public class ParkingLotController {
     @Autowired
     private ParkingLotService parkingLotService;
 
+    @Autowired
+    private OccupancyBroadcaster occupancyBroadcaster;
+
+    @Autowired
+    private ExecutionLanes executionLanes;
+
     @PostMapping
-    public ResponseEntity<ParkingLot> registerParkingLot(@Valid @RequestBody ParkingLotRequest request) {
-        ParkingLot parkingLot = parkingLotService.registerParkingLot(request);
-        return new ResponseEntity<>(parkingLot, HttpStatus.CREATED);
+    public CompletableFuture<ResponseEntity<ParkingLotResponse>> registerParkingLot(
+            @Valid @RequestBody ParkingLotRequest request) {
+        return executionLanes.submit(Lane.STATUS, () -> {
+            ParkingLotResponse parkingLot = parkingLotService.registerParkingLot(request);
+            return new ResponseEntity<>(parkingLot, HttpStatus.CREATED);
+        });
     }
 
     @GetMapping("/{lotId}")
-    public ResponseEntity<ParkingLot> getParkingLot(@PathVariable String lotId) {
-        ParkingLot parkingLot = parkingLotService.getParkingLot(lotId);
-        return ResponseEntity.ok(parkingLot);
+    public CompletableFuture<ResponseEntity<ParkingLotResponse>> getParkingLot(@PathVariable String lotId) {
+        return executionLanes.submit(Lane.STATUS, () -> ResponseEntity.ok(parkingLotService.getParkingLot(lotId)));
     }
 
     @GetMapping("/{lotId}/status")
-    public ResponseEntity<ParkingLotStatusResponse> getParkingLotStatus(@PathVariable String lotId) {
+    public ResponseEntity<ParkingLotStatusResponse> getParkingLotStatus(@PathVariable String lotId, WebRequest request) {
+        String etag = parkingLotService.getStatusTag(List.of(lotId));
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
         ParkingLotStatusResponse status = parkingLotService.getParkingLotStatus(lotId);
-        return ResponseEntity.ok(status);
+        return ResponseEntity.ok().eTag(etag).body(status);
+    }
+
+    @GetMapping("/status")
+    public ResponseEntity<List<ParkingLotStatusResponse>> getParkingLotStatuses(
+            @RequestParam(required = false) List<String> lotIds, WebRequest request) {
+        String etag = parkingLotService.getStatusTag(lotIds);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        List<ParkingLotStatusResponse> statuses = parkingLotService.getParkingLotStatuses(lotIds);
+        return ResponseEntity.ok().eTag(etag).body(statuses);
+    }
+
+    @GetMapping(value = "/status/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamParkingLotStatus(@RequestParam(required = false) String lotId) {
+        return occupancyBroadcaster.subscribe(lotId);
     }
 
     @GetMapping("/{lotId}/vehicles")
-    public ResponseEntity<List<Vehicle>> getVehiclesInLot(@PathVariable String lotId) {
-        List<Vehicle> vehicles = parkingLotService.getVehiclesInLot(lotId);
-        return ResponseEntity.ok(vehicles);
+    public CompletableFuture<ResponseEntity<PageResponse<VehicleResponse>>> getVehiclesInLot(
+            @PathVariable String lotId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "${app.listing.default-page-size:100}") int limit,
+            @RequestParam(required = false) VehicleType type) {
+        return executionLanes.submit(Lane.BULK,
+                () -> ResponseEntity.ok(parkingLotService.getVehiclesInLot(lotId, cursor, limit, type)));
+    }
+
+    @GetMapping("/{lotId}/sessions")
+    public CompletableFuture<ResponseEntity<PageResponse<ParkingSessionResponse>>> getSessionHistory(
+            @PathVariable String lotId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "${app.listing.default-page-size:100}") int limit) {
+        return executionLanes.submit(Lane.BULK,
+                () -> ResponseEntity.ok(parkingLotService.getSessionHistory(lotId, cursor, limit)));
     }
 
     @GetMapping
-    public ResponseEntity<List<ParkingLot>> getAllParkingLots() {
-        List<ParkingLot> parkingLots = parkingLotService.getAllParkingLots();
-        return ResponseEntity.ok(parkingLots);
+    public CompletableFuture<ResponseEntity<PageResponse<ParkingLotResponse>>> getParkingLots(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "${app.listing.default-page-size:100}") int limit) {
+        return executionLanes.submit(Lane.BULK,
+                () -> ResponseEntity.ok(parkingLotService.getParkingLots(cursor, limit)));
     }
 }
 
@@ -1,17 +1,35 @@
 package com.hitachi.smartpark.controller;
 
+import com.hitachi.smartpark.config.ExecutionLanes;
+import com.hitachi.smartpark.config.ExecutionLanes.Lane;
 import com.hitachi.smartpark.dto.CheckInRequest;
 import com.hitachi.smartpark.dto.CheckOutResponse;
+import com.hitachi.smartpark.dto.GateEventBatchResponse;
+import com.hitachi.smartpark.dto.GateEventReceipt;
+import com.hitachi.smartpark.dto.GateEventRequest;
+import com.hitachi.smartpark.dto.PageResponse;
+import com.hitachi.smartpark.dto.ParkingSessionResponse;
+import com.hitachi.smartpark.dto.VehicleImportSummary;
 import com.hitachi.smartpark.dto.VehicleRequest;
-import com.hitachi.smartpark.entity.Vehicle;
+import com.hitachi.smartpark.dto.VehicleResponse;
+import com.hitachi.smartpark.entity.VehicleType;
+import com.hitachi.smartpark.service.GateEventPipeline;
+import com.hitachi.smartpark.service.VehicleImportService;
 import com.hitachi.smartpark.service.VehicleService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/v1/vehicles")
@@ -20,34 +38,90 @@ public class VehicleController {
     @Autowired
     private VehicleService vehicleService;
 
+    @Autowired
+    private GateEventPipeline gateEventPipeline;
+
+    @Autowired
+    private VehicleImportService vehicleImportService;
+
+    @Autowired
+    private ExecutionLanes executionLanes;
+
     @PostMapping
-    public ResponseEntity<Vehicle> registerVehicle(@Valid @RequestBody VehicleRequest request) {
-        Vehicle vehicle = vehicleService.registerVehicle(request);
-        return new ResponseEntity<>(vehicle, HttpStatus.CREATED);
+    public CompletableFuture<ResponseEntity<VehicleResponse>> registerVehicle(@Valid @RequestBody VehicleRequest request) {
+        return executionLanes.submit(Lane.STATUS, () -> {
+            VehicleResponse vehicle = vehicleService.registerVehicle(request);
+            return new ResponseEntity<>(vehicle, HttpStatus.CREATED);
+        });
+    }
+
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/x-ndjson"})
+    public CompletableFuture<ResponseEntity<VehicleImportSummary>> importVehicles(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType, InputStream body) {
+        VehicleImportService.Format format = VehicleImportService.Format.fromMediaType(MediaType.parseMediaType(contentType));
+        return executionLanes.submit(Lane.BULK, () -> {
+            try {
+                VehicleImportSummary summary = vehicleImportService.importVehicles(body, format);
+                return ResponseEntity.ok(summary);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
     }
 
     @PostMapping("/check-in")
-    public ResponseEntity<Vehicle> checkIn(@Valid @RequestBody CheckInRequest request) {
-        Vehicle vehicle = vehicleService.checkIn(request);
-        return ResponseEntity.ok(vehicle);
+    public CompletableFuture<ResponseEntity<VehicleResponse>> checkIn(@Valid @RequestBody CheckInRequest request) {
+        return executionLanes.submit(Lane.GATE, () -> ResponseEntity.ok(vehicleService.checkIn(request)));
     }
 
     @PostMapping("/{licensePlate}/check-out")
-    public ResponseEntity<CheckOutResponse> checkOut(@PathVariable String licensePlate) {
-        CheckOutResponse response = vehicleService.checkOut(licensePlate);
-        return ResponseEntity.ok(response);
+    public CompletableFuture<ResponseEntity<CheckOutResponse>> checkOut(@PathVariable String licensePlate) {
+        return executionLanes.submit(Lane.GATE, () -> ResponseEntity.ok(vehicleService.checkOut(licensePlate)));
+    }
+
+    @PostMapping("/batch")
+    public CompletableFuture<ResponseEntity<GateEventBatchResponse>> processGateEvents(
+            @RequestBody List<GateEventRequest> events) {
+        return executionLanes.submit(Lane.GATE, () -> ResponseEntity.ok(vehicleService.processGateEvents(events)));
+    }
+
+    @PostMapping("/gate-events")
+    public ResponseEntity<GateEventReceipt> submitGateEvent(@Valid @RequestBody GateEventRequest event) {
+        GateEventReceipt receipt = gateEventPipeline.submit(event);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/v1/vehicles/gate-events/" + receipt.getEventId()))
+                .body(receipt);
+    }
+
+    @GetMapping("/gate-events/{eventId}")
+    public ResponseEntity<GateEventReceipt> getGateEvent(@PathVariable long eventId) {
+        GateEventReceipt receipt = gateEventPipeline.getReceipt(eventId);
+        return ResponseEntity.ok(receipt);
     }
 
     @GetMapping("/{licensePlate}")
-    public ResponseEntity<Vehicle> getVehicle(@PathVariable String licensePlate) {
-        Vehicle vehicle = vehicleService.getVehicle(licensePlate);
-        return ResponseEntity.ok(vehicle);
+    public CompletableFuture<ResponseEntity<VehicleResponse>> getVehicle(@PathVariable String licensePlate) {
+        return executionLanes.submit(Lane.STATUS, () -> ResponseEntity.ok(vehicleService.getVehicle(licensePlate)));
+    }
+
+    @GetMapping("/{licensePlate}/sessions")
+    public CompletableFuture<ResponseEntity<PageResponse<ParkingSessionResponse>>> getSessionHistory(
+            @PathVariable String licensePlate,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "${app.listing.default-page-size:100}") int limit) {
+        return executionLanes.submit(Lane.BULK,
+                () -> ResponseEntity.ok(vehicleService.getSessionHistory(licensePlate, cursor, limit)));
     }
 
     @GetMapping
-    public ResponseEntity<List<Vehicle>> getAllVehicles() {
-        List<Vehicle> vehicles = vehicleService.getAllVehicles();
-        return ResponseEntity.ok(vehicles);
+    public CompletableFuture<ResponseEntity<PageResponse<VehicleResponse>>> getVehicles(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "${app.listing.default-page-size:100}") int limit,
+            @RequestParam(required = false) VehicleType type,
+            @RequestParam(required = false) Boolean parked,
+            @RequestParam(required = false) String lotId) {
+        return executionLanes.submit(Lane.BULK,
+                () -> ResponseEntity.ok(vehicleService.getVehicles(cursor, limit, type, parked, lotId)));
     }
 }
 
@@ -0,0 +1,17 @@
+package com.hitachi.smartpark.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ConcurrencyLimitStats {
+    private int limit;
+    private int inFlight;
+    private long gateRejections;
+    private long otherRejections;
+    private double shortRttMillis;
+    private double longRttMillis;
+}
@@ -0,0 +1,19 @@
+package com.hitachi.smartpark.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExecutionLaneStats {
+    private String lane;
+    private int threads;
+    private int active;
+    private int queued;
+    private int queueDepth;
+    private long completed;
+    private long rejections;
+    private long expirations;
+}
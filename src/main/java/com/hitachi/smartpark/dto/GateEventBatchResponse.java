@@ -0,0 +1,17 @@
+package com.hitachi.smartpark.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class GateEventBatchResponse {
+    private int total;
+    private int succeeded;
+    private int failed;
+    private List<GateEventResult> results;
+}
@@ -0,0 +1,14 @@
+package com.hitachi.smartpark.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class GateEventReceipt {
+    private long eventId;
+    private GateEventState state;
+    private GateEventResult result;
+}
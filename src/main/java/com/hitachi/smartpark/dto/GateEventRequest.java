@@ -0,0 +1,21 @@
+package com.hitachi.smartpark.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class GateEventRequest {
+
+    @NotNull(message = "Event type is required")
+    private GateEventType type;
+
+    @NotBlank(message = "License plate is required")
+    private String licensePlate;
+
+    private String lotId;
+}
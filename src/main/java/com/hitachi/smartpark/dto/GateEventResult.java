@@ -0,0 +1,41 @@
+package com.hitachi.smartpark.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class GateEventResult {
+    private int index;
+    private GateEventType type;
+    private String licensePlate;
+    private String lotId;
+    private GateEventStatus status;
+    private String message;
+    private LocalDateTime checkInTime;
+    private LocalDateTime checkOutTime;
+    private Long minutesParked;
+    private BigDecimal parkingCost;
+
+    public static GateEventResult of(int index, GateEventRequest event, GateEventStatus status, String message) {
+        GateEventResult result = new GateEventResult();
+        result.setIndex(index);
+        if (event != null) {
+            result.setType(event.getType());
+            result.setLicensePlate(event.getLicensePlate());
+            result.setLotId(event.getLotId());
+        }
+        result.setStatus(status);
+        result.setMessage(message);
+        return result;
+    }
+
+    public boolean isSuccess() {
+        return status == GateEventStatus.SUCCESS;
+    }
+}
@@ -0,0 +1,6 @@
+package com.hitachi.smartpark.dto;
+
+public enum GateEventState {
+    PENDING,
+    COMPLETED
+}
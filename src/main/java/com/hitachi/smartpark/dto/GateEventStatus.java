@@ -0,0 +1,11 @@
+package com.hitachi.smartpark.dto;
+
+public enum GateEventStatus {
+    SUCCESS,
+    LOT_FULL,
+    NOT_FOUND,
+    ALREADY_PARKED,
+    NOT_PARKED,
+    INVALID,
+    FAILED
+}
@@ -0,0 +1,6 @@
+package com.hitachi.smartpark.dto;
+
+public enum GateEventType {
+    CHECK_IN,
+    CHECK_OUT
+}
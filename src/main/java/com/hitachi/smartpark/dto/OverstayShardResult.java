@@ -0,0 +1,16 @@
+package com.hitachi.smartpark.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OverstayShardResult {
+    private String lotId;
+    private long removed;
+    private int chunks;
+    private long elapsedMillis;
+    private boolean failed;
+}
@@ -0,0 +1,17 @@
+package com.hitachi.smartpark.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OverstaySweepResult {
+    private long removed;
+    private int failedShards;
+    private long elapsedMillis;
+    private List<OverstayShardResult> shards;
+}
@@ -26,5 +26,8 @@ public class ParkingLotRequest {
     @NotNull(message = "Cost per minute is required")
     @DecimalMin(value = "0.0", inclusive = false, message = "Cost per minute must be greater than 0")
     private BigDecimal costPerMinute;
+
+    @Min(value = 1, message = "Maximum stay must be at least 1 minute")
+    private Integer maxStayMinutes;
 }
 
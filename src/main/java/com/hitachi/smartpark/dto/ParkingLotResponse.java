@@ -0,0 +1,27 @@
+package com.hitachi.smartpark.dto;
+
+import com.hitachi.smartpark.entity.ParkingLot;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ParkingLotResponse {
+    private String lotId;
+    private String location;
+    private int capacity;
+    private int occupiedSpaces;
+    private int availableSpaces;
+    private BigDecimal costPerMinute;
+    private Integer maxStayMinutes;
+
+    public static ParkingLotResponse from(ParkingLot parkingLot) {
+        return new ParkingLotResponse(parkingLot.getLotId(), parkingLot.getLocation(), parkingLot.getCapacity(),
+                parkingLot.getOccupiedSpaces(), parkingLot.getCapacity() - parkingLot.getOccupiedSpaces(),
+                parkingLot.getCostPerMinute(), parkingLot.getMaxStayMinutes());
+    }
+}
@@ -1,17 +1,12 @@
 package com.hitachi.smartpark.dto;
 
-import lombok.AllArgsConstructor;
-import lombok.Data;
-import lombok.NoArgsConstructor;
+import lombok.Value;
 
-@Data
-@NoArgsConstructor
-@AllArgsConstructor
+@Value
 public class ParkingLotStatusResponse {
-    private String lotId;
-    private String location;
-    private int capacity;
-    private int occupiedSpaces;
-    private int availableSpaces;
+    String lotId;
+    String location;
+    int capacity;
+    int occupiedSpaces;
+    int availableSpaces;
 }
-
@@ -0,0 +1,24 @@
+package com.hitachi.smartpark.dto;
+
+import com.hitachi.smartpark.entity.SessionEndReason;
+import com.hitachi.smartpark.entity.VehicleType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ParkingSessionResponse {
+    private Long id;
+    private String licensePlate;
+    private String lotId;
+    private VehicleType vehicleType;
+    private LocalDateTime checkInTime;
+    private LocalDateTime checkOutTime;
+    private SessionEndReason endReason;
+    private BigDecimal parkingCost;
+}
@@ -0,0 +1,21 @@
+package com.hitachi.smartpark.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class VehicleImportSummary {
+    private long totalRows;
+    private long imported;
+    private long duplicates;
+    private long invalid;
+    private long elapsedMillis;
+    private long rowsPerSecond;
+    private boolean errorsTruncated;
+    private List<VehicleImportError> errors;
+}
@@ -0,0 +1,29 @@
+package com.hitachi.smartpark.dto;
+
+import com.hitachi.smartpark.entity.Vehicle;
+import com.hitachi.smartpark.entity.VehicleType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class VehicleResponse {
+    private String licensePlate;
+    private VehicleType type;
+    private String ownerName;
+    private String lotId;
+    private LocalDateTime checkInTime;
+
+    public static VehicleResponse from(Vehicle vehicle, String lotId, LocalDateTime checkInTime) {
+        return new VehicleResponse(vehicle.getLicensePlate(), vehicle.getType(), vehicle.getOwnerName(),
+                lotId, checkInTime);
+    }
+
+    public boolean isParked() {
+        return lotId != null;
+    }
+}
@@ -0,0 +1,44 @@
+package com.hitachi.smartpark.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "parking_session_history")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CompletedParkingSession {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "license_plate", nullable = false, length = 50)
+    private String licensePlate;
+
+    @Column(name = "lot_id", nullable = false, length = 50)
+    private String lotId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "vehicle_type", nullable = false)
+    private VehicleType vehicleType;
+
+    @Column(name = "check_in_time", nullable = false)
+    private LocalDateTime checkInTime;
+
+    @Column(name = "check_out_time", nullable = false)
+    private LocalDateTime checkOutTime;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "end_reason", nullable = false)
+    private SessionEndReason endReason;
+
+    @Column(name = "parking_cost", precision = 12, scale = 2)
+    private BigDecimal parkingCost;
+}
@@ -1,23 +1,30 @@
 package com.hitachi.smartpark.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.math.BigDecimal;
-import java.util.ArrayList;
-import java.util.List;
 
 @Entity
 @Table(name = "parking_lots")
 @Data
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
 @NoArgsConstructor
 @AllArgsConstructor
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "parking-lots")
 public class ParkingLot {
 
     @Id
+    @EqualsAndHashCode.Include
     @Column(name = "lot_id", length = 50)
     @NotBlank(message = "Lot ID is required")
     @Size(max = 50, message = "Lot ID must not exceed 50 characters")
@@ -42,27 +49,7 @@ public class ParkingLot {
     @Column(name = "cost_per_minute", nullable = false, precision = 10, scale = 2)
     private BigDecimal costPerMinute;
 
-    @OneToMany(mappedBy = "parkingLot", cascade = CascadeType.ALL, orphanRemoval = true)
-    private List<Vehicle> vehicles = new ArrayList<>();
-
-    public boolean isFull() {
-        return occupiedSpaces >= capacity;
-    }
-
-    public int getAvailableSpaces() {
-        return capacity - occupiedSpaces;
-    }
-
-    public void incrementOccupiedSpaces() {
-        if (occupiedSpaces < capacity) {
-            occupiedSpaces++;
-        }
-    }
-
-    public void decrementOccupiedSpaces() {
-        if (occupiedSpaces > 0) {
-            occupiedSpaces--;
-        }
-    }
+    @Min(value = 1, message = "Maximum stay must be at least 1 minute")
+    @Column(name = "max_stay_minutes")
+    private Integer maxStayMinutes;
 }
-
@@ -0,0 +1,33 @@
+package com.hitachi.smartpark.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "parking_sessions")
+@Data
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class ParkingSession {
+
+    @Id
+    @EqualsAndHashCode.Include
+    @Column(name = "license_plate", length = 50)
+    private String licensePlate;
+
+    @Column(name = "lot_id", nullable = false, length = 50)
+    private String lotId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "vehicle_type", nullable = false)
+    private VehicleType vehicleType;
+
+    @Column(name = "check_in_time", nullable = false)
+    private LocalDateTime checkInTime;
+}
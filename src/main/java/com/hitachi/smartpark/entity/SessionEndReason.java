@@ -0,0 +1,6 @@
+package com.hitachi.smartpark.entity;
+
+public enum SessionEndReason {
+    CHECKED_OUT,
+    OVERSTAY_REMOVED
+}
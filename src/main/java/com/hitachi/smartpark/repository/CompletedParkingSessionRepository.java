@@ -0,0 +1,55 @@
+package com.hitachi.smartpark.repository;
+
+import com.hitachi.smartpark.dto.ParkingSessionResponse;
+import com.hitachi.smartpark.entity.CompletedParkingSession;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+@Repository
+public interface CompletedParkingSessionRepository extends JpaRepository<CompletedParkingSession, Long> {
+
+    @Query("SELECT new com.hitachi.smartpark.dto.ParkingSessionResponse(c.id, c.licensePlate, c.lotId, " +
+           "c.vehicleType, c.checkInTime, c.checkOutTime, c.endReason, c.parkingCost) " +
+           "FROM CompletedParkingSession c WHERE c.licensePlate = :licensePlate " +
+           "ORDER BY c.checkOutTime DESC, c.id DESC")
+    List<ParkingSessionResponse> findFirstPageByLicensePlate(String licensePlate, Limit limit);
+
+    @Query("SELECT new com.hitachi.smartpark.dto.ParkingSessionResponse(c.id, c.licensePlate, c.lotId, " +
+           "c.vehicleType, c.checkInTime, c.checkOutTime, c.endReason, c.parkingCost) " +
+           "FROM CompletedParkingSession c WHERE c.licensePlate = :licensePlate " +
+           "AND c.checkOutTime <= :checkOutTime " +
+           "AND (c.checkOutTime < :checkOutTime OR (c.checkOutTime = :checkOutTime AND c.id < :id)) " +
+           "ORDER BY c.checkOutTime DESC, c.id DESC")
+    List<ParkingSessionResponse> findPageByLicensePlateBefore(String licensePlate, LocalDateTime checkOutTime,
+                                                              long id, Limit limit);
+
+    @Query("SELECT new com.hitachi.smartpark.dto.ParkingSessionResponse(c.id, c.licensePlate, c.lotId, " +
+           "c.vehicleType, c.checkInTime, c.checkOutTime, c.endReason, c.parkingCost) " +
+           "FROM CompletedParkingSession c WHERE c.lotId = :lotId " +
+           "ORDER BY c.checkOutTime DESC, c.id DESC")
+    List<ParkingSessionResponse> findFirstPageByLotId(String lotId, Limit limit);
+
+    @Query("SELECT new com.hitachi.smartpark.dto.ParkingSessionResponse(c.id, c.licensePlate, c.lotId, " +
+           "c.vehicleType, c.checkInTime, c.checkOutTime, c.endReason, c.parkingCost) " +
+           "FROM CompletedParkingSession c WHERE c.lotId = :lotId " +
+           "AND c.checkOutTime <= :checkOutTime " +
+           "AND (c.checkOutTime < :checkOutTime OR (c.checkOutTime = :checkOutTime AND c.id < :id)) " +
+           "ORDER BY c.checkOutTime DESC, c.id DESC")
+    List<ParkingSessionResponse> findPageByLotIdBefore(String lotId, LocalDateTime checkOutTime,
+                                                       long id, Limit limit);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    @Query("SELECT c FROM CompletedParkingSession c ORDER BY c.id")
+    Stream<CompletedParkingSession> streamAllById();
+}
@@ -0,0 +1,8 @@
+package com.hitachi.smartpark.repository;
+
+public interface LotOccupancyCount {
+
+    String getLotId();
+
+    long getOccupied();
+}
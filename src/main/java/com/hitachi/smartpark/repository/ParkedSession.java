@@ -0,0 +1,18 @@
+package com.hitachi.smartpark.repository;
+
+import com.hitachi.smartpark.entity.VehicleType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ParkedSession {
+    private String licensePlate;
+    private String lotId;
+    private VehicleType type;
+    private LocalDateTime checkInTime;
+}
@@ -0,0 +1,30 @@
+package com.hitachi.smartpark.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+@Repository
+public class ParkingLotJdbcRepository {
+
+    private static final String ADD_OCCUPIED_SQL =
+            "UPDATE parking_lots SET occupied_spaces = occupied_spaces + ? WHERE lot_id = ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    public int[] addOccupiedSpaces(Map<String, Integer> deltas) {
+        if (deltas.isEmpty()) {
+            return new int[0];
+        }
+        List<Map.Entry<String, Integer>> entries = new ArrayList<>(deltas.entrySet());
+        return jdbcTemplate.batchUpdate(ADD_OCCUPIED_SQL, entries, entries.size(), (ps, entry) -> {
+            ps.setInt(1, entry.getValue());
+            ps.setString(2, entry.getKey());
+        })[0];
+    }
+}
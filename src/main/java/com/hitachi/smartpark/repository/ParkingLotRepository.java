@@ -1,10 +1,32 @@
 package com.hitachi.smartpark.repository;
 
+import com.hitachi.smartpark.dto.ParkingLotResponse;
 import com.hitachi.smartpark.entity.ParkingLot;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface ParkingLotRepository extends JpaRepository<ParkingLot, String> {
-}
 
+    @Query("SELECT new com.hitachi.smartpark.dto.ParkingLotResponse(p.lotId, p.location, p.capacity, " +
+           "p.occupiedSpaces, p.capacity - p.occupiedSpaces, p.costPerMinute, p.maxStayMinutes) " +
+           "FROM ParkingLot p ORDER BY p.lotId")
+    List<ParkingLotResponse> findFirstPage(Limit limit);
+
+    @Query("SELECT new com.hitachi.smartpark.dto.ParkingLotResponse(p.lotId, p.location, p.capacity, " +
+           "p.occupiedSpaces, p.capacity - p.occupiedSpaces, p.costPerMinute, p.maxStayMinutes) " +
+           "FROM ParkingLot p WHERE p.lotId > :after ORDER BY p.lotId")
+    List<ParkingLotResponse> findPageAfter(String after, Limit limit);
+
+    @Query("SELECT p.lotId FROM ParkingLot p")
+    List<String> findAllLotIds();
+
+    @Modifying
+    @Query("UPDATE ParkingLot p SET p.occupiedSpaces = :occupiedSpaces WHERE p.lotId = :lotId")
+    int updateOccupiedSpaces(String lotId, int occupiedSpaces);
+}
@@ -0,0 +1,177 @@
+package com.hitachi.smartpark.repository;
+
+import com.hitachi.smartpark.entity.SessionEndReason;
+import com.hitachi.smartpark.entity.VehicleType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public class ParkingSessionJdbcRepository {
+
+    private static final String OPEN_SQL =
+            "INSERT INTO parking_sessions (license_plate, lot_id, vehicle_type, check_in_time) SELECT ?, ?, ?, ? " +
+            "WHERE NOT EXISTS (SELECT 1 FROM parking_sessions WHERE license_plate = ?)";
+
+    private static final String CLOSE_SQL =
+            "DELETE FROM parking_sessions WHERE license_plate = ? AND lot_id = ? AND check_in_time = ?";
+
+    private static final String HISTORY_SQL =
+            "INSERT INTO parking_session_history " +
+            "(license_plate, lot_id, vehicle_type, check_in_time, check_out_time, end_reason, parking_cost) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String LOCK_SQL =
+            "SELECT license_plate, lot_id, vehicle_type, check_in_time FROM parking_sessions " +
+            "WHERE license_plate = ANY(?) FOR UPDATE";
+
+    private static final String LOCK_EXPIRED_SQL =
+            "SELECT license_plate, lot_id, vehicle_type, check_in_time FROM parking_sessions " +
+            "WHERE lot_id = ? AND vehicle_type = ? AND check_in_time < ? LIMIT ? FOR UPDATE";
+
+    private static final String DELETE_SQL =
+            "DELETE FROM parking_sessions WHERE license_plate = ANY(?)";
+
+    private static final RowMapper<ParkedSession> PARKED_SESSION_MAPPER = (rs, rowNum) -> new ParkedSession(
+            rs.getString("license_plate"),
+            rs.getString("lot_id"),
+            VehicleType.valueOf(rs.getString("vehicle_type")),
+            rs.getObject("check_in_time", LocalDateTime.class));
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    public int[] applyTransitions(List<ParkingSessionTransition> transitions) {
+        int[] updated = new int[transitions.size()];
+        int start = 0;
+        while (start < transitions.size()) {
+            boolean checkOut = transitions.get(start).isCheckOut();
+            int end = start + 1;
+            while (end < transitions.size() && transitions.get(end).isCheckOut() == checkOut) {
+                end++;
+            }
+            int[] run = checkOut ? closeSessions(transitions.subList(start, end)) : openSessions(transitions.subList(start, end));
+            System.arraycopy(run, 0, updated, start, run.length);
+            start = end;
+        }
+
+        List<ParkingSessionTransition> completed = new ArrayList<>();
+        for (int i = 0; i < updated.length; i++) {
+            if (updated[i] > 0 && transitions.get(i).isCheckOut()) {
+                completed.add(transitions.get(i));
+            }
+        }
+        insertHistory(completed, SessionEndReason.CHECKED_OUT);
+        return updated;
+    }
+
+    public int[] revokeCheckIns(List<ParkingSessionTransition> checkIns) {
+        if (checkIns.isEmpty()) {
+            return new int[0];
+        }
+        return closeSessions(checkIns);
+    }
+
+    public List<ParkedSession> lockSessions(Collection<String> licensePlates) {
+        if (licensePlates.isEmpty()) {
+            return List.of();
+        }
+        return jdbcTemplate.query(LOCK_SQL, PARKED_SESSION_MAPPER, (Object) licensePlates.toArray(new String[0]));
+    }
+
+    public List<ParkedSession> lockSessionsCheckedInBefore(String lotId, VehicleType type,
+                                                           LocalDateTime cutoffTime, int limit) {
+        return jdbcTemplate.query(LOCK_EXPIRED_SQL, PARKED_SESSION_MAPPER, lotId, type.name(), cutoffTime, limit);
+    }
+
+    public int removeSessions(List<ParkedSession> sessions, LocalDateTime removedAt) {
+        if (sessions.isEmpty()) {
+            return 0;
+        }
+        int removed = jdbcTemplate.update(DELETE_SQL, (Object) sessions.stream()
+                .map(ParkedSession::getLicensePlate)
+                .toArray(String[]::new));
+        insertHistory(sessions.stream()
+                .map(session -> ParkingSessionTransition.checkOut(session.getLicensePlate(), session.getLotId(),
+                        session.getType(), session.getCheckInTime(), removedAt, null))
+                .toList(), SessionEndReason.OVERSTAY_REMOVED);
+        return removed;
+    }
+
+    private int[] openSessions(List<ParkingSessionTransition> transitions) {
+        return jdbcTemplate.execute((ConnectionCallback<int[]>) connection -> {
+            if (connection.getAutoCommit()) {
+                return insertSessions(transitions);
+            }
+            Savepoint savepoint = connection.setSavepoint();
+            try {
+                int[] opened = insertSessions(transitions);
+                connection.releaseSavepoint(savepoint);
+                return opened;
+            } catch (DuplicateKeyException e) {
+                connection.rollback(savepoint);
+            }
+            int[] opened = new int[transitions.size()];
+            for (int i = 0; i < transitions.size(); i++) {
+                opened[i] = openSession(connection, transitions.get(i));
+            }
+            return opened;
+        });
+    }
+
+    private int openSession(Connection connection, ParkingSessionTransition transition) throws SQLException {
+        Savepoint savepoint = connection.setSavepoint();
+        try {
+            int opened = insertSessions(List.of(transition))[0];
+            connection.releaseSavepoint(savepoint);
+            return opened;
+        } catch (DuplicateKeyException e) {
+            connection.rollback(savepoint);
+            return 0;
+        }
+    }
+
+    private int[] insertSessions(List<ParkingSessionTransition> transitions) {
+        return jdbcTemplate.batchUpdate(OPEN_SQL, transitions, transitions.size(), (ps, transition) -> {
+            ps.setString(1, transition.getLicensePlate());
+            ps.setString(2, transition.getLotId());
+            ps.setString(3, transition.getVehicleType().name());
+            ps.setObject(4, transition.getCheckInTime());
+            ps.setString(5, transition.getLicensePlate());
+        })[0];
+    }
+
+    private int[] closeSessions(List<ParkingSessionTransition> transitions) {
+        return jdbcTemplate.batchUpdate(CLOSE_SQL, transitions, transitions.size(), (ps, transition) -> {
+            ps.setString(1, transition.getLicensePlate());
+            ps.setString(2, transition.getLotId());
+            ps.setObject(3, transition.getCheckInTime());
+        })[0];
+    }
+
+    private void insertHistory(List<ParkingSessionTransition> completed, SessionEndReason reason) {
+        if (completed.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(HISTORY_SQL, completed, completed.size(), (ps, transition) -> {
+            ps.setString(1, transition.getLicensePlate());
+            ps.setString(2, transition.getLotId());
+            ps.setString(3, transition.getVehicleType().name());
+            ps.setObject(4, transition.getCheckInTime());
+            ps.setObject(5, transition.getCheckOutTime());
+            ps.setString(6, reason.name());
+            ps.setBigDecimal(7, transition.getParkingCost());
+        });
+    }
+}
@@ -0,0 +1,25 @@
+package com.hitachi.smartpark.repository;
+
+import com.hitachi.smartpark.entity.ParkingSession;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ParkingSessionRepository extends JpaRepository<ParkingSession, String> {
+
+    long countByLotId(String lotId);
+
+    @Query("SELECT new com.hitachi.smartpark.repository.ParkedSession(s.licensePlate, s.lotId, s.vehicleType, s.checkInTime) " +
+           "FROM ParkingSession s")
+    List<ParkedSession> findParkedSessions();
+
+    @Query("SELECT s.lotId AS lotId, COUNT(s) AS occupied FROM ParkingSession s GROUP BY s.lotId")
+    List<LotOccupancyCount> countSessionsByLot();
+
+    @Query("SELECT MAX(s.checkInTime) FROM ParkingSession s")
+    LocalDateTime findLatestCheckInTime();
+}
@@ -0,0 +1,36 @@
+package com.hitachi.smartpark.repository;
+
+import com.hitachi.smartpark.entity.VehicleType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ParkingSessionTransition {
+    private String licensePlate;
+    private String lotId;
+    private VehicleType vehicleType;
+    private LocalDateTime checkInTime;
+    private LocalDateTime checkOutTime;
+    private BigDecimal parkingCost;
+
+    public static ParkingSessionTransition checkIn(String licensePlate, String lotId, VehicleType vehicleType,
+                                                   LocalDateTime checkInTime) {
+        return new ParkingSessionTransition(licensePlate, lotId, vehicleType, checkInTime, null, null);
+    }
+
+    public static ParkingSessionTransition checkOut(String licensePlate, String lotId, VehicleType vehicleType,
+                                                    LocalDateTime checkInTime, LocalDateTime checkOutTime,
+                                                    BigDecimal parkingCost) {
+        return new ParkingSessionTransition(licensePlate, lotId, vehicleType, checkInTime, checkOutTime, parkingCost);
+    }
+
+    public boolean isCheckOut() {
+        return checkOutTime != null;
+    }
+}
@@ -0,0 +1,89 @@
+package com.hitachi.smartpark.repository;
+
+import com.hitachi.smartpark.dto.VehicleRequest;
+import com.hitachi.smartpark.dto.VehicleResponse;
+import com.hitachi.smartpark.entity.VehicleType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+@Repository
+public class VehicleJdbcRepository {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO vehicles (license_plate, type, owner_name) SELECT ?, ?, ? " +
+            "WHERE NOT EXISTS (SELECT 1 FROM vehicles WHERE license_plate = ?)";
+
+    private static final String LISTING_COLUMNS =
+            "SELECT v.license_plate, v.type, v.owner_name, s.lot_id, s.check_in_time ";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    public int[] insertVehicles(List<VehicleRequest> vehicles) {
+        if (vehicles.isEmpty()) {
+            return new int[0];
+        }
+        return jdbcTemplate.batchUpdate(INSERT_SQL, vehicles, vehicles.size(), (ps, vehicle) -> {
+            ps.setString(1, vehicle.getLicensePlate());
+            ps.setString(2, vehicle.getType().name());
+            ps.setString(3, vehicle.getOwnerName());
+            ps.setString(4, vehicle.getLicensePlate());
+        })[0];
+    }
+
+    public List<VehicleResponse> findPage(String after, VehicleType type, Boolean parked, String lotId, int limit) {
+        if (lotId != null && Boolean.FALSE.equals(parked)) {
+            return List.of();
+        }
+        StringBuilder sql = new StringBuilder(LISTING_COLUMNS);
+        List<Object> args = new ArrayList<>();
+        String orderBy;
+        if (lotId != null || Boolean.TRUE.equals(parked)) {
+            sql.append("FROM parking_sessions s JOIN vehicles v ON v.license_plate = s.license_plate WHERE 1 = 1");
+            if (lotId != null) {
+                sql.append(" AND s.lot_id = ?");
+                args.add(lotId);
+            }
+            if (type != null) {
+                sql.append(" AND s.vehicle_type = ?");
+                args.add(type.name());
+            }
+            if (after != null) {
+                sql.append(" AND s.license_plate > ?");
+                args.add(after);
+            }
+            orderBy = lotId != null ? "s.lot_id, s.license_plate" : "s.license_plate";
+        } else {
+            sql.append("FROM vehicles v LEFT JOIN parking_sessions s ON s.license_plate = v.license_plate WHERE 1 = 1");
+            if (type != null) {
+                sql.append(" AND v.type = ?");
+                args.add(type.name());
+            }
+            if (after != null) {
+                sql.append(" AND v.license_plate > ?");
+                args.add(after);
+            }
+            if (Boolean.FALSE.equals(parked)) {
+                sql.append(" AND s.license_plate IS NULL");
+            }
+            orderBy = type != null ? "v.type, v.license_plate" : "v.license_plate";
+        }
+        sql.append(" ORDER BY ").append(orderBy).append(" LIMIT ?");
+        args.add(limit);
+
+        return jdbcTemplate.query(sql.toString(), (rs, rowNum) -> {
+            Timestamp checkInTime = rs.getTimestamp("check_in_time");
+            return new VehicleResponse(
+                    rs.getString("license_plate"),
+                    VehicleType.valueOf(rs.getString("type")),
+                    rs.getString("owner_name"),
+                    rs.getString("lot_id"),
+                    checkInTime != null ? checkInTime.toLocalDateTime() : null);
+        }, args.toArray());
+    }
+}
@@ -1,23 +1,34 @@
 package com.hitachi.smartpark.repository;
 
+import com.hitachi.smartpark.dto.VehicleResponse;
 import com.hitachi.smartpark.entity.Vehicle;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
-import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface VehicleRepository extends JpaRepository<Vehicle, String> {
-    
-    List<Vehicle> findByParkingLotLotId(String lotId);
-    
-    Optional<Vehicle> findByLicensePlateAndParkingLotIsNotNull(String licensePlate);
-    
-    @Query("SELECT v FROM Vehicle v WHERE v.parkingLot IS NOT NULL AND v.checkInTime IS NOT NULL " +
-           "AND v.checkOutTime IS NULL AND v.checkInTime < :cutoffTime")
-    List<Vehicle> findVehiclesParkedLongerThan(LocalDateTime cutoffTime);
-}
 
+    @Query("SELECT new com.hitachi.smartpark.dto.VehicleResponse(v.licensePlate, v.type, v.ownerName, " +
+           "s.lotId, s.checkInTime) FROM Vehicle v LEFT JOIN ParkingSession s ON s.licensePlate = v.licensePlate " +
+           "WHERE v.licensePlate = :licensePlate")
+    Optional<VehicleResponse> findResponseByLicensePlate(String licensePlate);
+
+    @Query("SELECT v.licensePlate FROM Vehicle v WHERE v.licensePlate IN :licensePlates")
+    List<String> findExistingLicensePlates(Collection<String> licensePlates);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE")})
+    @Query("SELECT v FROM Vehicle v ORDER BY v.licensePlate")
+    Stream<Vehicle> streamAllByLicensePlate();
+}
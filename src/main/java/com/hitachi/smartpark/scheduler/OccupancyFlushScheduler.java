@@ -0,0 +1,42 @@
+package com.hitachi.smartpark.scheduler;
+
+import com.hitachi.smartpark.service.OccupancyEngine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+public class OccupancyFlushScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(OccupancyFlushScheduler.class);
+
+    @Autowired
+    private OccupancyEngine occupancyEngine;
+
+    @Scheduled(fixedDelayString = "${app.occupancy.flush-interval-ms:500}")
+    public void flushOccupancy() {
+        try {
+            int flushed = occupancyEngine.flush();
+            if (flushed > 0) {
+                logger.debug("Flushed occupancy changes for {} parking lots", flushed);
+            }
+        } catch (Exception e) {
+            logger.error("Error during scheduled occupancy flush", e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.occupancy.reconcile-interval-ms:60000}",
+            initialDelayString = "${app.occupancy.reconcile-interval-ms:60000}")
+    public void reconcileOccupancy() {
+        try {
+            int corrected = occupancyEngine.reconcile();
+            if (corrected > 0) {
+                logger.info("Reconciled occupancy for {} parking lots with the session table", corrected);
+            }
+        } catch (Exception e) {
+            logger.error("Error during scheduled occupancy reconciliation", e);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.hitachi.smartpark.scheduler;
+
+import com.hitachi.smartpark.service.SnapshotService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+public class SnapshotScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(SnapshotScheduler.class);
+
+    @Autowired
+    private SnapshotService snapshotService;
+
+    @Scheduled(fixedDelayString = "${app.snapshot.interval-ms:30000}",
+            initialDelayString = "${app.snapshot.interval-ms:30000}")
+    public void writeSnapshot() {
+        if (!snapshotService.isEnabled()) {
+            return;
+        }
+        try {
+            snapshotService.writeSnapshot();
+        } catch (Exception e) {
+            logger.error("Error during scheduled occupancy snapshot", e);
+        }
+    }
+}
@@ -1,5 +1,10 @@
 package com.hitachi.smartpark.scheduler;
 
+import com.hitachi.smartpark.dto.OverstayShardResult;
+import com.hitachi.smartpark.dto.OverstaySweepResult;
+import com.hitachi.smartpark.service.OverstayDeadline;
+import com.hitachi.smartpark.service.OverstaySweeper;
+import com.hitachi.smartpark.service.OverstayTracker;
 import com.hitachi.smartpark.service.VehicleService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -7,6 +12,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+
 @Component
 public class VehicleRemovalScheduler {
 
@@ -15,15 +22,43 @@ public class VehicleRemovalScheduler {
     @Autowired
     private VehicleService vehicleService;
 
-    @Scheduled(fixedRate = 60000)
-    public void removeVehiclesParkedLongerThan15Minutes() {
-        logger.info("Running scheduled task to remove vehicles parked longer than 15 minutes");
+    @Autowired
+    private OverstayTracker overstayTracker;
+
+    @Autowired
+    private OverstaySweeper overstaySweeper;
+
+    @Scheduled(fixedDelayString = "${app.overstay.tick-ms:1000}")
+    public void expireOverstays() {
+        List<OverstayDeadline> due;
+        while (!(due = overstayTracker.pollExpired()).isEmpty()) {
+            try {
+                int expired = vehicleService.expireOverstays(due);
+                logger.info("Removed {} of {} vehicles that reached their overstay deadline", expired, due.size());
+            } catch (Exception e) {
+                overstayTracker.restore(due);
+                logger.error("Error during overstay expiry", e);
+                return;
+            }
+        }
+    }
+
+    @Scheduled(fixedRateString = "${app.overstay.sweep-interval-ms:900000}",
+            initialDelayString = "${app.overstay.sweep-interval-ms:900000}")
+    public void sweepOverstays() {
+        logger.info("Running safety-net overstay sweep");
         try {
-            vehicleService.removeVehiclesParkedLongerThan(15);
-            logger.info("Completed scheduled task for vehicle removal");
+            OverstaySweepResult result = overstaySweeper.sweep();
+            logger.info("Completed safety-net sweep: removed {} vehicles across {} lots ({} failed) in {} ms",
+                    result.getRemoved(), result.getShards().size(), result.getFailedShards(), result.getElapsedMillis());
+            for (OverstayShardResult shard : result.getShards()) {
+                if (shard.getRemoved() > 0 || shard.isFailed()) {
+                    logger.info("Lot {}: removed {} vehicles in {} chunks, {} ms",
+                            shard.getLotId(), shard.getRemoved(), shard.getChunks(), shard.getElapsedMillis());
+                }
+            }
         } catch (Exception e) {
             logger.error("Error during scheduled vehicle removal", e);
         }
     }
 }
-
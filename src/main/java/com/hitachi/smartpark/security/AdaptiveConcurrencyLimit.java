@@ -0,0 +1,120 @@
+package com.hitachi.smartpark.security;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+class AdaptiveConcurrencyLimit {
+
+    private static final double SHORT_RTT_ALPHA = 2.0 / (10 + 1);
+    private static final double LONG_RTT_ALPHA = 2.0 / (600 + 1);
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double nonPriorityShare;
+    private final double rttTolerance;
+    private final double smoothing;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder priorityRejections = new LongAdder();
+    private final LongAdder otherRejections = new LongAdder();
+    private final ReentrantLock sampleLock = new ReentrantLock();
+
+    private volatile int limit;
+    private double estimatedLimit;
+    private double shortRtt;
+    private double longRtt;
+
+    AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, double nonPriorityShare,
+                             double rttTolerance, double smoothing) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.nonPriorityShare = nonPriorityShare;
+        this.rttTolerance = rttTolerance;
+        this.smoothing = smoothing;
+        this.limit = initialLimit;
+        this.estimatedLimit = initialLimit;
+    }
+
+    boolean tryAcquire(boolean priority) {
+        int allowed = priority ? limit : Math.max(1, (int) (limit * nonPriorityShare));
+        int current;
+        do {
+            current = inFlight.get();
+            if (current >= allowed) {
+                (priority ? priorityRejections : otherRejections).increment();
+                return false;
+            }
+        } while (!inFlight.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    void release(long rttNanos, boolean sample) {
+        int current = inFlight.getAndDecrement();
+        if (sample) {
+            onSample(rttNanos, current);
+        }
+    }
+
+    void onSample(long rttNanos, int inFlightAtCompletion) {
+        sampleLock.lock();
+        try {
+            if (longRtt == 0) {
+                shortRtt = rttNanos;
+                longRtt = rttNanos;
+                return;
+            }
+            shortRtt += SHORT_RTT_ALPHA * (rttNanos - shortRtt);
+            longRtt += LONG_RTT_ALPHA * (rttNanos - longRtt);
+
+            if (longRtt / shortRtt > 2) {
+                longRtt *= 0.95;
+            }
+            if (inFlightAtCompletion < estimatedLimit / 2) {
+                return;
+            }
+
+            double gradient = Math.max(0.5, Math.min(1.0, rttTolerance * longRtt / shortRtt));
+            double target = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+            estimatedLimit = Math.max(minLimit, Math.min(maxLimit,
+                    estimatedLimit * (1 - smoothing) + target * smoothing));
+            limit = (int) estimatedLimit;
+        } finally {
+            sampleLock.unlock();
+        }
+    }
+
+    int getLimit() {
+        return limit;
+    }
+
+    int getInFlight() {
+        return inFlight.get();
+    }
+
+    long getPriorityRejections() {
+        return priorityRejections.sum();
+    }
+
+    long getOtherRejections() {
+        return otherRejections.sum();
+    }
+
+    double getShortRttNanos() {
+        sampleLock.lock();
+        try {
+            return shortRtt;
+        } finally {
+            sampleLock.unlock();
+        }
+    }
+
+    double getLongRttNanos() {
+        sampleLock.lock();
+        try {
+            return longRtt;
+        } finally {
+            sampleLock.unlock();
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.hitachi.smartpark.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hitachi.smartpark.config.ExecutionLanes;
+import com.hitachi.smartpark.dto.ConcurrencyLimitStats;
+import com.hitachi.smartpark.dto.ErrorResponse;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+@Component
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private static final String API_PREFIX = "/api/v1/";
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${app.concurrency.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.concurrency.initial-limit:100}")
+    private int initialLimit;
+
+    @Value("${app.concurrency.min-limit:20}")
+    private int minLimit;
+
+    @Value("${app.concurrency.max-limit:1000}")
+    private int maxLimit;
+
+    @Value("${app.concurrency.non-gate-share:0.8}")
+    private double nonGateShare;
+
+    @Value("${app.concurrency.rtt-tolerance:1.5}")
+    private double rttTolerance;
+
+    @Value("${app.concurrency.smoothing:0.2}")
+    private double smoothing;
+
+    private AdaptiveConcurrencyLimit concurrencyLimit;
+
+    @PostConstruct
+    public void init() {
+        concurrencyLimit = new AdaptiveConcurrencyLimit(initialLimit, minLimit, maxLimit, nonGateShare,
+                rttTolerance, smoothing);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || !request.getRequestURI().startsWith(API_PREFIX);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        boolean gate = RateLimitFilter.resolveGroup(request) == RateLimitFilter.Group.GATE;
+        if (!concurrencyLimit.tryAcquire(gate)) {
+            reject(request, response);
+            return;
+        }
+        long startedAt = System.nanoTime();
+        boolean completed = false;
+        boolean deferred = false;
+        try {
+            chain.doFilter(request, response);
+            if (request.isAsyncStarted() && request.getAttribute(ExecutionLanes.LANE_ATTRIBUTE) != null) {
+                request.getAsyncContext().addListener(new LaneCompletionListener(startedAt));
+                deferred = true;
+            }
+            completed = !request.isAsyncStarted();
+        } finally {
+            if (!deferred) {
+                concurrencyLimit.release(System.nanoTime() - startedAt, completed);
+            }
+        }
+    }
+
+    public ConcurrencyLimitStats getStats() {
+        return new ConcurrencyLimitStats(
+                concurrencyLimit.getLimit(),
+                concurrencyLimit.getInFlight(),
+                concurrencyLimit.getPriorityRejections(),
+                concurrencyLimit.getOtherRejections(),
+                concurrencyLimit.getShortRttNanos() / NANOS_PER_MILLI,
+                concurrencyLimit.getLongRttNanos() / NANOS_PER_MILLI);
+    }
+
+    private final class LaneCompletionListener implements AsyncListener {
+
+        private final long startedAt;
+        private boolean failed;
+
+        private LaneCompletionListener(long startedAt) {
+            this.startedAt = startedAt;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            concurrencyLimit.release(System.nanoTime() - startedAt, !failed);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            failed = true;
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            failed = true;
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        ErrorResponse error = new ErrorResponse(
+                LocalDateTime.now(),
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                "Service Unavailable",
+                "Server is at its concurrency limit; retry shortly",
+                request.getRequestURI()
+        );
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), error);
+    }
+}
@@ -1,5 +1,6 @@
 package com.hitachi.smartpark.security;
 
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -21,10 +22,17 @@ public class CustomUserDetailsService implements UserDetailsService {
 
     private final BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
 
+    private UserDetails appUser;
+
+    @PostConstruct
+    public void init() {
+        appUser = new User(appUsername, passwordEncoder.encode(appPassword), new ArrayList<>());
+    }
+
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
         if (appUsername.equals(username)) {
-            return new User(appUsername, passwordEncoder.encode(appPassword), new ArrayList<>());
+            return User.withUserDetails(appUser).build();
         }
         throw new UsernameNotFoundException("User not found: " + username);
     }
@@ -33,4 +41,3 @@ public class CustomUserDetailsService implements UserDetailsService {
         return appUsername.equals(username) && appPassword.equals(password);
     }
 }
-
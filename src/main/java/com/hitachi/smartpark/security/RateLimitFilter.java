@@ -0,0 +1,172 @@
+package com.hitachi.smartpark.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.hitachi.smartpark.dto.ErrorResponse;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    enum Group { AUTH, GATE, WRITE, READ }
+
+    private static final String API_PREFIX = "/api/v1/";
+    private static final String VEHICLES_PREFIX = "/api/v1/vehicles/";
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${app.rate-limit.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.rate-limit.max-clients:100000}")
+    private long maxClients;
+
+    @Value("${app.rate-limit.idle-timeout-ms:600000}")
+    private long idleTimeoutMillis;
+
+    @Value("${app.rate-limit.auth.capacity:20}")
+    private int authCapacity;
+
+    @Value("${app.rate-limit.auth.per-second:1}")
+    private double authPerSecond;
+
+    @Value("${app.rate-limit.gate.capacity:200}")
+    private int gateCapacity;
+
+    @Value("${app.rate-limit.gate.per-second:100}")
+    private double gatePerSecond;
+
+    @Value("${app.rate-limit.write.capacity:100}")
+    private int writeCapacity;
+
+    @Value("${app.rate-limit.write.per-second:50}")
+    private double writePerSecond;
+
+    @Value("${app.rate-limit.read.capacity:400}")
+    private int readCapacity;
+
+    @Value("${app.rate-limit.read.per-second:200}")
+    private double readPerSecond;
+
+    private final Map<Group, Limit> limits = new EnumMap<>(Group.class);
+    private final Map<Group, Cache<String, TokenBucket>> buckets = new EnumMap<>(Group.class);
+
+    @PostConstruct
+    public void init() {
+        configure(Group.AUTH, authCapacity, authPerSecond);
+        configure(Group.GATE, gateCapacity, gatePerSecond);
+        configure(Group.WRITE, writeCapacity, writePerSecond);
+        configure(Group.READ, readCapacity, readPerSecond);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || !request.getRequestURI().startsWith(API_PREFIX);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Group group = resolveGroup(request);
+        long waitNanos = tryAcquire(group, resolveClient(group, request), System.nanoTime());
+        if (waitNanos > 0) {
+            reject(request, response, group, waitNanos);
+            return;
+        }
+        chain.doFilter(request, response);
+    }
+
+    long tryAcquire(Group group, String client, long now) {
+        Cache<String, TokenBucket> cache = buckets.get(group);
+        TokenBucket bucket = cache.getIfPresent(client);
+        if (bucket == null) {
+            Limit limit = limits.get(group);
+            bucket = cache.get(client, key -> new TokenBucket(limit.capacity(), limit.perSecond(), now));
+        }
+        return bucket.tryAcquire(now);
+    }
+
+    long getTrackedClientCount(Group group) {
+        Cache<String, TokenBucket> cache = buckets.get(group);
+        cache.cleanUp();
+        return cache.estimatedSize();
+    }
+
+    static Group resolveGroup(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        if (uri.startsWith("/api/v1/auth/")) {
+            return Group.AUTH;
+        }
+        boolean get = "GET".equals(request.getMethod()) || "HEAD".equals(request.getMethod());
+        if (get) {
+            return Group.READ;
+        }
+        if (uri.startsWith(VEHICLES_PREFIX)) {
+            String action = uri.substring(VEHICLES_PREFIX.length());
+            if (action.equals("check-in") || action.equals("batch") || action.equals("gate-events")
+                    || action.endsWith("/check-out")) {
+                return Group.GATE;
+            }
+        }
+        return Group.WRITE;
+    }
+
+    private String resolveClient(Group group, HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (group != Group.AUTH && authentication != null && authentication.isAuthenticated()
+                && !(authentication instanceof AnonymousAuthenticationToken)) {
+            return authentication.getName();
+        }
+        return request.getRemoteAddr();
+    }
+
+    private void configure(Group group, int capacity, double perSecond) {
+        limits.put(group, new Limit(capacity, perSecond));
+        buckets.put(group, Caffeine.newBuilder()
+                .maximumSize(maxClients)
+                .expireAfterAccess(Duration.ofMillis(idleTimeoutMillis))
+                .build());
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, Group group, long waitNanos)
+            throws IOException {
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+        ErrorResponse error = new ErrorResponse(
+                LocalDateTime.now(),
+                HttpStatus.TOO_MANY_REQUESTS.value(),
+                "Too Many Requests",
+                "Rate limit exceeded for " + group.name().toLowerCase() + " requests; retry in " + retryAfterSeconds + "s",
+                request.getRequestURI()
+        );
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), error);
+    }
+
+    private record Limit(int capacity, double perSecond) {
+    }
+}
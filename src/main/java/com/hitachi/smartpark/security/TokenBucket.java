@@ -0,0 +1,29 @@
+package com.hitachi.smartpark.security;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+class TokenBucket {
+
+    private final long nanosPerToken;
+    private final long burstNanos;
+    private final AtomicLong fullAt;
+
+    TokenBucket(int capacity, double tokensPerSecond, long now) {
+        this.nanosPerToken = (long) (1_000_000_000L / tokensPerSecond);
+        this.burstNanos = nanosPerToken * capacity;
+        this.fullAt = new AtomicLong(now);
+    }
+
+    long tryAcquire(long now) {
+        long current;
+        long next;
+        do {
+            current = fullAt.get();
+            next = Math.max(current, now) + nanosPerToken;
+            if (next - now > burstNanos) {
+                return next - now - burstNanos;
+            }
+        } while (!fullAt.compareAndSet(current, next));
+        return 0;
+    }
+}
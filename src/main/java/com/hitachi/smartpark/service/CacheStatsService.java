@@ -0,0 +1,50 @@
+package com.hitachi.smartpark.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.hitachi.smartpark.config.SecondLevelCacheConfig;
+import com.hitachi.smartpark.dto.CacheRegionStats;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import javax.cache.CacheManager;
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+public class CacheStatsService {
+
+    private static final List<String> REGIONS =
+            List.of(SecondLevelCacheConfig.PARKING_LOTS_REGION, SecondLevelCacheConfig.VEHICLES_REGION);
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CacheManager secondLevelCacheManager;
+
+    public List<CacheRegionStats> getRegionStats() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        List<CacheRegionStats> regions = new ArrayList<>(REGIONS.size());
+        for (String region : REGIONS) {
+            CacheRegionStatistics regionStatistics = statistics.getDomainDataRegionStatistics(region);
+            Cache<?, ?> cache = secondLevelCacheManager.getCache(region).unwrap(Cache.class);
+            CacheStats cacheStats = cache.stats();
+            long hits = regionStatistics.getHitCount();
+            long misses = regionStatistics.getMissCount();
+            regions.add(new CacheRegionStats(
+                    region,
+                    hits,
+                    misses,
+                    regionStatistics.getPutCount(),
+                    cacheStats.evictionCount(),
+                    cache.estimatedSize(),
+                    hits + misses == 0 ? 0.0 : (double) hits / (hits + misses)));
+        }
+        return regions;
+    }
+}
@@ -0,0 +1,350 @@
+package com.hitachi.smartpark.service;
+
+import com.hitachi.smartpark.entity.VehicleType;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Service
+public class EventJournal {
+
+    private static final Logger logger = LoggerFactory.getLogger(EventJournal.class);
+
+    private static final String SEGMENT_PREFIX = "journal-";
+    private static final String SEGMENT_SUFFIX = ".seg";
+
+    @Value("${app.journal.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.journal.directory:./data/journal}")
+    private String directory;
+
+    @Value("${app.journal.segment-size-bytes:67108864}")
+    private int segmentSize;
+
+    @Value("${app.journal.flush-interval-ms:5}")
+    private long flushIntervalMillis;
+
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private final ReentrantLock durableLock = new ReentrantLock();
+    private final Condition durableAdvanced = durableLock.newCondition();
+
+    private final Queue<JournalSegment> sealedSegments = new ConcurrentLinkedQueue<>();
+    private final LongAdder appendFailures = new LongAdder();
+
+    private volatile JournalSegment current;
+    private volatile long appendedSequence;
+    private volatile long durableSequence;
+    private volatile boolean running;
+    private long nextSequence = 1;
+    private Thread flusher;
+
+    @PostConstruct
+    public void open() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        Path journalDirectory = Paths.get(directory);
+        Files.createDirectories(journalDirectory);
+
+        List<Path> segments = segmentPaths();
+        if (segments.isEmpty()) {
+            current = JournalSegment.create(segmentPath(1), 1, segmentSize);
+        } else {
+            current = JournalSegment.openForAppend(segments.get(segments.size() - 1));
+        }
+        nextSequence = current.getLastSequence() + 1;
+        appendedSequence = current.getLastSequence();
+        durableSequence = appendedSequence;
+
+        running = true;
+        flusher = new Thread(this::runFlusher, "event-journal-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+        logger.info("Opened event journal in {} at sequence {} ({} segments)",
+                journalDirectory, nextSequence, Math.max(1, segments.size()));
+    }
+
+    public long append(JournalEventType type, String licensePlate, String lotId,
+                       VehicleType vehicleType, LocalDateTime eventTime) {
+        if (!enabled) {
+            return 0;
+        }
+        appendLock.lock();
+        try {
+            long sequence = nextSequence;
+            if (!current.append(sequence, type, licensePlate, lotId, vehicleType, eventTime)) {
+                rollOver(sequence);
+                if (!current.append(sequence, type, licensePlate, lotId, vehicleType, eventTime)) {
+                    throw new IllegalStateException("Journal record does not fit in an empty segment");
+                }
+            }
+            nextSequence = sequence + 1;
+            appendedSequence = sequence;
+            return sequence;
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    public void appendAfterCommit(JournalEventType type, String licensePlate, String lotId,
+                                  VehicleType vehicleType, LocalDateTime eventTime) {
+        if (!enabled) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            appendQuietly(type, licensePlate, lotId, vehicleType, eventTime);
+            return;
+        }
+        PendingEvents pending = (PendingEvents) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new PendingEvents();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        pending.add(type, licensePlate, lotId, vehicleType, eventTime);
+    }
+
+    private void appendQuietly(JournalEventType type, String licensePlate, String lotId,
+                               VehicleType vehicleType, LocalDateTime eventTime) {
+        try {
+            append(type, licensePlate, lotId, vehicleType, eventTime);
+        } catch (RuntimeException e) {
+            appendFailures.increment();
+            logger.error("Failed to journal {} of {} at lot {}", type, licensePlate, lotId, e);
+        }
+    }
+
+    public boolean awaitDurable(long sequence, long timeout, TimeUnit unit) throws InterruptedException {
+        long remaining = unit.toNanos(timeout);
+        durableLock.lock();
+        try {
+            while (durableSequence < sequence) {
+                if (remaining <= 0) {
+                    return false;
+                }
+                remaining = durableAdvanced.awaitNanos(remaining);
+            }
+        } finally {
+            durableLock.unlock();
+        }
+        return true;
+    }
+
+    public long replay(long fromSequence, JournalVisitor visitor) throws IOException {
+        if (!enabled) {
+            return 0;
+        }
+        long replayed = 0;
+        forceCurrentLocked();
+        List<Path> segments = segmentPaths();
+        for (int i = 0; i < segments.size(); i++) {
+            if (i + 1 < segments.size() && baseSequenceOf(segments.get(i + 1)) <= fromSequence) {
+                continue;
+            }
+            final long[] count = {0};
+            try (JournalSegment segment = JournalSegment.openReadOnly(segments.get(i))) {
+                segment.scan((sequence, type, licensePlate, lotId, vehicleType, eventTime) -> {
+                    if (sequence >= fromSequence) {
+                        visitor.onEvent(sequence, type, licensePlate, lotId, vehicleType, eventTime);
+                        count[0]++;
+                    }
+                });
+            }
+            replayed += count[0];
+        }
+        return replayed;
+    }
+
+    public long getAppendedSequence() {
+        return appendedSequence;
+    }
+
+    public long getAppendFailures() {
+        return appendFailures.sum();
+    }
+
+    public long getDurableSequence() {
+        return durableSequence;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @PreDestroy
+    public void close() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        flusher.interrupt();
+        try {
+            flusher.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        forceCurrentLocked();
+        logger.info("Closed event journal at sequence {}", durableSequence);
+    }
+
+    private void rollOver(long sequence) {
+        JournalSegment next;
+        try {
+            next = JournalSegment.create(segmentPath(sequence), sequence, segmentSize);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to roll over event journal segment", e);
+        }
+        sealedSegments.add(current);
+        current = next;
+        LockSupport.unpark(flusher);
+        logger.info("Rolled event journal over to segment {}", current.getPath().getFileName());
+    }
+
+    private void runFlusher() {
+        while (running) {
+            try {
+                long target = appendedSequence;
+                if (target > durableSequence) {
+                    JournalSegment segment = current;
+                    forceSealedSegments();
+                    segment.force();
+                    markDurable(Math.min(target, segment.getLastSequence()));
+                }
+            } catch (RuntimeException e) {
+                logger.error("Failed to flush event journal", e);
+            }
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis));
+        }
+    }
+
+    private void forceSealedSegments() {
+        JournalSegment sealed;
+        while ((sealed = sealedSegments.peek()) != null) {
+            sealed.force();
+            markDurable(sealed.getLastSequence());
+            sealedSegments.remove(sealed);
+        }
+    }
+
+    private void forceCurrentLocked() {
+        appendLock.lock();
+        try {
+            forceCurrent();
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    private void forceCurrent() {
+        forceSealedSegments();
+        if (current != null) {
+            current.force();
+            markDurable(current.getLastSequence());
+        }
+    }
+
+    private void markDurable(long sequence) {
+        durableLock.lock();
+        try {
+            if (sequence > durableSequence) {
+                durableSequence = sequence;
+                durableAdvanced.signalAll();
+            }
+        } finally {
+            durableLock.unlock();
+        }
+    }
+
+    private List<Path> segmentPaths() throws IOException {
+        try (Stream<Path> files = Files.list(Paths.get(directory))) {
+            return files
+                    .filter(path -> path.getFileName().toString().startsWith(SEGMENT_PREFIX)
+                            && path.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private Path segmentPath(long baseSequence) {
+        return Paths.get(directory, String.format("%s%020d%s", SEGMENT_PREFIX, baseSequence, SEGMENT_SUFFIX));
+    }
+
+    private static long baseSequenceOf(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    private final class PendingEvents implements TransactionSynchronization {
+
+        private JournalEventType[] types = new JournalEventType[4];
+        private String[] licensePlates = new String[4];
+        private String[] lotIds = new String[4];
+        private VehicleType[] vehicleTypes = new VehicleType[4];
+        private LocalDateTime[] eventTimes = new LocalDateTime[4];
+        private int size;
+
+        void add(JournalEventType type, String licensePlate, String lotId,
+                 VehicleType vehicleType, LocalDateTime eventTime) {
+            if (size == types.length) {
+                int capacity = size * 2;
+                types = Arrays.copyOf(types, capacity);
+                licensePlates = Arrays.copyOf(licensePlates, capacity);
+                lotIds = Arrays.copyOf(lotIds, capacity);
+                vehicleTypes = Arrays.copyOf(vehicleTypes, capacity);
+                eventTimes = Arrays.copyOf(eventTimes, capacity);
+            }
+            types[size] = type;
+            licensePlates[size] = licensePlate;
+            lotIds[size] = lotId;
+            vehicleTypes[size] = vehicleType;
+            eventTimes[size] = eventTime;
+            size++;
+        }
+
+        @Override
+        public void suspend() {
+            TransactionSynchronizationManager.unbindResource(EventJournal.this);
+        }
+
+        @Override
+        public void resume() {
+            TransactionSynchronizationManager.bindResource(EventJournal.this, this);
+        }
+
+        @Override
+        public void afterCommit() {
+            for (int i = 0; i < size; i++) {
+                appendQuietly(types[i], licensePlates[i], lotIds[i], vehicleTypes[i], eventTimes[i]);
+            }
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(EventJournal.this);
+        }
+    }
+}
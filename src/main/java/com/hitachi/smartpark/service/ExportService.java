@@ -0,0 +1,112 @@
+package com.hitachi.smartpark.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hitachi.smartpark.repository.CompletedParkingSessionRepository;
+import com.hitachi.smartpark.repository.VehicleRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+@Service
+public class ExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExportService.class);
+
+    @Autowired
+    private VehicleRepository vehicleRepository;
+
+    @Autowired
+    private CompletedParkingSessionRepository completedParkingSessionRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public long exportVehicles(OutputStream out) throws IOException {
+        return export("vehicles", out, vehicleRepository::streamAllByLicensePlate, (generator, vehicle) -> {
+            generator.writeStartObject();
+            generator.writeStringField("licensePlate", vehicle.getLicensePlate());
+            generator.writeStringField("type", vehicle.getType().name());
+            generator.writeStringField("ownerName", vehicle.getOwnerName());
+            generator.writeEndObject();
+        });
+    }
+
+    public long exportSessions(OutputStream out) throws IOException {
+        return export("sessions", out, completedParkingSessionRepository::streamAllById, (generator, session) -> {
+            generator.writeStartObject();
+            generator.writeNumberField("id", session.getId());
+            generator.writeStringField("licensePlate", session.getLicensePlate());
+            generator.writeStringField("lotId", session.getLotId());
+            generator.writeStringField("vehicleType", session.getVehicleType().name());
+            generator.writeStringField("checkInTime", format(session.getCheckInTime()));
+            generator.writeStringField("checkOutTime", format(session.getCheckOutTime()));
+            generator.writeStringField("endReason", session.getEndReason().name());
+            if (session.getParkingCost() != null) {
+                generator.writeNumberField("parkingCost", session.getParkingCost());
+            } else {
+                generator.writeNullField("parkingCost");
+            }
+            generator.writeEndObject();
+        });
+    }
+
+    private static String format(LocalDateTime time) {
+        return DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(time);
+    }
+
+    private <T> long export(String name, OutputStream out, Supplier<Stream<T>> source,
+                            RowWriter<T> rowWriter) throws IOException {
+        long startedAt = System.nanoTime();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+            generator.setRootValueSeparator(null);
+            Long rows = transactionTemplate.execute(status -> {
+                long count = 0;
+                try (Stream<T> stream = source.get()) {
+                    for (T row : (Iterable<T>) stream::iterator) {
+                        rowWriter.write(generator, row);
+                        generator.writeRaw('\n');
+                        entityManager.detach(row);
+                        count++;
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return count;
+            });
+            long elapsedNanos = Math.max(1, System.nanoTime() - startedAt);
+            logger.info("Exported {} {} in {} ms, {} rows/s",
+                    rows, name, elapsedNanos / 1_000_000, rows * 1_000_000_000L / elapsedNanos);
+            return rows;
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    @FunctionalInterface
+    private interface RowWriter<T> {
+        void write(JsonGenerator generator, T row) throws IOException;
+    }
+}
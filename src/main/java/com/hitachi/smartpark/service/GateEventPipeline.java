@@ -0,0 +1,194 @@
+package com.hitachi.smartpark.service;
+
+import com.hitachi.smartpark.dto.GateEventBatchResponse;
+import com.hitachi.smartpark.dto.GateEventReceipt;
+import com.hitachi.smartpark.dto.GateEventRequest;
+import com.hitachi.smartpark.dto.GateEventResult;
+import com.hitachi.smartpark.dto.GateEventState;
+import com.hitachi.smartpark.dto.GateEventStatus;
+import com.hitachi.smartpark.exception.ResourceNotFoundException;
+import com.hitachi.smartpark.exception.ServiceOverloadedException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+@Service
+public class GateEventPipeline implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(GateEventPipeline.class);
+
+    private static final long IDLE_WAIT_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    @Autowired
+    private VehicleService vehicleService;
+
+    @Value("${app.ingestion.shards:4}")
+    private int shardCount;
+
+    @Value("${app.ingestion.buffer-size:4096}")
+    private int bufferSize;
+
+    @Value("${app.ingestion.max-group-size:256}")
+    private int maxGroupSize;
+
+    @Value("${app.ingestion.result-retention:65536}")
+    private int resultRetention;
+
+    @Value("${app.ingestion.shutdown-timeout-ms:30000}")
+    private long shutdownTimeoutMillis;
+
+    private final AtomicLong nextEventId = new AtomicLong(1);
+    private final AtomicInteger activeOffers = new AtomicInteger();
+    private volatile boolean accepting;
+    private volatile boolean draining;
+    private volatile boolean running;
+    private GateEventRingBuffer[] buffers;
+    private Thread[] writers;
+    private AtomicReferenceArray<GateEventReceipt> receipts;
+
+    @Override
+    public void start() {
+        buffers = new GateEventRingBuffer[shardCount];
+        writers = new Thread[shardCount];
+        receipts = new AtomicReferenceArray<>(resultRetention);
+        draining = false;
+        for (int shard = 0; shard < shardCount; shard++) {
+            GateEventRingBuffer buffer = new GateEventRingBuffer(bufferSize);
+            buffers[shard] = buffer;
+            writers[shard] = new Thread(() -> runWriter(buffer), "gate-event-writer-" + shard);
+            writers[shard].start();
+        }
+        running = true;
+        accepting = true;
+        logger.info("Gate event pipeline started with {} shards of {} slots", shardCount, bufferSize);
+    }
+
+    @Override
+    public void stop() {
+        accepting = false;
+        while (activeOffers.get() > 0) {
+            Thread.onSpinWait();
+        }
+        draining = true;
+        for (GateEventRingBuffer buffer : buffers) {
+            buffer.wakeUp();
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(shutdownTimeoutMillis);
+        for (Thread writer : writers) {
+            try {
+                writer.join(Math.max(1, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime())));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        running = false;
+        logger.info("Gate event pipeline stopped with {} events left in the buffers", getBufferedEvents());
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return DEFAULT_PHASE - 4096;
+    }
+
+    public GateEventReceipt submit(GateEventRequest event) {
+        activeOffers.incrementAndGet();
+        try {
+            if (!accepting) {
+                throw new ServiceOverloadedException("Gate event pipeline is not accepting events", 1);
+            }
+            GateEventRingBuffer buffer = buffers[Math.floorMod(event.getLicensePlate().hashCode(), buffers.length)];
+            long eventId = buffer.offer(nextEventId::getAndIncrement, event);
+            if (eventId < 0) {
+                throw new ServiceOverloadedException("Gate event buffer is full, retry later", 1);
+            }
+            return new GateEventReceipt(eventId, GateEventState.PENDING, null);
+        } finally {
+            activeOffers.decrementAndGet();
+        }
+    }
+
+    public GateEventReceipt getReceipt(long eventId) {
+        if (eventId <= 0 || eventId >= nextEventId.get()) {
+            throw new ResourceNotFoundException("Gate event not found with ID: " + eventId);
+        }
+        GateEventReceipt receipt = receipts.get(slot(eventId));
+        if (receipt == null || receipt.getEventId() < eventId) {
+            return new GateEventReceipt(eventId, GateEventState.PENDING, null);
+        }
+        if (receipt.getEventId() > eventId) {
+            throw new ResourceNotFoundException("Gate event result has expired for ID: " + eventId);
+        }
+        return receipt;
+    }
+
+    public int getBufferedEvents() {
+        int buffered = 0;
+        for (GateEventRingBuffer buffer : buffers) {
+            buffered += buffer.size();
+        }
+        return buffered;
+    }
+
+    private void runWriter(GateEventRingBuffer buffer) {
+        List<Long> eventIds = new ArrayList<>(maxGroupSize);
+        List<GateEventRequest> group = new ArrayList<>(maxGroupSize);
+        while (true) {
+            buffer.drain((eventId, event) -> {
+                eventIds.add(eventId);
+                group.add(event);
+            }, maxGroupSize);
+
+            if (group.isEmpty()) {
+                if (draining) {
+                    return;
+                }
+                buffer.awaitEvents(IDLE_WAIT_NANOS);
+                continue;
+            }
+
+            commitGroup(eventIds, group);
+            eventIds.clear();
+            group.clear();
+        }
+    }
+
+    private void commitGroup(List<Long> eventIds, List<GateEventRequest> group) {
+        List<GateEventResult> results;
+        try {
+            GateEventBatchResponse response = vehicleService.processGateEvents(group);
+            results = response.getResults();
+        } catch (Exception e) {
+            logger.error("Failed to commit group of {} gate events", group.size(), e);
+            results = new ArrayList<>(group.size());
+            for (int i = 0; i < group.size(); i++) {
+                results.add(GateEventResult.of(i, group.get(i), GateEventStatus.FAILED, e.getMessage()));
+            }
+        }
+
+        for (int i = 0; i < eventIds.size(); i++) {
+            long eventId = eventIds.get(i);
+            receipts.set(slot(eventId), new GateEventReceipt(eventId, GateEventState.COMPLETED, results.get(i)));
+        }
+    }
+
+    private int slot(long eventId) {
+        return (int) (eventId % receipts.length());
+    }
+}
@@ -0,0 +1,109 @@
+package com.hitachi.smartpark.service;
+
+import com.hitachi.smartpark.dto.GateEventRequest;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongSupplier;
+
+final class GateEventRingBuffer {
+
+    private final int mask;
+    private final AtomicLongArray sequences;
+    private final long[] eventIds;
+    private final GateEventRequest[] events;
+    private final AtomicLong tail = new AtomicLong();
+    private volatile long head;
+    private volatile Thread waiter;
+
+    GateEventRingBuffer(int capacity) {
+        if (capacity < 2 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Ring buffer capacity must be a power of two, got " + capacity);
+        }
+        this.mask = capacity - 1;
+        this.sequences = new AtomicLongArray(capacity);
+        this.eventIds = new long[capacity];
+        this.events = new GateEventRequest[capacity];
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    long offer(LongSupplier eventIdSource, GateEventRequest event) {
+        long position;
+        int index;
+        while (true) {
+            position = tail.get();
+            index = (int) (position & mask);
+            long available = sequences.get(index) - position;
+            if (available == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    break;
+                }
+            } else if (available < 0) {
+                return -1;
+            }
+        }
+        long eventId = eventIdSource.getAsLong();
+        eventIds[index] = eventId;
+        events[index] = event;
+        sequences.set(index, position + 1);
+        Thread parked = waiter;
+        if (parked != null) {
+            LockSupport.unpark(parked);
+        }
+        return eventId;
+    }
+
+    void awaitEvents(long timeoutNanos) {
+        waiter = Thread.currentThread();
+        if (isEmpty()) {
+            LockSupport.parkNanos(this, timeoutNanos);
+        }
+        waiter = null;
+    }
+
+    void wakeUp() {
+        Thread parked = waiter;
+        if (parked != null) {
+            LockSupport.unpark(parked);
+        }
+    }
+
+    int drain(Consumer consumer, int maxEvents) {
+        long position = head;
+        int drained = 0;
+        while (drained < maxEvents) {
+            int index = (int) (position & mask);
+            if (sequences.get(index) != position + 1) {
+                break;
+            }
+            consumer.accept(eventIds[index], events[index]);
+            events[index] = null;
+            sequences.set(index, position + mask + 1);
+            position++;
+            drained++;
+        }
+        head = position;
+        return drained;
+    }
+
+    boolean isEmpty() {
+        long position = head;
+        return sequences.get((int) (position & mask)) != position + 1;
+    }
+
+    int size() {
+        return (int) Math.max(0, tail.get() - head);
+    }
+
+    int capacity() {
+        return mask + 1;
+    }
+
+    @FunctionalInterface
+    interface Consumer {
+        void accept(long eventId, GateEventRequest event);
+    }
+}
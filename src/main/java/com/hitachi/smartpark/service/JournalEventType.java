@@ -0,0 +1,13 @@
+package com.hitachi.smartpark.service;
+
+public enum JournalEventType {
+    CHECK_IN,
+    CHECK_OUT,
+    OVERSTAY_REMOVED;
+
+    private static final JournalEventType[] VALUES = values();
+
+    static JournalEventType fromCode(int code) {
+        return VALUES[code];
+    }
+}
@@ -0,0 +1,65 @@
+package com.hitachi.smartpark.service;
+
+import com.hitachi.smartpark.entity.ParkingLot;
+import com.hitachi.smartpark.repository.ParkingLotRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+@Service
+public class JournalRecovery {
+
+    private static final Logger logger = LoggerFactory.getLogger(JournalRecovery.class);
+
+    @Autowired
+    private EventJournal eventJournal;
+
+    @Autowired
+    private SnapshotService snapshotService;
+
+    @Autowired
+    private OccupancyEngine occupancyEngine;
+
+    @Autowired
+    private OverstayTracker overstayTracker;
+
+    @Autowired
+    private ParkingLotRepository parkingLotRepository;
+
+    @Value("${app.journal.replay-on-startup:false}")
+    private boolean replayOnStartup;
+
+    @PostConstruct
+    public void recover() {
+        if (!replayOnStartup || !eventJournal.isEnabled() || snapshotService.isRestored()) {
+            return;
+        }
+
+        long startedAt = System.nanoTime();
+        try {
+            JournalSessionProjection projection = new JournalSessionProjection();
+            long events = eventJournal.replay(1, projection);
+
+            Map<String, Integer> occupancy = projection.getOccupancyByLot();
+            List<LotOccupancy> lots = new ArrayList<>();
+            for (ParkingLot parkingLot : parkingLotRepository.findAll()) {
+                lots.add(new LotOccupancy(parkingLot.getLotId(), parkingLot.getLocation(), parkingLot.getCapacity(),
+                        occupancy.getOrDefault(parkingLot.getLotId(), 0)));
+            }
+            occupancyEngine.restore(lots);
+            overstayTracker.restoreSessions(projection.getSessions());
+
+            logger.info("Replayed {} journal events into {} parking lots and {} parked sessions in {} ms",
+                    events, lots.size(), projection.getSessions().size(), (System.nanoTime() - startedAt) / 1_000_000);
+        } catch (Exception e) {
+            logger.error("Failed to replay the event journal, rebuilding from the database", e);
+        }
+    }
+}
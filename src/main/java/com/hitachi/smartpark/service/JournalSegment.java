@@ -0,0 +1,288 @@
+package com.hitachi.smartpark.service;
+
+import com.hitachi.smartpark.entity.VehicleType;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.zip.CRC32C;
+
+final class JournalSegment implements AutoCloseable {
+
+    static final int HEADER_SIZE = 16;
+    static final int RECORD_HEADER_SIZE = 8;
+    static final int MAX_PAYLOAD_SIZE = 8 + 8 + 1 + 1 + 1 + 255 + 1 + 255;
+
+    private static final int MAGIC = 0x4A524E4C;
+    private static final int VERSION = 1;
+    private static final VehicleType[] VEHICLE_TYPES = VehicleType.values();
+    private static final byte[] ZEROS = new byte[64 * 1024];
+    private static final MethodHandle UNMAPPER = unmapper();
+
+    private final Path path;
+    private final long baseSequence;
+    private final MappedByteBuffer buffer;
+    private final ByteBuffer crcView;
+    private final CRC32C crc = new CRC32C();
+    private int position;
+    private volatile long lastSequence;
+
+    private JournalSegment(Path path, long baseSequence, MappedByteBuffer buffer) {
+        this.path = path;
+        this.baseSequence = baseSequence;
+        this.buffer = buffer;
+        this.crcView = buffer.duplicate();
+        this.position = HEADER_SIZE;
+        this.lastSequence = baseSequence - 1;
+    }
+
+    static JournalSegment create(Path path, long baseSequence, int size) throws IOException {
+        JournalSegment segment = new JournalSegment(path, baseSequence,
+                map(path, size, FileChannel.MapMode.READ_WRITE, true));
+        segment.buffer.putInt(0, MAGIC);
+        segment.buffer.putInt(4, VERSION);
+        segment.buffer.putLong(8, baseSequence);
+        return segment;
+    }
+
+    static JournalSegment openReadOnly(Path path) throws IOException {
+        return open(path, FileChannel.MapMode.READ_ONLY);
+    }
+
+    static JournalSegment openForAppend(Path path) throws IOException {
+        JournalSegment segment = open(path, FileChannel.MapMode.READ_WRITE);
+        segment.clearTail();
+        return segment;
+    }
+
+    private static JournalSegment open(Path path, FileChannel.MapMode mode) throws IOException {
+        long size;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            size = channel.size();
+        }
+        MappedByteBuffer buffer = map(path, (int) size, mode, false);
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            unmap(buffer);
+            throw new IOException("Not a journal segment: " + path);
+        }
+        JournalSegment segment = new JournalSegment(path, buffer.getLong(8), buffer);
+        segment.scan(null);
+        return segment;
+    }
+
+    private static MappedByteBuffer map(Path path, int size, FileChannel.MapMode mode, boolean truncate)
+            throws IOException {
+        if (mode == FileChannel.MapMode.READ_ONLY) {
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                return channel.map(mode, 0, size);
+            }
+        }
+        try (FileChannel channel = truncate
+                ? FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE,
+                        StandardOpenOption.TRUNCATE_EXISTING)
+                : FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return channel.map(mode, 0, size);
+        }
+    }
+
+    boolean append(long sequence, JournalEventType type, String licensePlate, String lotId,
+                   VehicleType vehicleType, LocalDateTime eventTime) {
+        int plateLength = encodedLength(licensePlate);
+        int lotLength = encodedLength(lotId);
+        if (plateLength > 255 || lotLength > 255) {
+            throw new IllegalArgumentException("Journal fields must not exceed 255 bytes");
+        }
+        int payloadSize = 8 + 8 + 1 + 1 + 1 + plateLength + 1 + lotLength;
+        if (position + RECORD_HEADER_SIZE + payloadSize > buffer.capacity()) {
+            return false;
+        }
+
+        int start = position + RECORD_HEADER_SIZE;
+        int offset = start;
+        buffer.putLong(offset, sequence);
+        offset += 8;
+        buffer.putLong(offset, toEpochMicros(eventTime));
+        offset += 8;
+        buffer.put(offset++, (byte) type.ordinal());
+        buffer.put(offset++, (byte) (vehicleType != null ? vehicleType.ordinal() : -1));
+        offset = putString(offset, licensePlate, plateLength);
+        offset = putString(offset, lotId, lotLength);
+
+        crc.reset();
+        crcView.limit(offset).position(start);
+        crc.update(crcView);
+        buffer.putInt(position + 4, (int) crc.getValue());
+        buffer.putInt(position, payloadSize);
+
+        position = offset;
+        lastSequence = sequence;
+        return true;
+    }
+
+    int scan(JournalVisitor visitor) {
+        int offset = HEADER_SIZE;
+        long expectedSequence = baseSequence;
+        int records = 0;
+        while (offset + RECORD_HEADER_SIZE <= buffer.capacity()) {
+            int payloadSize = buffer.getInt(offset);
+            if (payloadSize <= 0 || payloadSize > MAX_PAYLOAD_SIZE
+                    || offset + RECORD_HEADER_SIZE + payloadSize > buffer.capacity()) {
+                break;
+            }
+            int start = offset + RECORD_HEADER_SIZE;
+            crc.reset();
+            crcView.limit(start + payloadSize).position(start);
+            crc.update(crcView);
+            if ((int) crc.getValue() != buffer.getInt(offset + 4) || buffer.getLong(start) != expectedSequence) {
+                break;
+            }
+
+            if (visitor != null) {
+                int cursor = start + 8;
+                LocalDateTime eventTime = fromEpochMicros(buffer.getLong(cursor));
+                cursor += 8;
+                JournalEventType type = JournalEventType.fromCode(buffer.get(cursor++));
+                int vehicleTypeCode = buffer.get(cursor++);
+                int plateLength = buffer.get(cursor++) & 0xFF;
+                String licensePlate = getString(cursor, plateLength);
+                cursor += plateLength;
+                int lotLength = buffer.get(cursor++) & 0xFF;
+                String lotId = getString(cursor, lotLength);
+                visitor.onEvent(expectedSequence, type, licensePlate, lotId,
+                        vehicleTypeCode >= 0 ? VEHICLE_TYPES[vehicleTypeCode] : null, eventTime);
+            }
+
+            offset = start + payloadSize;
+            expectedSequence++;
+            records++;
+        }
+        position = offset;
+        lastSequence = expectedSequence - 1;
+        return records;
+    }
+
+    private void clearTail() {
+        int offset = position;
+        while (offset < buffer.capacity()) {
+            int length = Math.min(ZEROS.length, buffer.capacity() - offset);
+            if (!isZero(offset, length)) {
+                buffer.put(offset, ZEROS, 0, length);
+            }
+            offset += length;
+        }
+    }
+
+    private boolean isZero(int offset, int length) {
+        int end = offset + length;
+        for (; offset + 8 <= end; offset += 8) {
+            if (buffer.getLong(offset) != 0) {
+                return false;
+            }
+        }
+        for (; offset < end; offset++) {
+            if (buffer.get(offset) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    void force() {
+        buffer.force();
+    }
+
+    @Override
+    public void close() {
+        unmap(buffer);
+    }
+
+    Path getPath() {
+        return path;
+    }
+
+    long getBaseSequence() {
+        return baseSequence;
+    }
+
+    long getLastSequence() {
+        return lastSequence;
+    }
+
+    int getPosition() {
+        return position;
+    }
+
+    private int putString(int offset, String value, int length) {
+        buffer.put(offset++, (byte) length);
+        if (length == value.length()) {
+            for (int i = 0; i < length; i++) {
+                buffer.put(offset++, (byte) value.charAt(i));
+            }
+        } else {
+            buffer.put(offset, value.getBytes(StandardCharsets.UTF_8));
+            offset += length;
+        }
+        return offset;
+    }
+
+    private String getString(int offset, int length) {
+        byte[] bytes = new byte[length];
+        buffer.get(offset, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static int encodedLength(String value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Journal fields must not be null");
+        }
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) >= 0x80) {
+                return value.getBytes(StandardCharsets.UTF_8).length;
+            }
+        }
+        return value.length();
+    }
+
+    private static long toEpochMicros(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + time.getNano() / 1_000;
+    }
+
+    private static LocalDateTime fromEpochMicros(long micros) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+                (int) Math.floorMod(micros, 1_000_000L) * 1_000, ZoneOffset.UTC);
+    }
+
+    private static void unmap(MappedByteBuffer buffer) {
+        if (UNMAPPER == null) {
+            return;
+        }
+        try {
+            UNMAPPER.invokeExact((ByteBuffer) buffer);
+        } catch (Throwable e) {
+            throw new IllegalStateException("Failed to unmap journal segment", e);
+        }
+    }
+
+    private static MethodHandle unmapper() {
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+            theUnsafe.setAccessible(true);
+            return MethodHandles.lookup()
+                    .findVirtual(unsafeClass, "invokeCleaner", MethodType.methodType(void.class, ByteBuffer.class))
+                    .bindTo(theUnsafe.get(null));
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+}
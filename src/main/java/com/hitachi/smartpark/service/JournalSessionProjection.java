@@ -0,0 +1,43 @@
+package com.hitachi.smartpark.service;
+
+import com.hitachi.smartpark.entity.VehicleType;
+import com.hitachi.smartpark.repository.ParkedSession;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class JournalSessionProjection implements JournalVisitor {
+
+    private final Map<String, ParkedSession> sessions = new HashMap<>();
+    private long lastSequence;
+
+    @Override
+    public void onEvent(long sequence, JournalEventType type, String licensePlate, String lotId,
+                        VehicleType vehicleType, LocalDateTime eventTime) {
+        if (type == JournalEventType.CHECK_IN) {
+            sessions.put(licensePlate, new ParkedSession(licensePlate, lotId, vehicleType, eventTime));
+        } else {
+            sessions.remove(licensePlate);
+        }
+        lastSequence = sequence;
+    }
+
+    public List<ParkedSession> getSessions() {
+        return new ArrayList<>(sessions.values());
+    }
+
+    public Map<String, Integer> getOccupancyByLot() {
+        Map<String, Integer> occupancy = new HashMap<>();
+        for (ParkedSession session : sessions.values()) {
+            occupancy.merge(session.getLotId(), 1, Integer::sum);
+        }
+        return occupancy;
+    }
+
+    public long getLastSequence() {
+        return lastSequence;
+    }
+}
@@ -0,0 +1,12 @@
+package com.hitachi.smartpark.service;
+
+import com.hitachi.smartpark.entity.VehicleType;
+
+import java.time.LocalDateTime;
+
+@FunctionalInterface
+public interface JournalVisitor {
+
+    void onEvent(long sequence, JournalEventType type, String licensePlate, String lotId,
+                 VehicleType vehicleType, LocalDateTime eventTime);
+}
@@ -0,0 +1,129 @@
+package com.hitachi.smartpark.service;
+
+import com.hitachi.smartpark.dto.ParkingLotStatusResponse;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+public final class LotOccupancy {
+
+    private final String lotId;
+    private final String location;
+    private final int capacity;
+    private final AtomicInteger occupied;
+    private final AtomicInteger pendingDelta = new AtomicInteger();
+    private final AtomicReference<ParkingLotStatusResponse> status;
+    private final AtomicLong version = new AtomicLong();
+
+    public LotOccupancy(String lotId, String location, int capacity, int occupied) {
+        this.lotId = lotId;
+        this.location = location;
+        this.capacity = capacity;
+        this.occupied = new AtomicInteger(occupied);
+        this.status = new AtomicReference<>(snapshot(occupied));
+    }
+
+    public String getLotId() {
+        return lotId;
+    }
+
+    public String getLocation() {
+        return location;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public int getOccupied() {
+        return occupied.get();
+    }
+
+    public ParkingLotStatusResponse getStatus() {
+        return status.get();
+    }
+
+    public long getVersion() {
+        return version.get();
+    }
+
+    public boolean tryAcquire() {
+        int current;
+        do {
+            current = occupied.get();
+            if (current >= capacity) {
+                return false;
+            }
+        } while (!occupied.compareAndSet(current, current + 1));
+        pendingDelta.incrementAndGet();
+        publish();
+        return true;
+    }
+
+    public boolean release() {
+        int current;
+        do {
+            current = occupied.get();
+            if (current <= 0) {
+                return false;
+            }
+        } while (!occupied.compareAndSet(current, current - 1));
+        pendingDelta.decrementAndGet();
+        publish();
+        return true;
+    }
+
+    public int release(int count) {
+        int current;
+        int released;
+        do {
+            current = occupied.get();
+            released = Math.min(count, current);
+            if (released <= 0) {
+                return 0;
+            }
+        } while (!occupied.compareAndSet(current, current - released));
+        pendingDelta.addAndGet(-released);
+        publish();
+        return released;
+    }
+
+    int correct(int expected) {
+        int current;
+        do {
+            current = occupied.get();
+            if (current == expected) {
+                return 0;
+            }
+        } while (!occupied.compareAndSet(current, expected));
+        pendingDelta.addAndGet(expected - current);
+        publish();
+        return expected - current;
+    }
+
+    int drainPendingDelta() {
+        return pendingDelta.getAndSet(0);
+    }
+
+    void restorePendingDelta(int delta) {
+        pendingDelta.addAndGet(delta);
+    }
+
+    private void publish() {
+        ParkingLotStatusResponse current;
+        int latest;
+        do {
+            current = status.get();
+            latest = occupied.get();
+            if (current.getOccupiedSpaces() == latest) {
+                return;
+            }
+        } while (!status.compareAndSet(current, snapshot(latest)));
+        version.incrementAndGet();
+    }
+
+    private ParkingLotStatusResponse snapshot(int occupiedSpaces) {
+        return new ParkingLotStatusResponse(lotId, location, capacity, occupiedSpaces, capacity - occupiedSpaces);
+    }
+}
@@ -0,0 +1,301 @@
+package com.hitachi.smartpark.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hitachi.smartpark.config.WorkerThreads;
+import com.hitachi.smartpark.dto.ParkingLotStatusResponse;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Service
+public class OccupancyBroadcaster {
+
+    private static final Logger logger = LoggerFactory.getLogger(OccupancyBroadcaster.class);
+
+    private static final String STATUS_EVENT = "status";
+    private static final long REPLACED = -1;
+    private static final long ABANDONED = -2;
+
+    @Autowired
+    private OccupancyEngine occupancyEngine;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${app.occupancy.push.window-ms:250}")
+    private long windowMillis;
+
+    @Value("${app.occupancy.push.heartbeat-ms:15000}")
+    private long heartbeatMillis;
+
+    @Value("${app.occupancy.push.senders:4}")
+    private int senders;
+
+    @Value("${app.occupancy.push.emitter-timeout-ms:1800000}")
+    private long emitterTimeoutMillis;
+
+    @Value("${app.occupancy.push.max-lag-ms:30000}")
+    private long maxLagMillis;
+
+    @Value("${app.occupancy.push.send-timeout-ms:5000}")
+    private long sendTimeoutMillis;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final Map<String, Long> publishedVersions = new HashMap<>();
+
+    private ScheduledExecutorService ticker;
+    private ThreadPoolExecutor sender;
+    private int writtenOffSenders;
+
+    @PostConstruct
+    public void start() {
+        ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "occupancy-push-ticker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        sender = new ThreadPoolExecutor(senders, senders, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(),
+                WorkerThreads.factory("occupancy-push-", virtualThreads));
+        ticker.scheduleWithFixedDelay(this::tick, windowMillis, windowMillis, TimeUnit.MILLISECONDS);
+        ticker.scheduleWithFixedDelay(this::heartbeat, heartbeatMillis, heartbeatMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @EventListener(ContextClosedEvent.class)
+    public void stop() {
+        ticker.shutdownNow();
+        sender.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        subscribers.clear();
+    }
+
+    public SseEmitter subscribe(String lotId) {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMillis);
+        Subscriber subscriber = new Subscriber(lotId, emitter);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(error -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+        for (ParkingLotStatusResponse status : occupancyEngine.getStatuses(lotId != null ? List.of(lotId) : null)) {
+            subscriber.offer(status.getLotId(), serialize(status));
+        }
+        return emitter;
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    synchronized int publishChanges() {
+        Map<String, String> changed = new HashMap<>();
+        for (LotOccupancy lot : occupancyEngine.snapshotLots()) {
+            long version = lot.getVersion();
+            Long published = publishedVersions.put(lot.getLotId(), version);
+            if (published == null || published != version) {
+                changed.put(lot.getLotId(), serialize(lot.getStatus()));
+            }
+        }
+        if (changed.isEmpty() || subscribers.isEmpty()) {
+            return changed.size();
+        }
+
+        long now = System.currentTimeMillis();
+        for (Iterator<Subscriber> iterator = subscribers.iterator(); iterator.hasNext(); ) {
+            Subscriber subscriber = iterator.next();
+            if (subscriber.isLagging(now)) {
+                iterator.remove();
+                subscriber.pending.clear();
+                subscriber.emitter.complete();
+                logger.warn("Dropping occupancy subscriber that has not caught up for {} ms", maxLagMillis);
+                continue;
+            }
+            if (subscriber.lotId == null) {
+                changed.forEach(subscriber::offer);
+            } else {
+                String json = changed.get(subscriber.lotId);
+                if (json != null) {
+                    subscriber.offer(subscriber.lotId, json);
+                }
+            }
+        }
+        return changed.size();
+    }
+
+    synchronized int evictStalledSenders() {
+        long now = System.currentTimeMillis();
+        int evicted = 0;
+        for (Iterator<Subscriber> iterator = subscribers.iterator(); iterator.hasNext(); ) {
+            Subscriber subscriber = iterator.next();
+            if (!subscriber.writeOffStalledSend(now)) {
+                continue;
+            }
+            iterator.remove();
+            subscriber.pending.clear();
+            subscriber.emitter.complete();
+            evicted++;
+            logger.warn("Evicting occupancy subscriber whose send has been blocked for over {} ms", sendTimeoutMillis);
+        }
+        return evicted;
+    }
+
+    int getSenderPoolSize() {
+        return sender.getMaximumPoolSize();
+    }
+
+    private synchronized boolean growSenders() {
+        if (writtenOffSenders >= senders) {
+            return false;
+        }
+        writtenOffSenders++;
+        sender.setMaximumPoolSize(senders + writtenOffSenders);
+        sender.setCorePoolSize(senders + writtenOffSenders);
+        return true;
+    }
+
+    private synchronized void shrinkSenders() {
+        writtenOffSenders--;
+        sender.setCorePoolSize(senders + writtenOffSenders);
+        sender.setMaximumPoolSize(senders + writtenOffSenders);
+    }
+
+    private void tick() {
+        try {
+            evictStalledSenders();
+            publishChanges();
+        } catch (RuntimeException e) {
+            logger.error("Failed to publish occupancy changes", e);
+        }
+    }
+
+    private void heartbeat() {
+        subscribers.forEach(Subscriber::ping);
+    }
+
+    private String serialize(ParkingLotStatusResponse status) {
+        try {
+            return objectMapper.writeValueAsString(status);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private final class Subscriber {
+
+        private final String lotId;
+        private final SseEmitter emitter;
+        private final Map<String, String> pending = new ConcurrentHashMap<>();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean pingRequested;
+        private volatile long drainStartedAt;
+        private final AtomicLong sendStartedAt = new AtomicLong();
+
+        private Subscriber(String lotId, SseEmitter emitter) {
+            this.lotId = lotId;
+            this.emitter = emitter;
+        }
+
+        void offer(String lotId, String json) {
+            pending.put(lotId, json);
+            schedule();
+        }
+
+        void ping() {
+            pingRequested = true;
+            schedule();
+        }
+
+        boolean isLagging(long now) {
+            long startedAt = drainStartedAt;
+            return startedAt != 0 && now - startedAt > maxLagMillis;
+        }
+
+        boolean writeOffStalledSend(long now) {
+            long startedAt = sendStartedAt.get();
+            if (startedAt <= 0 || now - startedAt <= sendTimeoutMillis) {
+                return false;
+            }
+            boolean replaced = growSenders();
+            if (sendStartedAt.compareAndSet(startedAt, replaced ? REPLACED : ABANDONED)) {
+                return true;
+            }
+            if (replaced) {
+                shrinkSenders();
+            }
+            return false;
+        }
+
+        private void send(SseEmitter.SseEventBuilder event) throws IOException {
+            sendStartedAt.set(System.currentTimeMillis());
+            try {
+                emitter.send(event);
+            } finally {
+                if (sendStartedAt.getAndSet(0) == REPLACED) {
+                    shrinkSenders();
+                }
+            }
+        }
+
+        private void schedule() {
+            if (draining.compareAndSet(false, true)) {
+                drainStartedAt = System.currentTimeMillis();
+                try {
+                    sender.execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    draining.set(false);
+                }
+            }
+        }
+
+        private void drain() {
+            try {
+                if (pingRequested) {
+                    pingRequested = false;
+                    send(SseEmitter.event().comment("ping"));
+                }
+                for (String key : pending.keySet()) {
+                    String json = pending.remove(key);
+                    if (json != null) {
+                        send(SseEmitter.event().name(STATUS_EVENT).data(json, MediaType.APPLICATION_JSON));
+                    }
+                }
+            } catch (IOException | IllegalStateException e) {
+                subscribers.remove(this);
+                pending.clear();
+                return;
+            } finally {
+                drainStartedAt = 0;
+                draining.set(false);
+            }
+            if (!pending.isEmpty() || pingRequested) {
+                schedule();
+            }
+        }
+    }
+}
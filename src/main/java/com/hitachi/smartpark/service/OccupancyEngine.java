@@ -0,0 +1,230 @@
+package com.hitachi.smartpark.service;
+
+import com.hitachi.smartpark.dto.ParkingLotStatusResponse;
+import com.hitachi.smartpark.entity.ParkingLot;
+import com.hitachi.smartpark.exception.ResourceNotFoundException;
+import com.hitachi.smartpark.repository.LotOccupancyCount;
+import com.hitachi.smartpark.repository.ParkingLotJdbcRepository;
+import com.hitachi.smartpark.repository.ParkingLotRepository;
+import com.hitachi.smartpark.repository.ParkingSessionRepository;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+@Service
+public class OccupancyEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(OccupancyEngine.class);
+
+    @Autowired
+    private ParkingLotRepository parkingLotRepository;
+
+    @Autowired
+    private ParkingSessionRepository parkingSessionRepository;
+
+    @Autowired
+    private ParkingLotJdbcRepository parkingLotJdbcRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final ConcurrentMap<String, LotOccupancy> lots = new ConcurrentHashMap<>();
+
+    private final Map<String, Integer> suspectedDrift = new ConcurrentHashMap<>();
+
+    private final String statusEpoch = Long.toHexString(System.currentTimeMillis());
+
+    private volatile boolean restored;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (restored) {
+            logger.info("Occupancy for {} parking lots was restored from a snapshot, skipping rebuild", lots.size());
+            return;
+        }
+        long startedAt = System.nanoTime();
+        Map<String, Integer> parked = new HashMap<>();
+        for (LotOccupancyCount count : parkingSessionRepository.countSessionsByLot()) {
+            parked.put(count.getLotId(), (int) count.getOccupied());
+        }
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            for (ParkingLot parkingLot : parkingLotRepository.findAll()) {
+                int occupied = parked.getOrDefault(parkingLot.getLotId(), 0);
+                if (parkingLot.getOccupiedSpaces() != occupied) {
+                    logger.warn("Correcting occupied spaces for lot {} from {} to {}",
+                            parkingLot.getLotId(), parkingLot.getOccupiedSpaces(), occupied);
+                    parkingLotRepository.updateOccupiedSpaces(parkingLot.getLotId(), occupied);
+                }
+                lots.putIfAbsent(parkingLot.getLotId(), new LotOccupancy(
+                        parkingLot.getLotId(), parkingLot.getLocation(), parkingLot.getCapacity(), occupied));
+            }
+        });
+
+        logger.info("Rebuilt occupancy for {} parking lots in {} ms",
+                lots.size(), (System.nanoTime() - startedAt) / 1_000_000);
+    }
+
+    public void restore(Collection<LotOccupancy> snapshot) {
+        snapshot.forEach(lot -> lots.put(lot.getLotId(), lot));
+        restored = true;
+    }
+
+    public List<LotOccupancy> snapshotLots() {
+        return new ArrayList<>(lots.values());
+    }
+
+    public void register(ParkingLot parkingLot) {
+        TransactionCallbacks.afterCommit(() -> lots.putIfAbsent(parkingLot.getLotId(), new LotOccupancy(
+                parkingLot.getLotId(), parkingLot.getLocation(), parkingLot.getCapacity(), 0)));
+    }
+
+    public boolean tryAdmit(String lotId) {
+        LotOccupancy lot = getLot(lotId);
+        if (!lot.tryAcquire()) {
+            return false;
+        }
+        TransactionCallbacks.onRollback(lot::release);
+        return true;
+    }
+
+    public void release(String lotId) {
+        LotOccupancy lot = getLot(lotId);
+        TransactionCallbacks.afterCommit(lot::release);
+    }
+
+    public void release(String lotId, int count) {
+        LotOccupancy lot = getLot(lotId);
+        TransactionCallbacks.afterCommit(() -> lot.release(count));
+    }
+
+    public int getOccupiedSpaces(String lotId) {
+        return getLot(lotId).getOccupied();
+    }
+
+    public ParkingLotStatusResponse getStatus(String lotId) {
+        return getLot(lotId).getStatus();
+    }
+
+    public List<ParkingLotStatusResponse> getStatuses(Collection<String> lotIds) {
+        List<ParkingLotStatusResponse> statuses = new ArrayList<>();
+        for (LotOccupancy lot : selectLots(lotIds)) {
+            statuses.add(lot.getStatus());
+        }
+        return statuses;
+    }
+
+    public String getStatusTag(Collection<String> lotIds) {
+        List<LotOccupancy> selected = selectLots(lotIds);
+        long versions = 0;
+        for (LotOccupancy lot : selected) {
+            versions += lot.getVersion();
+        }
+        return "\"" + statusEpoch + "-" + selected.size() + "-" + versions + "\"";
+    }
+
+    public int reconcile() {
+        Map<String, Integer> parked = new HashMap<>();
+        for (LotOccupancyCount count : parkingSessionRepository.countSessionsByLot()) {
+            parked.put(count.getLotId(), (int) count.getOccupied());
+        }
+
+        int corrected = 0;
+        for (LotOccupancy lot : lots.values()) {
+            int expected = parked.getOrDefault(lot.getLotId(), 0);
+            int drift = expected - lot.getOccupied();
+            if (drift == 0) {
+                suspectedDrift.remove(lot.getLotId());
+                continue;
+            }
+            Integer previous = suspectedDrift.put(lot.getLotId(), drift);
+            if (previous != null && previous == drift) {
+                int applied = lot.correct(expected);
+                suspectedDrift.remove(lot.getLotId());
+                if (applied != 0) {
+                    logger.warn("Corrected drifted occupancy for lot {} by {} to {}", lot.getLotId(), applied, expected);
+                    corrected++;
+                }
+            }
+        }
+        suspectedDrift.keySet().retainAll(lots.keySet());
+        return corrected;
+    }
+
+    public int flush() {
+        Map<LotOccupancy, Integer> deltas = new HashMap<>();
+        Map<String, Integer> deltasByLot = new HashMap<>();
+        for (LotOccupancy lot : lots.values()) {
+            int delta = lot.drainPendingDelta();
+            if (delta != 0) {
+                deltas.put(lot, delta);
+                deltasByLot.put(lot.getLotId(), delta);
+            }
+        }
+        if (deltas.isEmpty()) {
+            return 0;
+        }
+
+        try {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                    parkingLotJdbcRepository.addOccupiedSpaces(deltasByLot));
+        } catch (RuntimeException e) {
+            deltas.forEach(LotOccupancy::restorePendingDelta);
+            throw e;
+        }
+        deltasByLot.keySet().forEach(lotId -> entityManagerFactory.getCache().evict(ParkingLot.class, lotId));
+        return deltas.size();
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        try {
+            flush();
+        } catch (Exception e) {
+            logger.error("Failed to flush occupancy on shutdown", e);
+        }
+    }
+
+    private List<LotOccupancy> selectLots(Collection<String> lotIds) {
+        if (lotIds == null || lotIds.isEmpty()) {
+            List<LotOccupancy> all = new ArrayList<>(lots.values());
+            all.sort(Comparator.comparing(LotOccupancy::getLotId));
+            return all;
+        }
+        return lotIds.stream().distinct().map(this::getLot).toList();
+    }
+
+    private LotOccupancy getLot(String lotId) {
+        LotOccupancy lot = lots.get(lotId);
+        if (lot != null) {
+            return lot;
+        }
+        return lots.computeIfAbsent(lotId, this::load);
+    }
+
+    private LotOccupancy load(String lotId) {
+        ParkingLot parkingLot = parkingLotRepository.findById(lotId)
+                .orElseThrow(() -> new ResourceNotFoundException("Parking lot not found with ID: " + lotId));
+        int occupied = (int) parkingSessionRepository.countByLotId(lotId);
+        return new LotOccupancy(parkingLot.getLotId(), parkingLot.getLocation(), parkingLot.getCapacity(), occupied);
+    }
+}
@@ -0,0 +1,6 @@
+package com.hitachi.smartpark.service;
+
+import java.time.LocalDateTime;
+
+public record OverstayDeadline(String licensePlate, String lotId, LocalDateTime checkInTime, long deadlineMillis) {
+}
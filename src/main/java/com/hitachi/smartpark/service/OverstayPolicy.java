@@ -0,0 +1,68 @@
+package com.hitachi.smartpark.service;
+
+import com.hitachi.smartpark.entity.ParkingLot;
+import com.hitachi.smartpark.entity.VehicleType;
+import com.hitachi.smartpark.repository.ParkingLotRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Service;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+@Service
+public class OverstayPolicy {
+
+    private static final int NO_LOT_LIMIT = 0;
+
+    @Autowired
+    private ParkingLotRepository parkingLotRepository;
+
+    @Autowired
+    private Environment environment;
+
+    @Value("${app.overstay.limit-minutes:15}")
+    private int defaultLimitMinutes;
+
+    private final Map<VehicleType, Integer> typeLimits = new EnumMap<>(VehicleType.class);
+    private final ConcurrentMap<String, Integer> lotLimits = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() {
+        for (VehicleType type : VehicleType.values()) {
+            Integer limit = environment.getProperty(
+                    "app.overstay.type-limit-minutes." + type.name().toLowerCase(Locale.ROOT), Integer.class);
+            if (limit != null) {
+                typeLimits.put(type, limit);
+            }
+        }
+    }
+
+    public void register(ParkingLot parkingLot) {
+        TransactionCallbacks.afterCommit(() -> lotLimits.put(parkingLot.getLotId(), lotLimitOf(parkingLot)));
+    }
+
+    public int limitFor(String lotId, VehicleType type) {
+        int lotLimit = lotLimits.computeIfAbsent(lotId, id -> parkingLotRepository.findById(id)
+                .map(OverstayPolicy::lotLimitOf)
+                .orElse(NO_LOT_LIMIT));
+        Integer typeLimit = type != null ? typeLimits.get(type) : null;
+
+        if (lotLimit == NO_LOT_LIMIT && typeLimit == null) {
+            return defaultLimitMinutes;
+        }
+        if (lotLimit == NO_LOT_LIMIT) {
+            return typeLimit;
+        }
+        return typeLimit == null ? lotLimit : Math.min(lotLimit, typeLimit);
+    }
+
+    private static int lotLimitOf(ParkingLot parkingLot) {
+        return parkingLot.getMaxStayMinutes() != null ? parkingLot.getMaxStayMinutes() : NO_LOT_LIMIT;
+    }
+}
@@ -0,0 +1,144 @@
+package com.hitachi.smartpark.service;
+
+import com.hitachi.smartpark.config.WorkerThreads;
+import com.hitachi.smartpark.dto.OverstayShardResult;
+import com.hitachi.smartpark.dto.OverstaySweepResult;
+import com.hitachi.smartpark.entity.VehicleType;
+import com.hitachi.smartpark.repository.ParkedSession;
+import com.hitachi.smartpark.repository.ParkingLotRepository;
+import com.hitachi.smartpark.repository.ParkingSessionJdbcRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+@Service
+public class OverstaySweeper {
+
+    private static final Logger logger = LoggerFactory.getLogger(OverstaySweeper.class);
+
+    @Autowired
+    private ParkingLotRepository parkingLotRepository;
+
+    @Autowired
+    private ParkingSessionJdbcRepository parkingSessionJdbcRepository;
+
+    @Autowired
+    private OccupancyEngine occupancyEngine;
+
+    @Autowired
+    private OverstayTracker overstayTracker;
+
+    @Autowired
+    private OverstayPolicy overstayPolicy;
+
+    @Autowired
+    private EventJournal eventJournal;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.overstay.sweep-chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${app.overstay.sweep-workers:4}")
+    private int workers;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    private ExecutorService executor;
+
+    private volatile OverstaySweepResult lastResult;
+
+    @PostConstruct
+    public void init() {
+        executor = Executors.newFixedThreadPool(workers, WorkerThreads.factory("overstay-sweep-", virtualThreads));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public OverstaySweepResult sweep() {
+        long startedAt = System.nanoTime();
+        LocalDateTime now = LocalDateTime.now();
+        List<CompletableFuture<OverstayShardResult>> shards = parkingLotRepository.findAllLotIds().stream()
+                .map(lotId -> CompletableFuture.supplyAsync(() -> sweepLot(lotId, now), executor))
+                .collect(Collectors.toList());
+
+        List<OverstayShardResult> results = new ArrayList<>(shards.size());
+        for (CompletableFuture<OverstayShardResult> shard : shards) {
+            results.add(shard.join());
+        }
+
+        long removed = results.stream().mapToLong(OverstayShardResult::getRemoved).sum();
+        int failed = (int) results.stream().filter(OverstayShardResult::isFailed).count();
+        OverstaySweepResult result = new OverstaySweepResult(
+                removed, failed, (System.nanoTime() - startedAt) / 1_000_000, results);
+        lastResult = result;
+        return result;
+    }
+
+    public OverstaySweepResult getLastResult() {
+        return lastResult;
+    }
+
+    private OverstayShardResult sweepLot(String lotId, LocalDateTime now) {
+        long startedAt = System.nanoTime();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        long removed = 0;
+        int chunks = 0;
+        boolean failed = false;
+
+        try {
+            for (VehicleType type : VehicleType.values()) {
+                LocalDateTime cutoffTime = now.minusMinutes(overstayPolicy.limitFor(lotId, type));
+                int released;
+                do {
+                    released = transactionTemplate.execute(status -> removeChunk(lotId, type, cutoffTime));
+                    if (released > 0) {
+                        chunks++;
+                        removed += released;
+                    }
+                } while (released == chunkSize);
+            }
+        } catch (RuntimeException e) {
+            failed = true;
+            logger.error("Overstay sweep failed for lot {} after removing {} vehicles", lotId, removed, e);
+        }
+
+        return new OverstayShardResult(lotId, removed, chunks, (System.nanoTime() - startedAt) / 1_000_000, failed);
+    }
+
+    private int removeChunk(String lotId, VehicleType type, LocalDateTime cutoffTime) {
+        List<ParkedSession> sessions = parkingSessionJdbcRepository.lockSessionsCheckedInBefore(lotId, type, cutoffTime, chunkSize);
+        if (sessions.isEmpty()) {
+            return 0;
+        }
+
+        LocalDateTime removedAt = LocalDateTime.now();
+        occupancyEngine.release(lotId, sessions.size());
+        parkingSessionJdbcRepository.removeSessions(sessions, removedAt);
+        overstayTracker.untrackAll(sessions);
+        for (ParkedSession session : sessions) {
+            eventJournal.appendAfterCommit(JournalEventType.OVERSTAY_REMOVED,
+                    session.getLicensePlate(), lotId, session.getType(), removedAt);
+        }
+        return sessions.size();
+    }
+}
@@ -0,0 +1,114 @@
+package com.hitachi.smartpark.service;
+
+import com.hitachi.smartpark.entity.VehicleType;
+import com.hitachi.smartpark.repository.ParkedSession;
+import com.hitachi.smartpark.repository.ParkingSessionRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+@Service
+public class OverstayTracker {
+
+    private static final Logger logger = LoggerFactory.getLogger(OverstayTracker.class);
+
+    @Autowired
+    private ParkingSessionRepository parkingSessionRepository;
+
+    @Autowired
+    private OverstayPolicy overstayPolicy;
+
+    @Value("${app.overstay.wheel-size:4096}")
+    private int wheelSize;
+
+    @Value("${app.overstay.tick-ms:1000}")
+    private long tickMillis;
+
+    @Value("${app.overstay.max-batch-size:500}")
+    private int maxBatchSize;
+
+    private OverstayWheel wheel;
+
+    private volatile boolean restored;
+
+    @PostConstruct
+    public void init() {
+        wheel = new OverstayWheel(wheelSize, tickMillis, System.currentTimeMillis());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (restored) {
+            logger.info("{} overstay deadlines were restored from a snapshot, skipping load", wheel.size());
+            return;
+        }
+        long startedAt = System.nanoTime();
+        List<ParkedSession> sessions = parkingSessionRepository.findParkedSessions();
+        for (ParkedSession session : sessions) {
+            wheel.scheduleIfAbsent(deadlineFor(
+                    session.getLicensePlate(), session.getLotId(), session.getType(), session.getCheckInTime()));
+        }
+        logger.info("Loaded {} overstay deadlines in {} ms",
+                sessions.size(), (System.nanoTime() - startedAt) / 1_000_000);
+    }
+
+    public void track(String licensePlate, String lotId, VehicleType type, LocalDateTime checkInTime) {
+        OverstayDeadline deadline = deadlineFor(licensePlate, lotId, type, checkInTime);
+        TransactionCallbacks.afterCommit(() -> wheel.schedule(deadline));
+    }
+
+    public void untrack(String licensePlate, LocalDateTime checkInTime) {
+        TransactionCallbacks.afterCommit(() -> wheel.cancel(licensePlate, checkInTime));
+    }
+
+    public void untrackAll(List<ParkedSession> sessions) {
+        TransactionCallbacks.afterCommit(() ->
+                sessions.forEach(session -> wheel.cancel(session.getLicensePlate(), session.getCheckInTime())));
+    }
+
+    public List<OverstayDeadline> pollExpired() {
+        return wheel.poll(System.currentTimeMillis(), maxBatchSize);
+    }
+
+    public void restore(List<OverstayDeadline> deadlines) {
+        deadlines.forEach(wheel::scheduleIfAbsent);
+    }
+
+    public void restoreSnapshot(List<OverstayDeadline> deadlines) {
+        deadlines.forEach(wheel::scheduleIfAbsent);
+        restored = true;
+    }
+
+    public void restoreSessions(List<ParkedSession> sessions) {
+        for (ParkedSession session : sessions) {
+            wheel.scheduleIfAbsent(deadlineFor(
+                    session.getLicensePlate(), session.getLotId(), session.getType(), session.getCheckInTime()));
+        }
+        restored = true;
+    }
+
+    public List<OverstayDeadline> snapshotDeadlines() {
+        return wheel.snapshot();
+    }
+
+    public int getTrackedCount() {
+        return wheel.size();
+    }
+
+    private OverstayDeadline deadlineFor(String licensePlate, String lotId, VehicleType type, LocalDateTime checkInTime) {
+        long deadlineMillis = checkInTime.plusMinutes(overstayPolicy.limitFor(lotId, type))
+                .atZone(ZoneId.systemDefault())
+                .toInstant()
+                .toEpochMilli();
+        return new OverstayDeadline(licensePlate, lotId, checkInTime, deadlineMillis);
+    }
+}
@@ -0,0 +1,128 @@
+package com.hitachi.smartpark.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+final class OverstayWheel {
+
+    private final long tickMillis;
+    private final int mask;
+    private final ArrayDeque<OverstayDeadline>[] slots;
+    private final Map<String, OverstayDeadline> deadlines = new HashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private long currentTick;
+
+    @SuppressWarnings("unchecked")
+    OverstayWheel(int wheelSize, long tickMillis, long startMillis) {
+        if (wheelSize < 2 || Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("Wheel size must be a power of two: " + wheelSize);
+        }
+        if (tickMillis < 1) {
+            throw new IllegalArgumentException("Tick duration must be positive: " + tickMillis);
+        }
+        this.tickMillis = tickMillis;
+        this.mask = wheelSize - 1;
+        this.slots = new ArrayDeque[wheelSize];
+        for (int i = 0; i < wheelSize; i++) {
+            slots[i] = new ArrayDeque<>();
+        }
+        this.currentTick = startMillis / tickMillis;
+    }
+
+    void schedule(OverstayDeadline deadline) {
+        lock.lock();
+        try {
+            deadlines.put(deadline.licensePlate(), deadline);
+            long tick = Math.max(deadline.deadlineMillis() / tickMillis, currentTick);
+            slots[(int) (tick & mask)].addLast(deadline);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void scheduleIfAbsent(OverstayDeadline deadline) {
+        lock.lock();
+        try {
+            if (!deadlines.containsKey(deadline.licensePlate())) {
+                schedule(deadline);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    boolean cancel(String licensePlate, LocalDateTime checkInTime) {
+        lock.lock();
+        try {
+            OverstayDeadline deadline = deadlines.get(licensePlate);
+            if (deadline == null || !deadline.checkInTime().equals(checkInTime)) {
+                return false;
+            }
+            deadlines.remove(licensePlate);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    List<OverstayDeadline> poll(long nowMillis, int maxBatch) {
+        lock.lock();
+        try {
+            List<OverstayDeadline> expired = new ArrayList<>();
+            long nowTick = nowMillis / tickMillis;
+            if (nowTick - currentTick >= slots.length) {
+                currentTick = nowTick - slots.length + 1;
+            }
+
+            while (true) {
+                Iterator<OverstayDeadline> iterator = slots[(int) (currentTick & mask)].iterator();
+                while (iterator.hasNext()) {
+                    OverstayDeadline deadline = iterator.next();
+                    if (deadlines.get(deadline.licensePlate()) != deadline) {
+                        iterator.remove();
+                        continue;
+                    }
+                    if (deadline.deadlineMillis() > nowMillis) {
+                        continue;
+                    }
+                    if (expired.size() == maxBatch) {
+                        return expired;
+                    }
+                    iterator.remove();
+                    deadlines.remove(deadline.licensePlate());
+                    expired.add(deadline);
+                }
+                if (currentTick >= nowTick) {
+                    return expired;
+                }
+                currentTick++;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    List<OverstayDeadline> snapshot() {
+        lock.lock();
+        try {
+            return new ArrayList<>(deadlines.values());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int size() {
+        lock.lock();
+        try {
+            return deadlines.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
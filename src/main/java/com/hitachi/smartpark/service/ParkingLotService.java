@@ -1,14 +1,22 @@
 package com.hitachi.smartpark.service;
 
+import com.hitachi.smartpark.dto.PageResponse;
 import com.hitachi.smartpark.dto.ParkingLotRequest;
+import com.hitachi.smartpark.dto.ParkingLotResponse;
 import com.hitachi.smartpark.dto.ParkingLotStatusResponse;
+import com.hitachi.smartpark.dto.ParkingSessionResponse;
+import com.hitachi.smartpark.dto.VehicleResponse;
 import com.hitachi.smartpark.entity.ParkingLot;
-import com.hitachi.smartpark.entity.Vehicle;
+import com.hitachi.smartpark.entity.VehicleType;
+import com.hitachi.smartpark.exception.BusinessException;
 import com.hitachi.smartpark.exception.ResourceAlreadyExistsException;
 import com.hitachi.smartpark.exception.ResourceNotFoundException;
+import com.hitachi.smartpark.repository.CompletedParkingSessionRepository;
 import com.hitachi.smartpark.repository.ParkingLotRepository;
-import com.hitachi.smartpark.repository.VehicleRepository;
+import com.hitachi.smartpark.repository.VehicleJdbcRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -21,10 +29,22 @@ public class ParkingLotService {
     private ParkingLotRepository parkingLotRepository;
 
     @Autowired
-    private VehicleRepository vehicleRepository;
+    private VehicleJdbcRepository vehicleJdbcRepository;
+
+    @Autowired
+    private CompletedParkingSessionRepository completedParkingSessionRepository;
+
+    @Autowired
+    private OccupancyEngine occupancyEngine;
+
+    @Autowired
+    private OverstayPolicy overstayPolicy;
+
+    @Value("${app.listing.max-page-size:1000}")
+    private int maxPageSize;
 
     @Transactional
-    public ParkingLot registerParkingLot(ParkingLotRequest request) {
+    public ParkingLotResponse registerParkingLot(ParkingLotRequest request) {
         if (parkingLotRepository.existsById(request.getLotId())) {
             throw new ResourceAlreadyExistsException("Parking lot with ID " + request.getLotId() + " already exists");
         }
@@ -35,33 +55,68 @@ public class ParkingLotService {
         parkingLot.setCapacity(request.getCapacity());
         parkingLot.setOccupiedSpaces(0);
         parkingLot.setCostPerMinute(request.getCostPerMinute());
+        parkingLot.setMaxStayMinutes(request.getMaxStayMinutes());
 
-        return parkingLotRepository.save(parkingLot);
+        ParkingLot saved = parkingLotRepository.save(parkingLot);
+        occupancyEngine.register(saved);
+        overstayPolicy.register(saved);
+        return ParkingLotResponse.from(saved);
     }
 
-    public ParkingLot getParkingLot(String lotId) {
-        return parkingLotRepository.findById(lotId)
-                .orElseThrow(() -> new ResourceNotFoundException("Parking lot not found with ID: " + lotId));
+    public ParkingLotResponse getParkingLot(String lotId) {
+        return ParkingLotResponse.from(findParkingLot(lotId));
     }
 
     public ParkingLotStatusResponse getParkingLotStatus(String lotId) {
-        ParkingLot parkingLot = getParkingLot(lotId);
-        return new ParkingLotStatusResponse(
-                parkingLot.getLotId(),
-                parkingLot.getLocation(),
-                parkingLot.getCapacity(),
-                parkingLot.getOccupiedSpaces(),
-                parkingLot.getAvailableSpaces()
-        );
+        return occupancyEngine.getStatus(lotId);
     }
 
-    public List<Vehicle> getVehiclesInLot(String lotId) {
-        getParkingLot(lotId);
-        return vehicleRepository.findByParkingLotLotId(lotId);
+    public List<ParkingLotStatusResponse> getParkingLotStatuses(List<String> lotIds) {
+        return occupancyEngine.getStatuses(lotIds);
     }
 
-    public List<ParkingLot> getAllParkingLots() {
-        return parkingLotRepository.findAll();
+    public String getStatusTag(List<String> lotIds) {
+        return occupancyEngine.getStatusTag(lotIds);
+    }
+
+    public PageResponse<VehicleResponse> getVehiclesInLot(String lotId, String cursor, int limit, VehicleType type) {
+        checkPageSize(limit);
+        findParkingLot(lotId);
+        List<VehicleResponse> vehicles = vehicleJdbcRepository.findPage(cursor, type, true, lotId, limit + 1);
+        return PageResponse.of(vehicles, limit, VehicleResponse::getLicensePlate);
+    }
+
+    public PageResponse<ParkingSessionResponse> getSessionHistory(String lotId, String cursor, int limit) {
+        checkPageSize(limit);
+        findParkingLot(lotId);
+        List<ParkingSessionResponse> sessions;
+        if (cursor == null) {
+            sessions = completedParkingSessionRepository.findFirstPageByLotId(lotId, Limit.of(limit + 1));
+        } else {
+            SessionHistoryCursor after = SessionHistoryCursor.parse(cursor);
+            sessions = completedParkingSessionRepository.findPageByLotIdBefore(lotId, after.checkOutTime(),
+                    after.id(), Limit.of(limit + 1));
+        }
+        return PageResponse.of(sessions, limit, SessionHistoryCursor::of);
+    }
+
+    public PageResponse<ParkingLotResponse> getParkingLots(String cursor, int limit) {
+        checkPageSize(limit);
+        List<ParkingLotResponse> parkingLots = cursor == null
+                ? parkingLotRepository.findFirstPage(Limit.of(limit + 1))
+                : parkingLotRepository.findPageAfter(cursor, Limit.of(limit + 1));
+        return PageResponse.of(parkingLots, limit, ParkingLotResponse::getLotId);
+    }
+
+    private ParkingLot findParkingLot(String lotId) {
+        return parkingLotRepository.findById(lotId)
+                .orElseThrow(() -> new ResourceNotFoundException("Parking lot not found with ID: " + lotId));
+    }
+
+    private void checkPageSize(int limit) {
+        if (limit < 1 || limit > maxPageSize) {
+            throw new BusinessException("Page size must be between 1 and " + maxPageSize);
+        }
     }
 }
 
@@ -0,0 +1,26 @@
+package com.hitachi.smartpark.service;
+
+import com.hitachi.smartpark.dto.ParkingSessionResponse;
+import com.hitachi.smartpark.exception.BusinessException;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+
+record SessionHistoryCursor(LocalDateTime checkOutTime, long id) {
+
+    private static final char SEPARATOR = '_';
+
+    static String of(ParkingSessionResponse session) {
+        return session.getCheckOutTime().toString() + SEPARATOR + session.getId();
+    }
+
+    static SessionHistoryCursor parse(String cursor) {
+        int separator = cursor.lastIndexOf(SEPARATOR);
+        try {
+            return new SessionHistoryCursor(LocalDateTime.parse(cursor.substring(0, Math.max(separator, 0))),
+                    Long.parseLong(cursor.substring(separator + 1)));
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new BusinessException("Invalid session history cursor: " + cursor);
+        }
+    }
+}
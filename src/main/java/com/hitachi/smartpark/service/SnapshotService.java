@@ -0,0 +1,254 @@
+package com.hitachi.smartpark.service;
+
+import com.hitachi.smartpark.repository.LotOccupancyCount;
+import com.hitachi.smartpark.repository.ParkingLotRepository;
+import com.hitachi.smartpark.repository.ParkingSessionRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+@Service
+public class SnapshotService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SnapshotService.class);
+
+    private static final int MAGIC = 0x534E4150;
+    private static final int VERSION = 1;
+
+    @Autowired
+    private OccupancyEngine occupancyEngine;
+
+    @Autowired
+    private OverstayTracker overstayTracker;
+
+    @Autowired
+    private ParkingLotRepository parkingLotRepository;
+
+    @Autowired
+    private ParkingSessionRepository parkingSessionRepository;
+
+    @Value("${app.snapshot.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.snapshot.path:./data/occupancy.snapshot}")
+    private String path;
+
+    private volatile long lastRestoreMillis = -1;
+
+    @PostConstruct
+    public void restore() {
+        if (!enabled) {
+            return;
+        }
+        Path snapshotPath = Paths.get(path);
+        if (!Files.exists(snapshotPath)) {
+            logger.info("No occupancy snapshot found at {}, state will be rebuilt from the database", snapshotPath);
+            return;
+        }
+
+        long startedAt = System.nanoTime();
+        try {
+            Snapshot snapshot = read(snapshotPath);
+            String mismatch = verify(snapshot);
+            if (mismatch != null) {
+                logger.warn("{} occupancy snapshot {} does not match the database ({}), rebuilding from the database",
+                        snapshot.clean() ? "Shutdown" : "Periodic", snapshotPath, mismatch);
+                return;
+            }
+            occupancyEngine.restore(snapshot.lots());
+            overstayTracker.restoreSnapshot(snapshot.deadlines());
+            Files.delete(snapshotPath);
+            lastRestoreMillis = (System.nanoTime() - startedAt) / 1_000_000;
+            logger.info("Restored {} parking lots and {} parked sessions from {} snapshot in {} ms",
+                    snapshot.lots().size(), snapshot.deadlines().size(), snapshot.clean() ? "shutdown" : "periodic",
+                    lastRestoreMillis);
+        } catch (IOException | RuntimeException e) {
+            logger.error("Failed to restore occupancy snapshot {}, rebuilding from the database", snapshotPath, e);
+        }
+    }
+
+    public void writeSnapshot() throws IOException {
+        write(false);
+    }
+
+    @PreDestroy
+    public void writeOnShutdown() {
+        if (!enabled) {
+            return;
+        }
+        boolean clean = true;
+        try {
+            occupancyEngine.flush();
+        } catch (RuntimeException e) {
+            clean = false;
+            logger.error("Failed to flush occupancy before the shutdown snapshot", e);
+        }
+        try {
+            write(clean);
+        } catch (IOException e) {
+            logger.error("Failed to write occupancy snapshot on shutdown", e);
+        }
+    }
+
+    public long getLastRestoreMillis() {
+        return lastRestoreMillis;
+    }
+
+    public boolean isRestored() {
+        return lastRestoreMillis >= 0;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    private void write(boolean clean) throws IOException {
+        long startedAt = System.nanoTime();
+        List<LotOccupancy> lots = occupancyEngine.snapshotLots();
+        List<OverstayDeadline> deadlines = overstayTracker.snapshotDeadlines();
+
+        Path target = Paths.get(path);
+        Path parent = target.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path temp = Files.createTempFile(parent, target.getFileName().toString(), ".tmp");
+        try {
+            try (OutputStream file = Files.newOutputStream(temp)) {
+                CheckedOutputStream checked = new CheckedOutputStream(new BufferedOutputStream(file), new CRC32());
+                DataOutputStream out = new DataOutputStream(checked);
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeBoolean(clean);
+                out.writeLong(System.currentTimeMillis());
+
+                out.writeInt(lots.size());
+                for (LotOccupancy lot : lots) {
+                    out.writeUTF(lot.getLotId());
+                    out.writeUTF(lot.getLocation());
+                    out.writeInt(lot.getCapacity());
+                    out.writeInt(lot.getOccupied());
+                }
+
+                out.writeInt(deadlines.size());
+                for (OverstayDeadline deadline : deadlines) {
+                    out.writeUTF(deadline.licensePlate());
+                    out.writeUTF(deadline.lotId());
+                    out.writeLong(deadline.checkInTime().toEpochSecond(ZoneOffset.UTC));
+                    out.writeInt(deadline.checkInTime().getNano());
+                    out.writeLong(deadline.deadlineMillis());
+                }
+
+                out.flush();
+                long checksum = checked.getChecksum().getValue();
+                out.writeLong(checksum);
+                out.flush();
+                file.flush();
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+
+        logger.debug("Wrote {} occupancy snapshot with {} lots and {} sessions in {} ms",
+                clean ? "clean" : "periodic", lots.size(), deadlines.size(), (System.nanoTime() - startedAt) / 1_000_000);
+    }
+
+    private String verify(Snapshot snapshot) {
+        long lotCount = parkingLotRepository.count();
+        if (lotCount != snapshot.lots().size()) {
+            return lotCount + " parking lots, snapshot has " + snapshot.lots().size();
+        }
+
+        Map<String, Long> parked = new HashMap<>();
+        long sessions = 0;
+        for (LotOccupancyCount count : parkingSessionRepository.countSessionsByLot()) {
+            parked.put(count.getLotId(), count.getOccupied());
+            sessions += count.getOccupied();
+        }
+        for (LotOccupancy lot : snapshot.lots()) {
+            long occupied = parked.getOrDefault(lot.getLotId(), 0L);
+            if (lot.getOccupied() != occupied) {
+                return "lot " + lot.getLotId() + " has " + occupied + " parked sessions, snapshot has " + lot.getOccupied();
+            }
+        }
+        if (sessions != snapshot.deadlines().size()) {
+            return sessions + " parked sessions, snapshot tracks " + snapshot.deadlines().size();
+        }
+
+        LocalDateTime latestCheckIn = parkingSessionRepository.findLatestCheckInTime();
+        LocalDateTime snapshotLatestCheckIn = snapshot.deadlines().stream()
+                .map(OverstayDeadline::checkInTime)
+                .max(Comparator.naturalOrder())
+                .orElse(null);
+        if (!Objects.equals(latestCheckIn, snapshotLatestCheckIn)) {
+            return "latest check-in is " + latestCheckIn + ", snapshot has " + snapshotLatestCheckIn;
+        }
+        return null;
+    }
+
+    private Snapshot read(Path snapshotPath) throws IOException {
+        try (InputStream file = new BufferedInputStream(Files.newInputStream(snapshotPath))) {
+            CheckedInputStream checked = new CheckedInputStream(file, new CRC32());
+            DataInputStream in = new DataInputStream(checked);
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Not an occupancy snapshot: " + snapshotPath);
+            }
+            int version = in.readInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported occupancy snapshot version: " + version);
+            }
+            boolean clean = in.readBoolean();
+            in.readLong();
+
+            int lotCount = in.readInt();
+            List<LotOccupancy> lots = new ArrayList<>(lotCount);
+            for (int i = 0; i < lotCount; i++) {
+                lots.add(new LotOccupancy(in.readUTF(), in.readUTF(), in.readInt(), in.readInt()));
+            }
+
+            int deadlineCount = in.readInt();
+            List<OverstayDeadline> deadlines = new ArrayList<>(deadlineCount);
+            for (int i = 0; i < deadlineCount; i++) {
+                String licensePlate = in.readUTF();
+                String lotId = in.readUTF();
+                LocalDateTime checkInTime = LocalDateTime.ofEpochSecond(in.readLong(), in.readInt(), ZoneOffset.UTC);
+                deadlines.add(new OverstayDeadline(licensePlate, lotId, checkInTime, in.readLong()));
+            }
+
+            long expected = checked.getChecksum().getValue();
+            if (new DataInputStream(file).readLong() != expected) {
+                throw new IOException("Occupancy snapshot checksum mismatch: " + snapshotPath);
+            }
+            return new Snapshot(clean, lots, deadlines);
+        }
+    }
+
+    private record Snapshot(boolean clean, List<LotOccupancy> lots, List<OverstayDeadline> deadlines) {
+    }
+}
@@ -0,0 +1,466 @@
+package com.hitachi.smartpark.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hitachi.smartpark.config.WorkerThreads;
+import com.hitachi.smartpark.dto.VehicleImportError;
+import com.hitachi.smartpark.dto.VehicleImportSummary;
+import com.hitachi.smartpark.dto.VehicleRequest;
+import com.hitachi.smartpark.entity.VehicleType;
+import com.hitachi.smartpark.exception.BusinessException;
+import com.hitachi.smartpark.repository.VehicleJdbcRepository;
+import com.hitachi.smartpark.repository.VehicleRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+@Service
+public class VehicleImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(VehicleImportService.class);
+
+    public static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv");
+    public static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    public enum Format {
+        CSV,
+        NDJSON;
+
+        public static Format fromMediaType(MediaType mediaType) {
+            if (TEXT_CSV.isCompatibleWith(mediaType)) {
+                return CSV;
+            }
+            if (APPLICATION_NDJSON.isCompatibleWith(mediaType)) {
+                return NDJSON;
+            }
+            throw new BusinessException("Unsupported import format: " + mediaType);
+        }
+    }
+
+    @Autowired
+    private VehicleRepository vehicleRepository;
+
+    @Autowired
+    private VehicleJdbcRepository vehicleJdbcRepository;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.import.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${app.import.max-reported-errors:1000}")
+    private int maxReportedErrors;
+
+    @Value("${app.import.max-line-length:4096}")
+    private int maxLineLength;
+
+    @Value("${app.import.validation-workers:2}")
+    private int validationWorkers;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    private ThreadPoolExecutor validationExecutor;
+
+    @PostConstruct
+    public void init() {
+        validationExecutor = new ThreadPoolExecutor(validationWorkers, validationWorkers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(validationWorkers * 4),
+                WorkerThreads.factory("import-validate-", virtualThreads), new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        validationExecutor.shutdownNow();
+    }
+
+    public VehicleImportSummary importVehicles(InputStream input, Format format) throws IOException {
+        long startedAt = System.nanoTime();
+        ImportProgress progress = new ImportProgress(maxReportedErrors);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        try (LineReader reader = new LineReader(new InputStreamReader(input, StandardCharsets.UTF_8), maxLineLength)) {
+            RowReader rows = format == Format.CSV ? new CsvRowReader(reader) : new NdjsonRowReader(reader);
+            List<ImportRow> chunk = new ArrayList<>(chunkSize);
+            ImportRow row;
+            while ((row = rows.next()) != null) {
+                chunk.add(row);
+                if (chunk.size() == chunkSize) {
+                    importChunk(chunk, progress, transactionTemplate);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                importChunk(chunk, progress, transactionTemplate);
+            }
+        }
+
+        long elapsedNanos = Math.max(1, System.nanoTime() - startedAt);
+        VehicleImportSummary summary = new VehicleImportSummary(
+                progress.totalRows,
+                progress.imported,
+                progress.duplicates,
+                progress.invalid,
+                elapsedNanos / 1_000_000,
+                progress.totalRows * 1_000_000_000L / elapsedNanos,
+                progress.errorsTruncated,
+                progress.errors
+        );
+        logger.info("Imported {} of {} vehicles ({} duplicates, {} invalid) in {} ms, {} rows/s",
+                summary.getImported(), summary.getTotalRows(), summary.getDuplicates(), summary.getInvalid(),
+                summary.getElapsedMillis(), summary.getRowsPerSecond());
+        return summary;
+    }
+
+    private void importChunk(List<ImportRow> chunk, ImportProgress progress, TransactionTemplate transactionTemplate) {
+        progress.totalRows += chunk.size();
+        validateAll(chunk);
+
+        Map<String, ImportRow> candidates = new LinkedHashMap<>();
+        for (ImportRow row : chunk) {
+            if (row.error != null) {
+                progress.invalid(row);
+            } else if (candidates.putIfAbsent(row.request.getLicensePlate(), row) != null) {
+                row.error = "Duplicate license plate in import";
+                progress.duplicate(row);
+            }
+        }
+        if (candidates.isEmpty()) {
+            return;
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            Set<String> existing = new HashSet<>(vehicleRepository.findExistingLicensePlates(candidates.keySet()));
+            List<ImportRow> inserts = new ArrayList<>(candidates.size());
+            for (ImportRow row : candidates.values()) {
+                if (existing.contains(row.request.getLicensePlate())) {
+                    row.error = "Vehicle with license plate " + row.request.getLicensePlate() + " already exists";
+                    progress.duplicate(row);
+                } else {
+                    inserts.add(row);
+                }
+            }
+
+            int[] inserted = vehicleJdbcRepository.insertVehicles(
+                    inserts.stream().map(row -> row.request).collect(Collectors.toList()));
+            for (int i = 0; i < inserted.length; i++) {
+                ImportRow row = inserts.get(i);
+                if (inserted[i] == 0) {
+                    row.error = "Vehicle with license plate " + row.request.getLicensePlate() + " already exists";
+                    progress.duplicate(row);
+                } else {
+                    progress.imported++;
+                }
+            }
+        });
+    }
+
+    private void validateAll(List<ImportRow> chunk) {
+        int sliceSize = (chunk.size() + validationWorkers - 1) / validationWorkers;
+        List<CompletableFuture<Void>> slices = new ArrayList<>(validationWorkers);
+        for (int from = sliceSize; from < chunk.size(); from += sliceSize) {
+            List<ImportRow> slice = chunk.subList(from, Math.min(from + sliceSize, chunk.size()));
+            slices.add(CompletableFuture.runAsync(() -> validateSlice(slice), validationExecutor));
+        }
+        validateSlice(chunk.subList(0, Math.min(sliceSize, chunk.size())));
+        CompletableFuture.allOf(slices.toArray(new CompletableFuture[0])).join();
+    }
+
+    private void validateSlice(List<ImportRow> slice) {
+        for (ImportRow row : slice) {
+            if (row.error == null) {
+                row.error = validate(row.request);
+            }
+        }
+    }
+
+    private String validate(VehicleRequest request) {
+        Set<ConstraintViolation<VehicleRequest>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+
+    private static final class ImportRow {
+        private final long row;
+        private final VehicleRequest request;
+        private volatile String error;
+
+        private ImportRow(long row, VehicleRequest request, String error) {
+            this.row = row;
+            this.request = request;
+            this.error = error;
+        }
+    }
+
+    private static final class ImportProgress {
+        private final int maxReportedErrors;
+        private final List<VehicleImportError> errors = new ArrayList<>();
+        private long totalRows;
+        private long imported;
+        private long duplicates;
+        private long invalid;
+        private boolean errorsTruncated;
+
+        private ImportProgress(int maxReportedErrors) {
+            this.maxReportedErrors = maxReportedErrors;
+        }
+
+        private void invalid(ImportRow row) {
+            invalid++;
+            report(row);
+        }
+
+        private void duplicate(ImportRow row) {
+            duplicates++;
+            report(row);
+        }
+
+        private void report(ImportRow row) {
+            if (errors.size() < maxReportedErrors) {
+                String licensePlate = row.request != null ? row.request.getLicensePlate() : null;
+                errors.add(new VehicleImportError(row.row, licensePlate, row.error));
+            } else {
+                errorsTruncated = true;
+            }
+        }
+    }
+
+    private interface RowReader {
+        ImportRow next() throws IOException;
+    }
+
+    private final class NdjsonRowReader implements RowReader {
+        private final LineReader reader;
+        private long lineNumber;
+
+        private NdjsonRowReader(LineReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public ImportRow next() throws IOException {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (reader.isTruncated()) {
+                    return new ImportRow(lineNumber, null, reader.truncationMessage());
+                }
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    VehicleRequest request = objectMapper.readValue(line, VehicleRequest.class);
+                    if (request == null) {
+                        return new ImportRow(lineNumber, null, "Row must be a JSON object");
+                    }
+                    return new ImportRow(lineNumber, request, null);
+                } catch (JsonProcessingException e) {
+                    return new ImportRow(lineNumber, null, "Malformed JSON: " + e.getOriginalMessage());
+                }
+            }
+            return null;
+        }
+    }
+
+    private static final class CsvRowReader implements RowReader {
+        private final LineReader reader;
+        private long lineNumber;
+        private int licensePlateColumn = -1;
+        private int typeColumn = -1;
+        private int ownerNameColumn = -1;
+        private int columnCount;
+
+        private CsvRowReader(LineReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public ImportRow next() throws IOException {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (reader.isTruncated()) {
+                    if (columnCount == 0) {
+                        throw new BusinessException("CSV header: " + reader.truncationMessage());
+                    }
+                    return new ImportRow(lineNumber, null, reader.truncationMessage());
+                }
+                if (line.isBlank()) {
+                    continue;
+                }
+                if (columnCount == 0) {
+                    readHeader(line);
+                    continue;
+                }
+                return parseRow(line);
+            }
+            return null;
+        }
+
+        private void readHeader(String line) {
+            List<String> columns = splitCsvLine(line);
+            Map<String, Integer> positions = new HashMap<>();
+            for (int i = 0; i < columns.size(); i++) {
+                positions.put(columns.get(i).replaceAll("[^A-Za-z]", "").toLowerCase(Locale.ROOT), i);
+            }
+            licensePlateColumn = positions.getOrDefault("licenseplate", -1);
+            typeColumn = positions.getOrDefault("type", -1);
+            ownerNameColumn = positions.getOrDefault("ownername", -1);
+            if (licensePlateColumn < 0 || typeColumn < 0 || ownerNameColumn < 0) {
+                throw new BusinessException("CSV header must contain licensePlate, type and ownerName columns");
+            }
+            columnCount = columns.size();
+        }
+
+        private ImportRow parseRow(String line) {
+            List<String> fields = splitCsvLine(line);
+            if (fields.size() != columnCount) {
+                return new ImportRow(lineNumber, null,
+                        "Expected " + columnCount + " columns but found " + fields.size());
+            }
+
+            VehicleRequest request = new VehicleRequest();
+            request.setLicensePlate(fields.get(licensePlateColumn));
+            request.setOwnerName(fields.get(ownerNameColumn));
+            String type = fields.get(typeColumn);
+            if (!type.isBlank()) {
+                try {
+                    request.setType(VehicleType.valueOf(type.trim().toUpperCase(Locale.ROOT)));
+                } catch (IllegalArgumentException e) {
+                    return new ImportRow(lineNumber, request, "Invalid vehicle type: " + type);
+                }
+            }
+            return new ImportRow(lineNumber, request, null);
+        }
+
+        private static List<String> splitCsvLine(String line) {
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            for (int i = 0; i < line.length(); i++) {
+                char c = line.charAt(i);
+                if (quoted) {
+                    if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        field.append('"');
+                        i++;
+                    } else if (c == '"') {
+                        quoted = false;
+                    } else {
+                        field.append(c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else {
+                    field.append(c);
+                }
+            }
+            fields.add(field.toString());
+            return fields;
+        }
+    }
+
+    private static final class LineReader implements AutoCloseable {
+        private final Reader reader;
+        private final int maxLength;
+        private final char[] buffer = new char[8192];
+        private final StringBuilder line = new StringBuilder();
+        private int position;
+        private int limit;
+        private boolean skipLineFeed;
+        private boolean truncated;
+
+        private LineReader(Reader reader, int maxLength) {
+            this.reader = reader;
+            this.maxLength = maxLength;
+        }
+
+        private String readLine() throws IOException {
+            line.setLength(0);
+            truncated = false;
+            boolean read = false;
+            while (true) {
+                if (position == limit) {
+                    limit = reader.read(buffer, 0, buffer.length);
+                    position = 0;
+                    if (limit <= 0) {
+                        limit = 0;
+                        return read ? line.toString() : null;
+                    }
+                }
+                char c = buffer[position++];
+                if (skipLineFeed) {
+                    skipLineFeed = false;
+                    if (c == '\n') {
+                        continue;
+                    }
+                }
+                if (c == '\n' || c == '\r') {
+                    skipLineFeed = c == '\r';
+                    return line.toString();
+                }
+                read = true;
+                if (line.length() < maxLength) {
+                    line.append(c);
+                } else {
+                    truncated = true;
+                }
+            }
+        }
+
+        private boolean isTruncated() {
+            return truncated;
+        }
+
+        private String truncationMessage() {
+            return "Line exceeds the maximum length of " + maxLength + " characters";
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+    }
+}
@@ -2,21 +2,51 @@ package com.hitachi.smartpark.service;
 
 import com.hitachi.smartpark.dto.CheckInRequest;
 import com.hitachi.smartpark.dto.CheckOutResponse;
+import com.hitachi.smartpark.dto.GateEventBatchResponse;
+import com.hitachi.smartpark.dto.GateEventRequest;
+import com.hitachi.smartpark.dto.GateEventResult;
+import com.hitachi.smartpark.dto.GateEventStatus;
+import com.hitachi.smartpark.dto.GateEventType;
+import com.hitachi.smartpark.dto.PageResponse;
+import com.hitachi.smartpark.dto.ParkingSessionResponse;
 import com.hitachi.smartpark.dto.VehicleRequest;
+import com.hitachi.smartpark.dto.VehicleResponse;
 import com.hitachi.smartpark.entity.ParkingLot;
+import com.hitachi.smartpark.entity.ParkingSession;
 import com.hitachi.smartpark.entity.Vehicle;
+import com.hitachi.smartpark.entity.VehicleType;
 import com.hitachi.smartpark.exception.BusinessException;
 import com.hitachi.smartpark.exception.ResourceAlreadyExistsException;
 import com.hitachi.smartpark.exception.ResourceNotFoundException;
+import com.hitachi.smartpark.repository.CompletedParkingSessionRepository;
+import com.hitachi.smartpark.repository.ParkedSession;
 import com.hitachi.smartpark.repository.ParkingLotRepository;
+import com.hitachi.smartpark.repository.ParkingSessionJdbcRepository;
+import com.hitachi.smartpark.repository.ParkingSessionRepository;
+import com.hitachi.smartpark.repository.ParkingSessionTransition;
+import com.hitachi.smartpark.repository.VehicleJdbcRepository;
 import com.hitachi.smartpark.repository.VehicleRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
 public class VehicleService {
@@ -24,11 +54,41 @@ public class VehicleService {
     @Autowired
     private VehicleRepository vehicleRepository;
 
+    @Autowired
+    private VehicleJdbcRepository vehicleJdbcRepository;
+
     @Autowired
     private ParkingLotRepository parkingLotRepository;
 
+    @Autowired
+    private OccupancyEngine occupancyEngine;
+
+    @Autowired
+    private ParkingSessionRepository parkingSessionRepository;
+
+    @Autowired
+    private ParkingSessionJdbcRepository parkingSessionJdbcRepository;
+
+    @Autowired
+    private CompletedParkingSessionRepository completedParkingSessionRepository;
+
+    @Autowired
+    private OverstayTracker overstayTracker;
+
+    @Autowired
+    private EventJournal eventJournal;
+
+    @Autowired
+    private Validator validator;
+
+    @Value("${app.gate-events.max-batch-size:1000}")
+    private int maxGateEventBatchSize;
+
+    @Value("${app.listing.max-page-size:1000}")
+    private int maxPageSize;
+
     @Transactional
-    public Vehicle registerVehicle(VehicleRequest request) {
+    public VehicleResponse registerVehicle(VehicleRequest request) {
         if (vehicleRepository.existsById(request.getLicensePlate())) {
             throw new ResourceAlreadyExistsException("Vehicle with license plate " + request.getLicensePlate() + " already exists");
         }
@@ -38,33 +98,36 @@ public class VehicleService {
         vehicle.setType(request.getType());
         vehicle.setOwnerName(request.getOwnerName());
 
-        return vehicleRepository.save(vehicle);
+        return VehicleResponse.from(vehicleRepository.save(vehicle), null, null);
     }
 
     @Transactional
-    public Vehicle checkIn(CheckInRequest request) {
+    public VehicleResponse checkIn(CheckInRequest request) {
         Vehicle vehicle = vehicleRepository.findById(request.getLicensePlate())
                 .orElseThrow(() -> new ResourceNotFoundException("Vehicle not found with license plate: " + request.getLicensePlate()));
 
-        if (vehicle.isParked()) {
-            throw new BusinessException("Vehicle is already parked in lot: " + vehicle.getParkingLot().getLotId());
+        Optional<ParkingSession> activeSession = parkingSessionRepository.findById(vehicle.getLicensePlate());
+        if (activeSession.isPresent()) {
+            throw new BusinessException("Vehicle is already parked in lot: " + activeSession.get().getLotId());
         }
 
-        ParkingLot parkingLot = parkingLotRepository.findById(request.getLotId())
-                .orElseThrow(() -> new ResourceNotFoundException("Parking lot not found with ID: " + request.getLotId()));
-
-        if (parkingLot.isFull()) {
+        if (!occupancyEngine.tryAdmit(request.getLotId())) {
             throw new BusinessException("Parking lot is full");
         }
 
-        vehicle.setParkingLot(parkingLot);
-        vehicle.setCheckInTime(LocalDateTime.now());
-        vehicle.setCheckOutTime(null);
+        ParkingLot parkingLot = parkingLotRepository.findById(request.getLotId())
+                .orElseThrow(() -> new ResourceNotFoundException("Parking lot not found with ID: " + request.getLotId()));
 
-        parkingLot.incrementOccupiedSpaces();
-        parkingLotRepository.save(parkingLot);
+        LocalDateTime checkInTime = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        if (applyTransition(ParkingSessionTransition.checkIn(
+                vehicle.getLicensePlate(), parkingLot.getLotId(), vehicle.getType(), checkInTime)) == 0) {
+            throw new BusinessException("Vehicle is already parked");
+        }
+        overstayTracker.track(vehicle.getLicensePlate(), parkingLot.getLotId(), vehicle.getType(), checkInTime);
+        eventJournal.appendAfterCommit(JournalEventType.CHECK_IN,
+                vehicle.getLicensePlate(), parkingLot.getLotId(), vehicle.getType(), checkInTime);
 
-        return vehicleRepository.save(vehicle);
+        return VehicleResponse.from(vehicle, parkingLot.getLotId(), checkInTime);
     }
 
     @Transactional
@@ -72,61 +135,311 @@ public class VehicleService {
         Vehicle vehicle = vehicleRepository.findById(licensePlate)
                 .orElseThrow(() -> new ResourceNotFoundException("Vehicle not found with license plate: " + licensePlate));
 
-        if (!vehicle.isParked()) {
-            throw new BusinessException("Vehicle is not currently parked");
-        }
+        ParkingSession session = parkingSessionRepository.findById(licensePlate)
+                .orElseThrow(() -> new BusinessException("Vehicle is not currently parked"));
 
-        ParkingLot parkingLot = vehicle.getParkingLot();
+        String lotId = session.getLotId();
+        ParkingLot parkingLot = parkingLotRepository.findById(lotId)
+                .orElseThrow(() -> new ResourceNotFoundException("Parking lot not found with ID: " + lotId));
+        BigDecimal costPerMinute = parkingLot.getCostPerMinute();
+        LocalDateTime checkInTime = session.getCheckInTime();
         LocalDateTime checkOutTime = LocalDateTime.now();
-        vehicle.setCheckOutTime(checkOutTime);
 
-        long minutesParked = vehicle.getParkedMinutes();
-        BigDecimal parkingCost = parkingLot.getCostPerMinute().multiply(BigDecimal.valueOf(minutesParked));
+        long minutesParked = Duration.between(checkInTime, checkOutTime).toMinutes();
+        BigDecimal parkingCost = costPerMinute.multiply(BigDecimal.valueOf(minutesParked));
+
+        if (applyTransition(ParkingSessionTransition.checkOut(
+                licensePlate, lotId, vehicle.getType(), checkInTime, checkOutTime, parkingCost)) == 0) {
+            throw new BusinessException("Vehicle is not currently parked");
+        }
+        occupancyEngine.release(lotId);
+        overstayTracker.untrack(licensePlate, checkInTime);
+        eventJournal.appendAfterCommit(JournalEventType.CHECK_OUT,
+                licensePlate, lotId, vehicle.getType(), checkOutTime);
 
-        CheckOutResponse response = new CheckOutResponse(
-                vehicle.getLicensePlate(),
-                parkingLot.getLotId(),
-                vehicle.getCheckInTime(),
+        return new CheckOutResponse(
+                licensePlate,
+                lotId,
+                checkInTime,
                 checkOutTime,
                 minutesParked,
                 parkingCost
         );
+    }
+
+    @Transactional
+    public GateEventBatchResponse processGateEvents(List<GateEventRequest> events) {
+        if (events.size() > maxGateEventBatchSize) {
+            throw new BusinessException("Batch must not contain more than " + maxGateEventBatchSize + " events");
+        }
+
+        GateEventResult[] results = new GateEventResult[events.size()];
+        Set<String> licensePlates = new HashSet<>();
+        Set<String> lotIds = new HashSet<>();
+        for (int i = 0; i < events.size(); i++) {
+            GateEventRequest event = events.get(i);
+            String violation = validateGateEvent(event);
+            if (violation != null) {
+                results[i] = GateEventResult.of(i, event, GateEventStatus.INVALID, violation);
+                continue;
+            }
+            licensePlates.add(event.getLicensePlate());
+            if (event.getType() == GateEventType.CHECK_IN) {
+                lotIds.add(event.getLotId());
+            }
+        }
+
+        Map<String, VehicleType> knownVehicles = new HashMap<>();
+        Map<String, ActiveSession> sessions = new HashMap<>();
+        Map<String, ParkingLot> parkingLots = new HashMap<>();
+        for (Vehicle vehicle : vehicleRepository.findAllById(licensePlates)) {
+            knownVehicles.put(vehicle.getLicensePlate(), vehicle.getType());
+        }
+        List<ParkingSession> activeSessions = parkingSessionRepository.findAllById(knownVehicles.keySet());
+        activeSessions.forEach(session -> lotIds.add(session.getLotId()));
+        for (String lotId : lotIds) {
+            parkingLotRepository.findById(lotId).ifPresent(parkingLot -> parkingLots.put(lotId, parkingLot));
+        }
+        for (ParkingSession session : activeSessions) {
+            sessions.put(session.getLicensePlate(),
+                    new ActiveSession(parkingLots.get(session.getLotId()), session.getCheckInTime()));
+        }
+
+        List<ParkingSessionTransition> transitions = new ArrayList<>();
+        List<Integer> transitionEvents = new ArrayList<>();
+        Map<String, Integer> admitted = new HashMap<>();
+        Map<String, Integer> freedSpaces = new HashMap<>();
+        for (int i = 0; i < events.size(); i++) {
+            if (results[i] != null) {
+                continue;
+            }
+            GateEventRequest event = events.get(i);
+            String licensePlate = event.getLicensePlate();
+            if (!knownVehicles.containsKey(licensePlate)) {
+                results[i] = GateEventResult.of(i, event, GateEventStatus.NOT_FOUND,
+                        "Vehicle not found with license plate: " + licensePlate);
+                continue;
+            }
+
+            ActiveSession session = sessions.get(licensePlate);
+            GateEventResult result = GateEventResult.of(i, event, GateEventStatus.SUCCESS, null);
+            if (event.getType() == GateEventType.CHECK_IN) {
+                ParkingLot parkingLot = parkingLots.get(event.getLotId());
+                if (parkingLot == null) {
+                    results[i] = GateEventResult.of(i, event, GateEventStatus.NOT_FOUND,
+                            "Parking lot not found with ID: " + event.getLotId());
+                    continue;
+                }
+                if (session != null) {
+                    results[i] = GateEventResult.of(i, event, GateEventStatus.ALREADY_PARKED,
+                            "Vehicle is already parked in lot: " + session.parkingLot().getLotId());
+                    continue;
+                }
+                int freed = freedSpaces.getOrDefault(parkingLot.getLotId(), 0);
+                if (freed > 0) {
+                    freedSpaces.put(parkingLot.getLotId(), freed - 1);
+                } else if (occupancyEngine.tryAdmit(parkingLot.getLotId())) {
+                    admitted.merge(parkingLot.getLotId(), 1, Integer::sum);
+                } else {
+                    results[i] = GateEventResult.of(i, event, GateEventStatus.LOT_FULL, "Parking lot is full");
+                    continue;
+                }
 
-        vehicle.setParkingLot(null);
-        vehicle.setCheckInTime(null);
-        vehicle.setCheckOutTime(null);
+                LocalDateTime checkInTime = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+                transitions.add(ParkingSessionTransition.checkIn(
+                        licensePlate, parkingLot.getLotId(), knownVehicles.get(licensePlate), checkInTime));
+                sessions.put(licensePlate, new ActiveSession(parkingLot, checkInTime));
+                result.setCheckInTime(checkInTime);
+            } else {
+                if (session == null) {
+                    results[i] = GateEventResult.of(i, event, GateEventStatus.NOT_PARKED,
+                            "Vehicle is not currently parked");
+                    continue;
+                }
+
+                LocalDateTime checkOutTime = LocalDateTime.now();
+                long minutesParked = Duration.between(session.checkInTime(), checkOutTime).toMinutes();
+                BigDecimal parkingCost = session.parkingLot().getCostPerMinute().multiply(BigDecimal.valueOf(minutesParked));
+                transitions.add(ParkingSessionTransition.checkOut(licensePlate, session.parkingLot().getLotId(),
+                        knownVehicles.get(licensePlate), session.checkInTime(), checkOutTime, parkingCost));
+                sessions.remove(licensePlate);
+                freedSpaces.merge(session.parkingLot().getLotId(), 1, Integer::sum);
+                result.setLotId(session.parkingLot().getLotId());
+                result.setCheckInTime(session.checkInTime());
+                result.setCheckOutTime(checkOutTime);
+                result.setMinutesParked(minutesParked);
+                result.setParkingCost(parkingCost);
+            }
+            results[i] = result;
+            transitionEvents.add(i);
+        }
+
+        int[] updated = parkingSessionJdbcRepository.applyTransitions(transitions);
+        Map<String, Integer> occupancyChanges = new HashMap<>();
+        for (int k = 0; k < updated.length; k++) {
+            int i = transitionEvents.get(k);
+            GateEventResult result = results[i];
+            boolean checkIn = result.getType() == GateEventType.CHECK_IN;
+            if (updated[k] == 0) {
+                results[i] = GateEventResult.of(i, events.get(i),
+                        checkIn ? GateEventStatus.ALREADY_PARKED : GateEventStatus.NOT_PARKED,
+                        checkIn ? "Vehicle is already parked" : "Vehicle is not currently parked");
+            } else {
+                occupancyChanges.merge(result.getLotId(), checkIn ? 1 : -1, Integer::sum);
+            }
+        }
+        revokeOverbookedCheckIns(reconcileOccupancy(occupancyChanges, admitted), transitions, transitionEvents,
+                updated, events, results);
 
-        parkingLot.decrementOccupiedSpaces();
-        parkingLotRepository.save(parkingLot);
-        vehicleRepository.save(vehicle);
+        for (int k = 0; k < updated.length; k++) {
+            GateEventResult result = results[transitionEvents.get(k)];
+            if (updated[k] == 0 || !result.isSuccess()) {
+                continue;
+            }
+            VehicleType type = knownVehicles.get(result.getLicensePlate());
+            if (result.getType() == GateEventType.CHECK_IN) {
+                overstayTracker.track(result.getLicensePlate(), result.getLotId(), type, result.getCheckInTime());
+                eventJournal.appendAfterCommit(JournalEventType.CHECK_IN, result.getLicensePlate(), result.getLotId(),
+                        type, result.getCheckInTime());
+            } else {
+                overstayTracker.untrack(result.getLicensePlate(), result.getCheckInTime());
+                eventJournal.appendAfterCommit(JournalEventType.CHECK_OUT, result.getLicensePlate(), result.getLotId(),
+                        type, result.getCheckOutTime());
+            }
+        }
 
-        return response;
+        int succeeded = (int) Arrays.stream(results).filter(GateEventResult::isSuccess).count();
+        return new GateEventBatchResponse(results.length, succeeded, results.length - succeeded, Arrays.asList(results));
     }
 
-    public Vehicle getVehicle(String licensePlate) {
-        return vehicleRepository.findById(licensePlate)
+    public VehicleResponse getVehicle(String licensePlate) {
+        return vehicleRepository.findResponseByLicensePlate(licensePlate)
                 .orElseThrow(() -> new ResourceNotFoundException("Vehicle not found with license plate: " + licensePlate));
     }
 
-    public List<Vehicle> getAllVehicles() {
-        return vehicleRepository.findAll();
+    public PageResponse<VehicleResponse> getVehicles(String cursor, int limit, VehicleType type, Boolean parked, String lotId) {
+        if (limit < 1 || limit > maxPageSize) {
+            throw new BusinessException("Page size must be between 1 and " + maxPageSize);
+        }
+        List<VehicleResponse> vehicles = vehicleJdbcRepository.findPage(cursor, type, parked, lotId, limit + 1);
+        return PageResponse.of(vehicles, limit, VehicleResponse::getLicensePlate);
+    }
+
+    public PageResponse<ParkingSessionResponse> getSessionHistory(String licensePlate, String cursor, int limit) {
+        if (limit < 1 || limit > maxPageSize) {
+            throw new BusinessException("Page size must be between 1 and " + maxPageSize);
+        }
+        if (!vehicleRepository.existsById(licensePlate)) {
+            throw new ResourceNotFoundException("Vehicle not found with license plate: " + licensePlate);
+        }
+        List<ParkingSessionResponse> sessions;
+        if (cursor == null) {
+            sessions = completedParkingSessionRepository.findFirstPageByLicensePlate(licensePlate,
+                    Limit.of(limit + 1));
+        } else {
+            SessionHistoryCursor after = SessionHistoryCursor.parse(cursor);
+            sessions = completedParkingSessionRepository.findPageByLicensePlateBefore(licensePlate,
+                    after.checkOutTime(), after.id(), Limit.of(limit + 1));
+        }
+        return PageResponse.of(sessions, limit, SessionHistoryCursor::of);
     }
 
     @Transactional
-    public void removeVehiclesParkedLongerThan(int minutes) {
-        LocalDateTime cutoffTime = LocalDateTime.now().minusMinutes(minutes);
-        List<Vehicle> vehicles = vehicleRepository.findVehiclesParkedLongerThan(cutoffTime);
+    public int expireOverstays(List<OverstayDeadline> deadlines) {
+        Map<String, OverstayDeadline> byLicensePlate = new HashMap<>();
+        for (OverstayDeadline deadline : deadlines) {
+            byLicensePlate.put(deadline.licensePlate(), deadline);
+        }
+
+        List<ParkedSession> expired = new ArrayList<>();
+        for (ParkedSession session : parkingSessionJdbcRepository.lockSessions(byLicensePlate.keySet())) {
+            OverstayDeadline deadline = byLicensePlate.get(session.getLicensePlate());
+            if (session.getLotId().equals(deadline.lotId()) && session.getCheckInTime().equals(deadline.checkInTime())) {
+                expired.add(session);
+            }
+        }
 
-        for (Vehicle vehicle : vehicles) {
-            ParkingLot parkingLot = vehicle.getParkingLot();
-            vehicle.setParkingLot(null);
-            vehicle.setCheckInTime(null);
-            vehicle.setCheckOutTime(null);
+        LocalDateTime removedAt = LocalDateTime.now();
+        parkingSessionJdbcRepository.removeSessions(expired, removedAt);
+        for (ParkedSession session : expired) {
+            occupancyEngine.release(session.getLotId());
+        }
+        for (ParkedSession session : expired) {
+            eventJournal.appendAfterCommit(JournalEventType.OVERSTAY_REMOVED,
+                    session.getLicensePlate(), session.getLotId(), session.getType(), removedAt);
+        }
+        return expired.size();
+    }
 
-            parkingLot.decrementOccupiedSpaces();
-            parkingLotRepository.save(parkingLot);
-            vehicleRepository.save(vehicle);
+    private int applyTransition(ParkingSessionTransition transition) {
+        return parkingSessionJdbcRepository.applyTransitions(List.of(transition))[0];
+    }
+
+    private Map<String, Integer> reconcileOccupancy(Map<String, Integer> occupancyChanges, Map<String, Integer> admitted) {
+        Map<String, Integer> overbooked = new HashMap<>();
+        Set<String> lotIds = new HashSet<>(occupancyChanges.keySet());
+        lotIds.addAll(admitted.keySet());
+        for (String lotId : lotIds) {
+            int adjustment = occupancyChanges.getOrDefault(lotId, 0) - admitted.getOrDefault(lotId, 0);
+            for (; adjustment < 0; adjustment++) {
+                occupancyEngine.release(lotId);
+            }
+            for (; adjustment > 0; adjustment--) {
+                if (!occupancyEngine.tryAdmit(lotId)) {
+                    overbooked.put(lotId, adjustment);
+                    break;
+                }
+            }
         }
+        return overbooked;
+    }
+
+    private void revokeOverbookedCheckIns(Map<String, Integer> overbooked, List<ParkingSessionTransition> transitions,
+                                          List<Integer> transitionEvents, int[] updated,
+                                          List<GateEventRequest> events, GateEventResult[] results) {
+        if (overbooked.isEmpty()) {
+            return;
+        }
+        List<ParkingSessionTransition> revoked = new ArrayList<>();
+        Set<String> checkedOutLater = new HashSet<>();
+        for (int k = updated.length - 1; k >= 0; k--) {
+            ParkingSessionTransition transition = transitions.get(k);
+            if (updated[k] == 0) {
+                continue;
+            }
+            if (transition.isCheckOut()) {
+                checkedOutLater.add(transition.getLicensePlate());
+                continue;
+            }
+            int remaining = overbooked.getOrDefault(transition.getLotId(), 0);
+            if (remaining == 0 || checkedOutLater.contains(transition.getLicensePlate())) {
+                continue;
+            }
+            overbooked.put(transition.getLotId(), remaining - 1);
+            revoked.add(transition);
+            int i = transitionEvents.get(k);
+            results[i] = GateEventResult.of(i, events.get(i), GateEventStatus.LOT_FULL, "Parking lot is full");
+        }
+        parkingSessionJdbcRepository.revokeCheckIns(revoked);
     }
-}
 
+    private String validateGateEvent(GateEventRequest event) {
+        if (event == null) {
+            return "Event is required";
+        }
+        Set<ConstraintViolation<GateEventRequest>> violations = validator.validate(event);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining(", "));
+        }
+        if (event.getType() == GateEventType.CHECK_IN && (event.getLotId() == null || event.getLotId().isBlank())) {
+            return "Lot ID is required";
+        }
+        return null;
+    }
+
+    private record ActiveSession(ParkingLot parkingLot, LocalDateTime checkInTime) {
+    }
+}
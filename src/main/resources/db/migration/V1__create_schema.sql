@@ -0,0 +1,20 @@
+CREATE TABLE parking_lots (
+    lot_id           VARCHAR(50)    NOT NULL,
+    location         VARCHAR(255)   NOT NULL,
+    capacity         INTEGER        NOT NULL CHECK (capacity >= 1),
+    occupied_spaces  INTEGER        NOT NULL CHECK (occupied_spaces >= 0),
+    cost_per_minute  NUMERIC(10, 2) NOT NULL,
+    max_stay_minutes INTEGER        CHECK (max_stay_minutes >= 1),
+    PRIMARY KEY (lot_id)
+);
+
+CREATE TABLE vehicles (
+    license_plate  VARCHAR(50)                         NOT NULL,
+    type           ENUM ('CAR', 'MOTORCYCLE', 'TRUCK') NOT NULL,
+    owner_name     VARCHAR(255)                        NOT NULL,
+    parking_lot_id VARCHAR(50),
+    check_in_time  TIMESTAMP(6),
+    check_out_time TIMESTAMP(6),
+    PRIMARY KEY (license_plate),
+    CONSTRAINT fk_vehicles_parking_lot FOREIGN KEY (parking_lot_id) REFERENCES parking_lots (lot_id)
+);
@@ -0,0 +1,10 @@
+ALTER TABLE vehicles DROP CONSTRAINT fk_vehicles_parking_lot;
+
+CREATE INDEX idx_vehicles_parking_lot ON vehicles (parking_lot_id);
+
+ALTER TABLE vehicles ADD CONSTRAINT fk_vehicles_parking_lot
+    FOREIGN KEY (parking_lot_id) REFERENCES parking_lots (lot_id);
+
+CREATE INDEX idx_vehicles_lot_type_check_in ON vehicles (parking_lot_id, type, check_in_time);
+
+CREATE INDEX idx_vehicles_check_in_time ON vehicles (check_in_time);
@@ -0,0 +1,54 @@
+CREATE TABLE parking_sessions (
+    license_plate VARCHAR(50)                         NOT NULL,
+    lot_id        VARCHAR(50)                         NOT NULL,
+    vehicle_type  ENUM ('CAR', 'MOTORCYCLE', 'TRUCK') NOT NULL,
+    check_in_time TIMESTAMP(6)                        NOT NULL,
+    PRIMARY KEY (license_plate)
+);
+
+CREATE INDEX idx_parking_sessions_lot ON parking_sessions (lot_id);
+
+CREATE INDEX idx_parking_sessions_lot_type_check_in ON parking_sessions (lot_id, vehicle_type, check_in_time);
+
+CREATE INDEX idx_parking_sessions_check_in_time ON parking_sessions (check_in_time);
+
+ALTER TABLE parking_sessions ADD CONSTRAINT fk_parking_sessions_vehicle
+    FOREIGN KEY (license_plate) REFERENCES vehicles (license_plate) ON DELETE CASCADE;
+
+ALTER TABLE parking_sessions ADD CONSTRAINT fk_parking_sessions_parking_lot
+    FOREIGN KEY (lot_id) REFERENCES parking_lots (lot_id);
+
+CREATE TABLE parking_session_history (
+    id             BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    license_plate  VARCHAR(50)                               NOT NULL,
+    lot_id         VARCHAR(50)                               NOT NULL,
+    vehicle_type   ENUM ('CAR', 'MOTORCYCLE', 'TRUCK')       NOT NULL,
+    check_in_time  TIMESTAMP(6)                              NOT NULL,
+    check_out_time TIMESTAMP(6)                              NOT NULL,
+    end_reason     ENUM ('CHECKED_OUT', 'OVERSTAY_REMOVED') NOT NULL,
+    parking_cost   NUMERIC(12, 2),
+    PRIMARY KEY (id)
+);
+
+CREATE INDEX idx_session_history_plate_check_out ON parking_session_history (license_plate, check_out_time);
+
+CREATE INDEX idx_session_history_lot_check_out ON parking_session_history (lot_id, check_out_time);
+
+INSERT INTO parking_sessions (license_plate, lot_id, vehicle_type, check_in_time)
+SELECT license_plate, parking_lot_id, type, check_in_time
+FROM vehicles
+WHERE parking_lot_id IS NOT NULL AND check_in_time IS NOT NULL AND check_out_time IS NULL;
+
+DROP INDEX idx_vehicles_lot_type_check_in;
+
+DROP INDEX idx_vehicles_check_in_time;
+
+ALTER TABLE vehicles DROP CONSTRAINT fk_vehicles_parking_lot;
+
+DROP INDEX idx_vehicles_parking_lot;
+
+ALTER TABLE vehicles DROP COLUMN check_out_time;
+
+ALTER TABLE vehicles DROP COLUMN check_in_time;
+
+ALTER TABLE vehicles DROP COLUMN parking_lot_id;
@@ -0,0 +1,3 @@
+CREATE INDEX idx_parking_sessions_lot_plate ON parking_sessions (lot_id, license_plate);
+
+CREATE INDEX idx_vehicles_type_plate ON vehicles (type, license_plate);
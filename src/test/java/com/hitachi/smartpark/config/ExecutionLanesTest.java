@@ -0,0 +1,149 @@
+package com.hitachi.smartpark.config;
+
+import com.hitachi.smartpark.config.ExecutionLanes.Lane;
+import com.hitachi.smartpark.dto.ExecutionLaneStats;
+import com.hitachi.smartpark.exception.ServiceOverloadedException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Execution Lanes Tests")
+class ExecutionLanesTest {
+
+    private ExecutionLanes executionLanes;
+    private CountDownLatch release;
+
+    @BeforeEach
+    void setUp() {
+        executionLanes = new ExecutionLanes();
+        ReflectionTestUtils.setField(executionLanes, "gateThreads", 2);
+        ReflectionTestUtils.setField(executionLanes, "gateQueueDepth", 4);
+        ReflectionTestUtils.setField(executionLanes, "gateQueueTimeoutMillis", 1000L);
+        ReflectionTestUtils.setField(executionLanes, "statusThreads", 1);
+        ReflectionTestUtils.setField(executionLanes, "statusQueueDepth", 4);
+        ReflectionTestUtils.setField(executionLanes, "statusQueueTimeoutMillis", 50L);
+        ReflectionTestUtils.setField(executionLanes, "bulkThreads", 1);
+        ReflectionTestUtils.setField(executionLanes, "bulkQueueDepth", 1);
+        ReflectionTestUtils.setField(executionLanes, "bulkQueueTimeoutMillis", 1000L);
+        ReflectionTestUtils.setField(executionLanes, "exportThreads", 1);
+        ReflectionTestUtils.setField(executionLanes, "exportQueueDepth", 1);
+        ReflectionTestUtils.setField(executionLanes, "exportQueueTimeoutMillis", 1000L);
+        executionLanes.init();
+        release = new CountDownLatch(1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executionLanes.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should run tasks on threads bound to their lane")
+    void shouldRunTasksOnThreadsBoundToTheirLane() throws Exception {
+        assertThat(executionLanes.submit(Lane.GATE, ExecutionLanes::currentLane).get(5, TimeUnit.SECONDS))
+                .isEqualTo(Lane.GATE);
+        assertThat(executionLanes.submit(Lane.BULK, ExecutionLanes::currentLane).get(5, TimeUnit.SECONDS))
+                .isEqualTo(Lane.BULK);
+        assertThat(ExecutionLanes.currentLane()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should keep serving gate work while the bulk lane is saturated")
+    void shouldServeGateWorkWhileBulkLaneIsSaturated() throws Exception {
+        CompletableFuture<Boolean> running = executionLanes.submit(Lane.BULK, this::awaitRelease);
+        CompletableFuture<Boolean> queued = executionLanes.submit(Lane.BULK, this::awaitRelease);
+
+        assertThatThrownBy(() -> executionLanes.submit(Lane.BULK, this::awaitRelease))
+                .isInstanceOf(ServiceOverloadedException.class)
+                .hasMessageContaining("bulk execution lane is full");
+        assertThat(executionLanes.submit(Lane.GATE, () -> "checked-in").get(5, TimeUnit.SECONDS))
+                .isEqualTo("checked-in");
+
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isTrue();
+        ExecutionLaneStats bulk = laneStats(Lane.BULK);
+        assertThat(bulk.getRejections()).isEqualTo(1);
+        assertThat(bulk.getQueueDepth()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should keep bulk work running while long exports fill the export lane")
+    void shouldServeBulkWorkWhileExportLaneIsSaturated() throws Exception {
+        CompletableFuture<Boolean> running = executionLanes.submit(Lane.EXPORT, this::awaitRelease);
+        CompletableFuture<Boolean> queued = executionLanes.submit(Lane.EXPORT, this::awaitRelease);
+
+        assertThatThrownBy(() -> executionLanes.submit(Lane.EXPORT, this::awaitRelease))
+                .isInstanceOf(ServiceOverloadedException.class)
+                .hasMessageContaining("export execution lane is full");
+        assertThat(executionLanes.submit(Lane.BULK, ExecutionLanes::currentLane).get(5, TimeUnit.SECONDS))
+                .isEqualTo(Lane.BULK);
+
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should drop work that waited in the queue past the lane timeout")
+    void shouldDropWorkThatWaitedPastLaneTimeout() throws Exception {
+        CompletableFuture<Boolean> running = executionLanes.submit(Lane.STATUS, () -> {
+            sleep(150);
+            return true;
+        });
+        CompletableFuture<String> stale = executionLanes.submit(Lane.STATUS, () -> "stale");
+
+        assertThat(running.get(5, TimeUnit.SECONDS)).isTrue();
+        assertThatThrownBy(() -> stale.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(ServiceOverloadedException.class);
+        assertThat(laneStats(Lane.STATUS).getExpirations()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should complete the future exceptionally when the task fails")
+    void shouldCompleteExceptionallyWhenTaskFails() {
+        CompletableFuture<Object> future = executionLanes.submit(Lane.GATE, () -> {
+            throw new IllegalStateException("boom");
+        });
+
+        assertThatThrownBy(() -> future.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(IllegalStateException.class);
+    }
+
+    private boolean awaitRelease() {
+        try {
+            return release.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private ExecutionLaneStats laneStats(Lane lane) {
+        return executionLanes.getStats().stream()
+                .filter(stats -> stats.getLane().equals(lane.name()))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
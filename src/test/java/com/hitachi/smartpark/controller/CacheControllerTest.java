@@ -0,0 +1,51 @@
+package com.hitachi.smartpark.controller;
+
+import com.hitachi.smartpark.dto.CacheRegionStats;
+import com.hitachi.smartpark.security.JwtUtil;
+import com.hitachi.smartpark.service.CacheStatsService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(CacheController.class)
+@Import(TestSecurityConfig.class)
+@DisplayName("Cache Controller Tests")
+class CacheControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private CacheStatsService cacheStatsService;
+
+    @MockBean
+    private JwtUtil jwtUtil;
+
+    @Test
+    @WithMockUser
+    @DisplayName("Should expose second-level cache statistics per region")
+    void shouldExposeSecondLevelCacheStatisticsPerRegion() throws Exception {
+        when(cacheStatsService.getRegionStats()).thenReturn(List.of(
+                new CacheRegionStats("parking-lots", 90, 10, 10, 0, 10, 0.9),
+                new CacheRegionStats("vehicles", 0, 5, 5, 2, 3, 0.0)));
+
+        mockMvc.perform(get("/api/v1/cache/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].region").value("parking-lots"))
+                .andExpect(jsonPath("$[0].hits").value(90))
+                .andExpect(jsonPath("$[0].hitRatio").value(0.9))
+                .andExpect(jsonPath("$[1].region").value("vehicles"))
+                .andExpect(jsonPath("$[1].evictions").value(2));
+    }
+}
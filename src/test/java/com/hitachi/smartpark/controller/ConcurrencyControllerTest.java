@@ -0,0 +1,51 @@
+package com.hitachi.smartpark.controller;
+
+import com.hitachi.smartpark.security.JwtUtil;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(ConcurrencyController.class)
+@Import(TestSecurityConfig.class)
+@DisplayName("Concurrency Controller Tests")
+class ConcurrencyControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private JwtUtil jwtUtil;
+
+    @Test
+    @WithMockUser
+    @DisplayName("Should expose the current concurrency limit and rejection counts")
+    void shouldExposeCurrentConcurrencyLimitAndRejectionCounts() throws Exception {
+        mockMvc.perform(get("/api/v1/concurrency/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.limit").value(100))
+                .andExpect(jsonPath("$.inFlight").value(1))
+                .andExpect(jsonPath("$.gateRejections").value(0))
+                .andExpect(jsonPath("$.otherRejections").value(0));
+    }
+
+    @Test
+    @WithMockUser
+    @DisplayName("Should expose the depth and usage of every execution lane")
+    void shouldExposeDepthAndUsageOfEveryExecutionLane() throws Exception {
+        mockMvc.perform(get("/api/v1/concurrency/lanes"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].lane").value("GATE"))
+                .andExpect(jsonPath("$[0].queueDepth").value(256))
+                .andExpect(jsonPath("$[1].lane").value("STATUS"))
+                .andExpect(jsonPath("$[2].lane").value("BULK"))
+                .andExpect(jsonPath("$[2].rejections").value(0));
+    }
+}
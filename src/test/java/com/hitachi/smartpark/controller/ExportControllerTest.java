@@ -0,0 +1,140 @@
+package com.hitachi.smartpark.controller;
+
+import com.hitachi.smartpark.config.ExecutionLanes;
+import com.hitachi.smartpark.config.ExecutionLanes.Lane;
+import com.hitachi.smartpark.dto.ExecutionLaneStats;
+import com.hitachi.smartpark.security.JwtUtil;
+import com.hitachi.smartpark.service.ExportService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(ExportController.class)
+@Import(TestSecurityConfig.class)
+@TestPropertySource(properties = {
+        "app.lanes.export.threads=1",
+        "app.lanes.export.queue-depth=1",
+        "app.lanes.export.queue-timeout-ms=300"
+})
+@DisplayName("Export Controller Tests")
+class ExportControllerTest {
+
+    private static final String ROWS = "{\"licensePlate\":\"ABC-123\"}\n{\"licensePlate\":\"XYZ-789\"}\n";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ExecutionLanes executionLanes;
+
+    @MockBean
+    private ExportService exportService;
+
+    @MockBean
+    private JwtUtil jwtUtil;
+
+    @Test
+    @WithMockUser
+    @DisplayName("Should stream vehicles as NDJSON on the export lane")
+    void shouldStreamVehiclesAsNdjson() throws Exception {
+        AtomicReference<Lane> lane = new AtomicReference<>();
+        when(exportService.exportVehicles(any())).thenAnswer(invocation -> {
+            lane.set(ExecutionLanes.currentLane());
+            invocation.<OutputStream>getArgument(0).write(ROWS.getBytes(StandardCharsets.UTF_8));
+            return 2L;
+        });
+
+        MvcResult result = mockMvc.perform(get("/api/v1/export/vehicles"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        assertThat(result.getRequest().getAsyncContext().getTimeout()).isEqualTo(3_600_000L);
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(content().string(ROWS));
+        assertThat(lane.get()).isEqualTo(Lane.EXPORT);
+    }
+
+    @Test
+    @WithMockUser
+    @DisplayName("Should gzip the session export when the client accepts it")
+    void shouldGzipSessionExportWhenAccepted() throws Exception {
+        when(exportService.exportSessions(any())).thenAnswer(invocation -> {
+            invocation.<OutputStream>getArgument(0).write(ROWS.getBytes(StandardCharsets.UTF_8));
+            return 2L;
+        });
+
+        MvcResult result = mockMvc.perform(get("/api/v1/export/sessions")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MvcResult dispatched = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andReturn();
+
+        byte[] body = dispatched.getResponse().getContentAsByteArray();
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(ROWS);
+        }
+    }
+
+    @Test
+    @WithMockUser
+    @DisplayName("Should account for exports that the export lane rejects or lets expire")
+    void shouldAccountForRejectedAndExpiredExports() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(exportService.exportVehicles(any())).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return 0L;
+        });
+
+        MvcResult running = mockMvc.perform(get("/api/v1/export/vehicles")).andReturn();
+        MvcResult queued = mockMvc.perform(get("/api/v1/export/vehicles")).andReturn();
+        MvcResult rejected = mockMvc.perform(get("/api/v1/export/vehicles")).andReturn();
+        Thread.sleep(500);
+        release.countDown();
+
+        assertThat((Throwable) WebAsyncUtils.getAsyncManager(rejected.getRequest()).getConcurrentResult())
+                .isInstanceOf(TaskRejectedException.class)
+                .hasMessage("The export execution lane is full, retry later");
+        mockMvc.perform(asyncDispatch(queued))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("$.message").value("The export execution lane timed out waiting, retry later"));
+        mockMvc.perform(asyncDispatch(running)).andExpect(status().isOk());
+
+        ExecutionLaneStats export = executionLanes.getStats().stream()
+                .filter(stats -> stats.getLane().equals(Lane.EXPORT.name()))
+                .findFirst()
+                .orElseThrow();
+        assertThat(export.getRejections()).isEqualTo(1);
+        assertThat(export.getExpirations()).isEqualTo(1);
+    }
+}
@@ -1,9 +1,14 @@
 package com.hitachi.smartpark.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hitachi.smartpark.dto.PageResponse;
 import com.hitachi.smartpark.dto.ParkingLotRequest;
+import com.hitachi.smartpark.dto.ParkingLotResponse;
 import com.hitachi.smartpark.dto.ParkingLotStatusResponse;
-import com.hitachi.smartpark.entity.ParkingLot;
+import com.hitachi.smartpark.dto.VehicleResponse;
+import com.hitachi.smartpark.entity.VehicleType;
+import com.hitachi.smartpark.security.JwtUtil;
+import com.hitachi.smartpark.service.OccupancyBroadcaster;
 import com.hitachi.smartpark.service.ParkingLotService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -15,12 +20,19 @@ import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.math.BigDecimal;
 import java.util.Arrays;
 import java.util.List;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -40,17 +52,18 @@ class ParkingLotControllerTest {
     @MockBean
     private ParkingLotService parkingLotService;
 
-    private ParkingLot testParkingLot;
+    @MockBean
+    private OccupancyBroadcaster occupancyBroadcaster;
+
+    @MockBean
+    private JwtUtil jwtUtil;
+
+    private ParkingLotResponse testParkingLot;
     private ParkingLotRequest testRequest;
 
     @BeforeEach
     void setUp() {
-        testParkingLot = new ParkingLot();
-        testParkingLot.setLotId("LOT-001");
-        testParkingLot.setLocation("Test Location");
-        testParkingLot.setCapacity(50);
-        testParkingLot.setOccupiedSpaces(0);
-        testParkingLot.setCostPerMinute(new BigDecimal("0.50"));
+        testParkingLot = new ParkingLotResponse("LOT-001", "Test Location", 50, 0, 50, new BigDecimal("0.50"), null);
 
         testRequest = new ParkingLotRequest();
         testRequest.setLotId("LOT-001");
@@ -65,7 +78,7 @@ class ParkingLotControllerTest {
     void shouldRegisterParkingLotSuccessfully() throws Exception {
         when(parkingLotService.registerParkingLot(any(ParkingLotRequest.class))).thenReturn(testParkingLot);
 
-        mockMvc.perform(post("/api/v1/parking-lots")
+        performAsync(post("/api/v1/parking-lots")
                         .with(csrf())
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(testRequest)))
@@ -81,7 +94,7 @@ class ParkingLotControllerTest {
     void shouldGetParkingLotByIdSuccessfully() throws Exception {
         when(parkingLotService.getParkingLot("LOT-001")).thenReturn(testParkingLot);
 
-        mockMvc.perform(get("/api/v1/parking-lots/LOT-001"))
+        performAsync(get("/api/v1/parking-lots/LOT-001"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.lotId").value("LOT-001"))
                 .andExpect(jsonPath("$.location").value("Test Location"));
@@ -92,25 +105,107 @@ class ParkingLotControllerTest {
     @DisplayName("Should get parking lot status successfully")
     void shouldGetParkingLotStatusSuccessfully() throws Exception {
         ParkingLotStatusResponse status = new ParkingLotStatusResponse("LOT-001", "Test Location", 50, 10, 40);
+        when(parkingLotService.getStatusTag(List.of("LOT-001"))).thenReturn("\"a-1-7\"");
         when(parkingLotService.getParkingLotStatus("LOT-001")).thenReturn(status);
 
         mockMvc.perform(get("/api/v1/parking-lots/LOT-001/status"))
                 .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"a-1-7\""))
                 .andExpect(jsonPath("$.lotId").value("LOT-001"))
                 .andExpect(jsonPath("$.occupiedSpaces").value(10))
                 .andExpect(jsonPath("$.availableSpaces").value(40));
     }
 
+    @Test
+    @WithMockUser
+    @DisplayName("Should answer 304 for an unchanged lot status without loading it")
+    void shouldAnswerNotModifiedForUnchangedLotStatus() throws Exception {
+        when(parkingLotService.getStatusTag(List.of("LOT-001"))).thenReturn("\"a-1-7\"");
+
+        mockMvc.perform(get("/api/v1/parking-lots/LOT-001/status")
+                        .header("If-None-Match", "\"a-1-7\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        verify(parkingLotService, never()).getParkingLotStatus(any());
+    }
+
+    @Test
+    @WithMockUser
+    @DisplayName("Should return the status of the requested lots with an ETag")
+    void shouldReturnStatusOfRequestedLotsWithETag() throws Exception {
+        List<String> lotIds = List.of("LOT-001", "LOT-002");
+        when(parkingLotService.getStatusTag(lotIds)).thenReturn("\"a-2-9\"");
+        when(parkingLotService.getParkingLotStatuses(lotIds)).thenReturn(List.of(
+                new ParkingLotStatusResponse("LOT-001", "Test Location", 50, 10, 40),
+                new ParkingLotStatusResponse("LOT-002", "Other Location", 20, 20, 0)));
+
+        mockMvc.perform(get("/api/v1/parking-lots/status").param("lotIds", "LOT-001,LOT-002")
+                        .header("If-None-Match", "\"a-2-8\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"a-2-9\""))
+                .andExpect(jsonPath("$[1].lotId").value("LOT-002"))
+                .andExpect(jsonPath("$[1].availableSpaces").value(0));
+    }
+
+    @Test
+    @WithMockUser
+    @DisplayName("Should answer 304 for unchanged statuses of all lots")
+    void shouldAnswerNotModifiedForUnchangedStatusesOfAllLots() throws Exception {
+        when(parkingLotService.getStatusTag(null)).thenReturn("\"a-3-12\"");
+
+        mockMvc.perform(get("/api/v1/parking-lots/status").header("If-None-Match", "\"a-3-12\""))
+                .andExpect(status().isNotModified());
+
+        verify(parkingLotService, never()).getParkingLotStatuses(any());
+    }
+
+    @Test
+    @WithMockUser
+    @DisplayName("Should open an occupancy event stream for a single lot")
+    void shouldOpenOccupancyEventStreamForSingleLot() throws Exception {
+        SseEmitter emitter = new SseEmitter();
+        when(occupancyBroadcaster.subscribe("LOT-001")).thenReturn(emitter);
+
+        MvcResult result = mockMvc.perform(get("/api/v1/parking-lots/status/stream").param("lotId", "LOT-001")
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        emitter.send(SseEmitter.event().name("status").data("{\"lotId\":\"LOT-001\"}"));
+        emitter.complete();
+
+        assertThat(result.getResponse().getContentType()).startsWith(MediaType.TEXT_EVENT_STREAM_VALUE);
+        assertThat(result.getResponse().getContentAsString()).contains("event:status", "data:{\"lotId\":\"LOT-001\"}");
+    }
+
     @Test
     @WithMockUser
     @DisplayName("Should get all parking lots successfully")
     void shouldGetAllParkingLotsSuccessfully() throws Exception {
-        List<ParkingLot> lots = Arrays.asList(testParkingLot);
-        when(parkingLotService.getAllParkingLots()).thenReturn(lots);
+        List<ParkingLotResponse> lots = Arrays.asList(testParkingLot);
+        when(parkingLotService.getParkingLots(null, 100)).thenReturn(new PageResponse<>(lots, "LOT-001"));
 
-        mockMvc.perform(get("/api/v1/parking-lots"))
+        performAsync(get("/api/v1/parking-lots"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$[0].lotId").value("LOT-001"));
+                .andExpect(jsonPath("$.items[0].lotId").value("LOT-001"))
+                .andExpect(jsonPath("$.nextCursor").value("LOT-001"));
+    }
+
+    @Test
+    @WithMockUser
+    @DisplayName("Should pass the cursor, page size and type filter for vehicles in a lot")
+    void shouldPassCursorPageSizeAndTypeForVehiclesInLot() throws Exception {
+        VehicleResponse vehicle = new VehicleResponse("ABC-124", VehicleType.CAR, "Jane Doe", "LOT-001", null);
+        when(parkingLotService.getVehiclesInLot("LOT-001", "ABC-123", 10, VehicleType.CAR))
+                .thenReturn(new PageResponse<>(List.of(vehicle), null));
+
+        performAsync(get("/api/v1/parking-lots/LOT-001/vehicles")
+                        .param("cursor", "ABC-123")
+                        .param("limit", "10")
+                        .param("type", "CAR"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].licensePlate").value("ABC-124"))
+                .andExpect(jsonPath("$.nextCursor").isEmpty());
     }
 
     @Test
@@ -138,5 +233,11 @@ class ParkingLotControllerTest {
                         .content(objectMapper.writeValueAsString(testRequest)))
                 .andExpect(status().isBadRequest());
     }
-}
 
+    private ResultActions performAsync(RequestBuilder builder) throws Exception {
+        MvcResult result = mockMvc.perform(builder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(result));
+    }
+}
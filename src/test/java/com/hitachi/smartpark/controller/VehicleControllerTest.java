@@ -3,9 +3,21 @@ package com.hitachi.smartpark.controller;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.hitachi.smartpark.dto.CheckInRequest;
 import com.hitachi.smartpark.dto.CheckOutResponse;
+import com.hitachi.smartpark.dto.GateEventReceipt;
+import com.hitachi.smartpark.dto.GateEventRequest;
+import com.hitachi.smartpark.dto.GateEventState;
+import com.hitachi.smartpark.dto.GateEventType;
+import com.hitachi.smartpark.dto.PageResponse;
+import com.hitachi.smartpark.dto.ParkingSessionResponse;
+import com.hitachi.smartpark.exception.ServiceOverloadedException;
+import com.hitachi.smartpark.dto.VehicleImportSummary;
 import com.hitachi.smartpark.dto.VehicleRequest;
-import com.hitachi.smartpark.entity.Vehicle;
+import com.hitachi.smartpark.dto.VehicleResponse;
+import com.hitachi.smartpark.entity.SessionEndReason;
 import com.hitachi.smartpark.entity.VehicleType;
+import com.hitachi.smartpark.security.JwtUtil;
+import com.hitachi.smartpark.service.GateEventPipeline;
+import com.hitachi.smartpark.service.VehicleImportService;
 import com.hitachi.smartpark.service.VehicleService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -17,12 +29,18 @@ import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.List;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -42,15 +60,21 @@ class VehicleControllerTest {
     @MockBean
     private VehicleService vehicleService;
 
-    private Vehicle testVehicle;
+    @MockBean
+    private GateEventPipeline gateEventPipeline;
+
+    @MockBean
+    private VehicleImportService vehicleImportService;
+
+    @MockBean
+    private JwtUtil jwtUtil;
+
+    private VehicleResponse testVehicle;
     private VehicleRequest vehicleRequest;
 
     @BeforeEach
     void setUp() {
-        testVehicle = new Vehicle();
-        testVehicle.setLicensePlate("ABC-123");
-        testVehicle.setType(VehicleType.CAR);
-        testVehicle.setOwnerName("John Doe");
+        testVehicle = new VehicleResponse("ABC-123", VehicleType.CAR, "John Doe", null, null);
 
         vehicleRequest = new VehicleRequest();
         vehicleRequest.setLicensePlate("ABC-123");
@@ -64,7 +88,7 @@ class VehicleControllerTest {
     void shouldRegisterVehicleSuccessfully() throws Exception {
         when(vehicleService.registerVehicle(any(VehicleRequest.class))).thenReturn(testVehicle);
 
-        mockMvc.perform(post("/api/v1/vehicles")
+        performAsync(post("/api/v1/vehicles")
                         .with(csrf())
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(vehicleRequest)))
@@ -81,7 +105,7 @@ class VehicleControllerTest {
         CheckInRequest request = new CheckInRequest("ABC-123", "LOT-001");
         when(vehicleService.checkIn(any(CheckInRequest.class))).thenReturn(testVehicle);
 
-        mockMvc.perform(post("/api/v1/vehicles/check-in")
+        performAsync(post("/api/v1/vehicles/check-in")
                         .with(csrf())
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(request)))
@@ -101,7 +125,7 @@ class VehicleControllerTest {
         );
         when(vehicleService.checkOut("ABC-123")).thenReturn(response);
 
-        mockMvc.perform(post("/api/v1/vehicles/ABC-123/check-out")
+        performAsync(post("/api/v1/vehicles/ABC-123/check-out")
                         .with(csrf()))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.licensePlate").value("ABC-123"))
@@ -115,20 +139,58 @@ class VehicleControllerTest {
     void shouldGetVehicleByLicensePlateSuccessfully() throws Exception {
         when(vehicleService.getVehicle("ABC-123")).thenReturn(testVehicle);
 
-        mockMvc.perform(get("/api/v1/vehicles/ABC-123"))
+        performAsync(get("/api/v1/vehicles/ABC-123"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.licensePlate").value("ABC-123"));
     }
 
+    @Test
+    @WithMockUser
+    @DisplayName("Should get completed session history for a vehicle")
+    void shouldGetSessionHistoryForVehicle() throws Exception {
+        ParkingSessionResponse session = new ParkingSessionResponse(1L, "ABC-123", "LOT-001", VehicleType.CAR,
+                LocalDateTime.now().minusHours(1), LocalDateTime.now(), SessionEndReason.CHECKED_OUT,
+                new BigDecimal("30.00"));
+        when(vehicleService.getSessionHistory("ABC-123", "2024-01-01T10:00_9", 20))
+                .thenReturn(new PageResponse<>(List.of(session), null));
+
+        performAsync(get("/api/v1/vehicles/ABC-123/sessions")
+                .param("cursor", "2024-01-01T10:00_9")
+                .param("limit", "20"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].lotId").value("LOT-001"))
+                .andExpect(jsonPath("$.items[0].endReason").value("CHECKED_OUT"))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
     @Test
     @WithMockUser
     @DisplayName("Should get all vehicles successfully")
     void shouldGetAllVehiclesSuccessfully() throws Exception {
-        when(vehicleService.getAllVehicles()).thenReturn(Arrays.asList(testVehicle));
+        when(vehicleService.getVehicles(null, 100, null, null, null))
+                .thenReturn(new PageResponse<>(Arrays.asList(testVehicle), null));
 
-        mockMvc.perform(get("/api/v1/vehicles"))
+        performAsync(get("/api/v1/vehicles"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$[0].licensePlate").value("ABC-123"));
+                .andExpect(jsonPath("$.items[0].licensePlate").value("ABC-123"));
+    }
+
+    @Test
+    @WithMockUser
+    @DisplayName("Should pass the cursor and filters through to the vehicle listing")
+    void shouldPassCursorAndFiltersToVehicleListing() throws Exception {
+        when(vehicleService.getVehicles("ABC-100", 50, VehicleType.TRUCK, true, "LOT-001"))
+                .thenReturn(new PageResponse<>(List.of(testVehicle), "ABC-123"));
+
+        performAsync(get("/api/v1/vehicles")
+                        .param("cursor", "ABC-100")
+                        .param("limit", "50")
+                        .param("type", "TRUCK")
+                        .param("parked", "true")
+                        .param("lotId", "LOT-001"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].licensePlate").value("ABC-123"))
+                .andExpect(jsonPath("$.nextCursor").value("ABC-123"));
     }
 
     @Test
@@ -156,5 +218,79 @@ class VehicleControllerTest {
                         .content(objectMapper.writeValueAsString(vehicleRequest)))
                 .andExpect(status().isBadRequest());
     }
-}
 
+    @Test
+    @WithMockUser
+    @DisplayName("Should accept gate event asynchronously")
+    void shouldAcceptGateEventAsynchronously() throws Exception {
+        GateEventRequest event = new GateEventRequest(GateEventType.CHECK_IN, "ABC-123", "LOT-001");
+        when(gateEventPipeline.submit(any(GateEventRequest.class)))
+                .thenReturn(new GateEventReceipt(7L, GateEventState.PENDING, null));
+
+        mockMvc.perform(post("/api/v1/vehicles/gate-events")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(event)))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "/api/v1/vehicles/gate-events/7"))
+                .andExpect(jsonPath("$.eventId").value(7))
+                .andExpect(jsonPath("$.state").value("PENDING"));
+    }
+
+    @Test
+    @WithMockUser
+    @DisplayName("Should return 503 with Retry-After when the gate event buffer is full")
+    void shouldReturn503WhenGateEventBufferIsFull() throws Exception {
+        GateEventRequest event = new GateEventRequest(GateEventType.CHECK_OUT, "ABC-123", null);
+        when(gateEventPipeline.submit(any(GateEventRequest.class)))
+                .thenThrow(new ServiceOverloadedException("Gate event buffer is full, retry later", 1));
+
+        mockMvc.perform(post("/api/v1/vehicles/gate-events")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(event)))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"));
+    }
+
+    @Test
+    @WithMockUser
+    @DisplayName("Should import vehicles from a CSV body")
+    void shouldImportVehiclesFromCsvBody() throws Exception {
+        when(vehicleImportService.importVehicles(any(), eq(VehicleImportService.Format.CSV)))
+                .thenReturn(new VehicleImportSummary(2, 2, 0, 0, 5, 400, false, List.of()));
+
+        performAsync(post("/api/v1/vehicles/import")
+                        .with(csrf())
+                        .contentType("text/csv")
+                        .content("licensePlate,type,ownerName\nABC-123,CAR,John\nXYZ-789,TRUCK,Jane\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalRows").value(2))
+                .andExpect(jsonPath("$.imported").value(2));
+    }
+
+    @Test
+    @WithMockUser
+    @DisplayName("Should keep gate requests on the short async request timeout")
+    void shouldKeepGateRequestsOnShortAsyncTimeout() throws Exception {
+        CheckInRequest request = new CheckInRequest("ABC-123", "LOT-001");
+        when(vehicleService.checkIn(any(CheckInRequest.class))).thenReturn(testVehicle);
+
+        MvcResult result = mockMvc.perform(post("/api/v1/vehicles/check-in")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        assertThat(result.getRequest().getAsyncContext().getTimeout()).isEqualTo(30_000L);
+        mockMvc.perform(asyncDispatch(result)).andExpect(status().isOk());
+    }
+
+    private ResultActions performAsync(RequestBuilder builder) throws Exception {
+        MvcResult result = mockMvc.perform(builder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(result));
+    }
+}
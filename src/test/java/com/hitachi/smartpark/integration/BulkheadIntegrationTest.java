@@ -0,0 +1,101 @@
+package com.hitachi.smartpark.integration;
+
+import com.hitachi.smartpark.config.ExecutionLanes;
+import com.hitachi.smartpark.config.ExecutionLanes.Lane;
+import com.hitachi.smartpark.dto.CheckInRequest;
+import com.hitachi.smartpark.dto.ParkingLotRequest;
+import com.hitachi.smartpark.dto.VehicleRequest;
+import com.hitachi.smartpark.dto.VehicleResponse;
+import com.hitachi.smartpark.entity.VehicleType;
+import com.hitachi.smartpark.service.ParkingLotService;
+import com.hitachi.smartpark.service.VehicleService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = {
+        "app.lanes.bulk.threads=3",
+        "app.lanes.bulk.pool-size=2",
+        "app.lanes.bulk.connection-timeout-ms=500"
+})
+@DisplayName("Bulkhead Integration Tests")
+class BulkheadIntegrationTest {
+
+    @Autowired
+    private ExecutionLanes executionLanes;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private ParkingLotService parkingLotService;
+
+    @Autowired
+    private VehicleService vehicleService;
+
+    @Test
+    @DisplayName("Should check in through the gate lane while bulk work holds every bulk connection")
+    void shouldCheckInWhileBulkWorkHoldsEveryBulkConnection() throws Exception {
+        parkingLotService.registerParkingLot(
+                new ParkingLotRequest("BULKHEAD-LOT", "Bulkhead Test Lot", 10, new BigDecimal("1.00"), null));
+        vehicleService.registerVehicle(new VehicleRequest("BULKHEAD-1", VehicleType.CAR, "Bulkhead Owner"));
+
+        CountDownLatch holding = new CountDownLatch(2);
+        CountDownLatch release = new CountDownLatch(1);
+        List<CompletableFuture<Boolean>> holders = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            holders.add(executionLanes.submit(Lane.BULK, () -> holdConnection(holding, release)));
+        }
+        try {
+            assertThat(holding.await(5, TimeUnit.SECONDS)).isTrue();
+
+            CompletableFuture<Object> starvedListing = executionLanes.submit(Lane.BULK,
+                    () -> parkingLotService.getParkingLots(null, 10));
+            long startedAt = System.nanoTime();
+            VehicleResponse checkedIn = executionLanes.submit(Lane.GATE,
+                    () -> vehicleService.checkIn(new CheckInRequest("BULKHEAD-1", "BULKHEAD-LOT")))
+                    .get(5, TimeUnit.SECONDS);
+            long checkInMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+
+            assertThat(checkedIn.getLotId()).isEqualTo("BULKHEAD-LOT");
+            assertThat(checkInMillis).isLessThan(500);
+            assertThatThrownBy(() -> starvedListing.get(5, TimeUnit.SECONDS))
+                    .isInstanceOf(ExecutionException.class)
+                    .hasCauseInstanceOf(DataAccessResourceFailureException.class)
+                    .hasMessageContaining("smartpark-bulk");
+        } finally {
+            release.countDown();
+        }
+        for (CompletableFuture<Boolean> holder : holders) {
+            assertThat(holder.get(5, TimeUnit.SECONDS)).isTrue();
+        }
+    }
+
+    private boolean holdConnection(CountDownLatch holding, CountDownLatch release) {
+        try (Connection connection = dataSource.getConnection()) {
+            holding.countDown();
+            return connection.isValid(1) && release.await(10, TimeUnit.SECONDS);
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
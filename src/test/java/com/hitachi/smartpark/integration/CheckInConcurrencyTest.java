@@ -0,0 +1,232 @@
+package com.hitachi.smartpark.integration;
+
+import com.hitachi.smartpark.dto.CheckInRequest;
+import com.hitachi.smartpark.entity.ParkingLot;
+import com.hitachi.smartpark.entity.ParkingSession;
+import com.hitachi.smartpark.entity.Vehicle;
+import com.hitachi.smartpark.entity.VehicleType;
+import com.hitachi.smartpark.exception.BusinessException;
+import com.hitachi.smartpark.repository.ParkedSession;
+import com.hitachi.smartpark.repository.ParkingLotRepository;
+import com.hitachi.smartpark.repository.ParkingSessionRepository;
+import com.hitachi.smartpark.repository.VehicleRepository;
+import com.hitachi.smartpark.service.OccupancyEngine;
+import com.hitachi.smartpark.service.VehicleService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@DisplayName("Check-in Concurrency Tests")
+class CheckInConcurrencyTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(CheckInConcurrencyTest.class);
+
+    private static final int CAPACITY = 50;
+    private static final int VEHICLES = 200;
+    private static final int PERF_CAPACITY = 500;
+    private static final int PERF_VEHICLES = 2000;
+    private static final int THREADS = 32;
+
+    @Autowired
+    private VehicleService vehicleService;
+
+    @Autowired
+    private VehicleRepository vehicleRepository;
+
+    @Autowired
+    private ParkingLotRepository parkingLotRepository;
+
+    @Autowired
+    private ParkingSessionRepository parkingSessionRepository;
+
+    @Autowired
+    private OccupancyEngine occupancyEngine;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    @DisplayName("Should never oversell a lot under parallel check-ins")
+    void shouldNeverOversellLotUnderParallelCheckIns() throws Exception {
+        registerLot("CONC-LOT", CAPACITY);
+        registerVehicles("CONC-", VEHICLES);
+
+        AtomicInteger admitted = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        checkInAll("CONC-", VEHICLES, "CONC-LOT", admitted, rejected);
+
+        assertThat(admitted.get()).isEqualTo(CAPACITY);
+        assertThat(rejected.get()).isEqualTo(VEHICLES - CAPACITY);
+        assertThat(occupancyEngine.getOccupiedSpaces("CONC-LOT")).isEqualTo(CAPACITY);
+        occupancyEngine.flush();
+        assertThat(parkingLotRepository.findById("CONC-LOT").orElseThrow().getOccupiedSpaces()).isEqualTo(CAPACITY);
+        assertThat(parkingSessionRepository.countByLotId("CONC-LOT")).isEqualTo(CAPACITY);
+
+        List<String> parked = parkedIn("CONC-LOT");
+        runInParallel(parked.size(), i -> vehicleService.checkOut(parked.get(i)));
+        occupancyEngine.flush();
+
+        assertThat(parkingLotRepository.findById("CONC-LOT").orElseThrow().getOccupiedSpaces()).isZero();
+        assertThat(parkingSessionRepository.countByLotId("CONC-LOT")).isZero();
+    }
+
+    @Test
+    @Tag("perf")
+    @DisplayName("Should out-run a locked read-modify-write check-in under thousands of parallel requests")
+    void shouldOutrunLockedReadModifyWriteCheckIn() throws Exception {
+        registerLot("CONC-PERF", PERF_CAPACITY);
+        registerVehicles("CONC-PERF-", PERF_VEHICLES);
+
+        AtomicInteger admitted = new AtomicInteger();
+        long checkInNanos = checkInAll("CONC-PERF-", PERF_VEHICLES, "CONC-PERF", admitted, new AtomicInteger());
+        assertThat(admitted.get()).isEqualTo(PERF_CAPACITY);
+
+        List<String> parked = parkedIn("CONC-PERF");
+        long checkOutNanos = runInParallel(parked.size(), i -> vehicleService.checkOut(parked.get(i)));
+        occupancyEngine.flush();
+
+        long baselineNanos = checkInThroughLockedReadModifyWrite();
+
+        logger.info("Check-in throughput: {} ops/s, locked read-modify-write baseline {} ops/s " +
+                        "({} requests, {} threads)", PERF_VEHICLES * 1_000_000_000L / checkInNanos,
+                PERF_VEHICLES * 1_000_000_000L / baselineNanos, PERF_VEHICLES, THREADS);
+        logger.info("Check-out throughput: {} ops/s ({} requests, {} threads)",
+                parked.size() * 1_000_000_000L / checkOutNanos, parked.size(), THREADS);
+        assertThat(checkInNanos).isLessThan(baselineNanos);
+    }
+
+    private void registerLot(String lotId, int capacity) {
+        ParkingLot lot = new ParkingLot();
+        lot.setLotId(lotId);
+        lot.setLocation("Concurrency Test Lot");
+        lot.setCapacity(capacity);
+        lot.setOccupiedSpaces(0);
+        lot.setCostPerMinute(new BigDecimal("1.00"));
+        parkingLotRepository.save(lot);
+        occupancyEngine.register(lot);
+    }
+
+    private void registerVehicles(String platePrefix, int count) {
+        List<Vehicle> vehicles = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Vehicle vehicle = new Vehicle();
+            vehicle.setLicensePlate(platePrefix + i);
+            vehicle.setType(VehicleType.CAR);
+            vehicle.setOwnerName("Concurrency Tester");
+            vehicles.add(vehicle);
+        }
+        vehicleRepository.saveAll(vehicles);
+    }
+
+    private long checkInAll(String platePrefix, int count, String lotId, AtomicInteger admitted,
+                            AtomicInteger rejected) throws Exception {
+        return runInParallel(count, i -> {
+            try {
+                vehicleService.checkIn(new CheckInRequest(platePrefix + i, lotId));
+                admitted.incrementAndGet();
+            } catch (BusinessException e) {
+                rejected.incrementAndGet();
+            }
+        });
+    }
+
+    private List<String> parkedIn(String lotId) {
+        return parkingSessionRepository.findParkedSessions().stream()
+                .filter(session -> session.getLotId().equals(lotId))
+                .map(ParkedSession::getLicensePlate)
+                .toList();
+    }
+
+    private long checkInThroughLockedReadModifyWrite() throws Exception {
+        ParkingLot lot = new ParkingLot();
+        lot.setLotId("CONC-BASELINE");
+        lot.setLocation("Concurrency Baseline Lot");
+        lot.setCapacity(PERF_CAPACITY);
+        lot.setOccupiedSpaces(0);
+        lot.setCostPerMinute(new BigDecimal("1.00"));
+        parkingLotRepository.save(lot);
+
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        Object lotLock = new Object();
+        AtomicInteger admitted = new AtomicInteger();
+        try {
+            long nanos = runInParallel(PERF_VEHICLES, i -> {
+                synchronized (lotLock) {
+                    transaction.executeWithoutResult(status -> {
+                        Vehicle vehicle = vehicleRepository.findById("CONC-PERF-" + i).orElseThrow();
+                        if (parkingSessionRepository.existsById(vehicle.getLicensePlate())) {
+                            return;
+                        }
+                        ParkingLot current = parkingLotRepository.findById("CONC-BASELINE").orElseThrow();
+                        if (current.getOccupiedSpaces() >= current.getCapacity()) {
+                            return;
+                        }
+                        current.setOccupiedSpaces(current.getOccupiedSpaces() + 1);
+                        parkingLotRepository.save(current);
+                        parkingSessionRepository.save(new ParkingSession(vehicle.getLicensePlate(), "CONC-BASELINE",
+                                vehicle.getType(), LocalDateTime.now()));
+                        admitted.incrementAndGet();
+                    });
+                }
+            });
+            assertThat(admitted.get()).isEqualTo(PERF_CAPACITY);
+            return nanos;
+        } finally {
+            transaction.executeWithoutResult(status -> {
+                parkingSessionRepository.deleteAll(parkingSessionRepository.findAll().stream()
+                        .filter(session -> session.getLotId().equals("CONC-BASELINE"))
+                        .toList());
+                parkingLotRepository.deleteById("CONC-BASELINE");
+            });
+        }
+    }
+
+    private long runInParallel(int count, IndexedTask task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>(count);
+        try {
+            for (int i = 0; i < count; i++) {
+                int index = i;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    task.run(index);
+                    return null;
+                }));
+            }
+            long startedAt = System.nanoTime();
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+            return System.nanoTime() - startedAt;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @FunctionalInterface
+    private interface IndexedTask {
+        void run(int index) throws Exception;
+    }
+}
@@ -0,0 +1,143 @@
+package com.hitachi.smartpark.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hitachi.smartpark.dto.VehicleRequest;
+import com.hitachi.smartpark.entity.CompletedParkingSession;
+import com.hitachi.smartpark.entity.SessionEndReason;
+import com.hitachi.smartpark.entity.VehicleType;
+import com.hitachi.smartpark.repository.CompletedParkingSessionRepository;
+import com.hitachi.smartpark.repository.VehicleJdbcRepository;
+import com.hitachi.smartpark.service.ExportService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@DisplayName("Export Integration Tests")
+class ExportIntegrationTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExportIntegrationTest.class);
+
+    private static final int VEHICLES = 100_000;
+    private static final int CHUNK = 10_000;
+
+    @Autowired
+    private ExportService exportService;
+
+    @Autowired
+    private VehicleJdbcRepository vehicleJdbcRepository;
+
+    @Autowired
+    private CompletedParkingSessionRepository completedParkingSessionRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM vehicles WHERE license_plate LIKE 'EXP-%'");
+        jdbcTemplate.update("DELETE FROM parking_session_history WHERE license_plate LIKE 'EXP-%'");
+    }
+
+    @Test
+    @DisplayName("Should export completed sessions as one JSON object per line")
+    void shouldExportCompletedSessionsAsNdjson() throws Exception {
+        LocalDateTime checkOutTime = LocalDateTime.of(2024, 1, 1, 10, 0);
+        completedParkingSessionRepository.save(new CompletedParkingSession(null, "EXP-SESSION", "LOT-001",
+                VehicleType.CAR, checkOutTime.minusMinutes(30), checkOutTime,
+                SessionEndReason.CHECKED_OUT, new BigDecimal("15.00")));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long rows = exportService.exportSessions(out);
+
+        List<JsonNode> lines = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new StringReader(out.toString(StandardCharsets.UTF_8)))) {
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                lines.add(objectMapper.readTree(line));
+            }
+        }
+        assertThat(lines).hasSize((int) rows);
+        JsonNode exported = lines.stream()
+                .filter(line -> line.get("licensePlate").asText().equals("EXP-SESSION"))
+                .findFirst()
+                .orElseThrow();
+        assertThat(exported.get("endReason").asText()).isEqualTo("CHECKED_OUT");
+        assertThat(exported.get("checkInTime").asText()).isEqualTo("2024-01-01T09:30:00");
+        assertThat(exported.get("checkOutTime").asText()).isEqualTo("2024-01-01T10:00:00");
+        assertThat(exported.get("parkingCost").decimalValue()).isEqualByComparingTo("15.00");
+        assertThat(exported.fieldNames()).toIterable().containsExactly("id", "licensePlate", "lotId", "vehicleType",
+                "checkInTime", "checkOutTime", "endReason", "parkingCost");
+    }
+
+    @Test
+    @DisplayName("Should stream the full registry with flat heap use")
+    void shouldStreamFullRegistryWithFlatHeap() throws Exception {
+        for (int start = 0; start < VEHICLES; start += CHUNK) {
+            List<VehicleRequest> chunk = new ArrayList<>(CHUNK);
+            for (int i = start; i < start + CHUNK; i++) {
+                chunk.add(new VehicleRequest(String.format("EXP-%06d", i), VehicleType.CAR, "Export Owner"));
+            }
+            vehicleJdbcRepository.insertVehicles(chunk);
+        }
+
+        exportService.exportVehicles(new CountingOutputStream());
+
+        CountingOutputStream out = new CountingOutputStream();
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        long heapBefore = runtime.totalMemory() - runtime.freeMemory();
+        long startedAt = System.nanoTime();
+        long rows = exportService.exportVehicles(out);
+        long elapsedNanos = System.nanoTime() - startedAt;
+        long heapAfter = runtime.totalMemory() - runtime.freeMemory();
+
+        logger.info("Vehicle export: {} rows, {} bytes, {} rows/s, heap delta {} KB",
+                rows, out.bytes, rows * 1_000_000_000L / elapsedNanos, (heapAfter - heapBefore) / 1024);
+        assertThat(rows).isGreaterThanOrEqualTo(VEHICLES);
+        assertThat(out.lines).isEqualTo(rows);
+    }
+
+    private static class CountingOutputStream extends OutputStream {
+        private long bytes;
+        private long lines;
+
+        @Override
+        public void write(int b) {
+            bytes++;
+            if (b == '\n') {
+                lines++;
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            bytes += len;
+            for (int i = off; i < off + len; i++) {
+                if (b[i] == '\n') {
+                    lines++;
+                }
+            }
+        }
+    }
+}
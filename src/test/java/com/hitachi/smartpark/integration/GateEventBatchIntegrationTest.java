@@ -0,0 +1,214 @@
+package com.hitachi.smartpark.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hitachi.smartpark.dto.*;
+import com.hitachi.smartpark.entity.VehicleType;
+import com.hitachi.smartpark.service.ParkingLotService;
+import com.hitachi.smartpark.service.VehicleService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@DisplayName("Gate Event Batch Integration Tests")
+class GateEventBatchIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private VehicleService vehicleService;
+
+    @Autowired
+    private ParkingLotService parkingLotService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    @DisplayName("Should apply an ordered batch of check-ins and check-outs")
+    void shouldApplyOrderedBatchOfCheckInsAndCheckOuts() throws Exception {
+        String token = login();
+
+        ParkingLotRequest lotRequest = new ParkingLotRequest("BATCH-LOT", "Batch Test Location", 2, new BigDecimal("1.00"), null);
+        performAsync(post("/api/v1/parking-lots")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(lotRequest)))
+                .andExpect(status().isCreated());
+
+        for (String plate : List.of("BATCH-1", "BATCH-2", "BATCH-3")) {
+            performAsync(post("/api/v1/vehicles")
+                            .header("Authorization", "Bearer " + token)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(new VehicleRequest(plate, VehicleType.CAR, "Batch Tester"))))
+                    .andExpect(status().isCreated());
+        }
+
+        List<GateEventRequest> events = List.of(
+                new GateEventRequest(GateEventType.CHECK_IN, "BATCH-1", "BATCH-LOT"),
+                new GateEventRequest(GateEventType.CHECK_IN, "BATCH-2", "BATCH-LOT"),
+                new GateEventRequest(GateEventType.CHECK_IN, "BATCH-3", "BATCH-LOT"),
+                new GateEventRequest(GateEventType.CHECK_IN, "BATCH-1", "BATCH-LOT"),
+                new GateEventRequest(GateEventType.CHECK_OUT, "BATCH-2", null),
+                new GateEventRequest(GateEventType.CHECK_IN, "BATCH-3", "BATCH-LOT"),
+                new GateEventRequest(GateEventType.CHECK_IN, "GHOST-1", "BATCH-LOT"),
+                new GateEventRequest(GateEventType.CHECK_IN, "BATCH-2", "NO-SUCH-LOT"),
+                new GateEventRequest(GateEventType.CHECK_OUT, "BATCH-2", null));
+
+        performAsync(post("/api/v1/vehicles/batch")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(events)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(9))
+                .andExpect(jsonPath("$.succeeded").value(4))
+                .andExpect(jsonPath("$.results[0].status").value("SUCCESS"))
+                .andExpect(jsonPath("$.results[1].status").value("SUCCESS"))
+                .andExpect(jsonPath("$.results[2].status").value("LOT_FULL"))
+                .andExpect(jsonPath("$.results[3].status").value("ALREADY_PARKED"))
+                .andExpect(jsonPath("$.results[4].status").value("SUCCESS"))
+                .andExpect(jsonPath("$.results[4].lotId").value("BATCH-LOT"))
+                .andExpect(jsonPath("$.results[5].status").value("SUCCESS"))
+                .andExpect(jsonPath("$.results[6].status").value("NOT_FOUND"))
+                .andExpect(jsonPath("$.results[7].status").value("NOT_FOUND"))
+                .andExpect(jsonPath("$.results[8].status").value("NOT_PARKED"));
+
+        mockMvc.perform(get("/api/v1/parking-lots/BATCH-LOT/status")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.occupiedSpaces").value(2));
+
+        performAsync(get("/api/v1/parking-lots/BATCH-LOT/vehicles")
+                        .param("limit", "1")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.nextCursor").isNotEmpty());
+
+        performAsync(post("/api/v1/vehicles/BATCH-3/check-out")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.lotId").value("BATCH-LOT"));
+    }
+
+    @Test
+    @DisplayName("Should accept gate events asynchronously and expose their outcome")
+    void shouldAcceptGateEventsAsynchronouslyAndExposeOutcome() throws Exception {
+        String token = login();
+
+        ParkingLotRequest lotRequest = new ParkingLotRequest("ASYNC-LOT", "Async Test Location", 5, new BigDecimal("1.00"), null);
+        performAsync(post("/api/v1/parking-lots")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(lotRequest)))
+                .andExpect(status().isCreated());
+        performAsync(post("/api/v1/vehicles")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new VehicleRequest("ASYNC-1", VehicleType.CAR, "Async Tester"))))
+                .andExpect(status().isCreated());
+
+        MvcResult accepted = mockMvc.perform(post("/api/v1/vehicles/gate-events")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new GateEventRequest(GateEventType.CHECK_IN, "ASYNC-1", "ASYNC-LOT"))))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.state").value("PENDING"))
+                .andReturn();
+        String location = accepted.getResponse().getHeader("Location");
+
+        GateEventReceipt receipt;
+        long deadline = System.currentTimeMillis() + 5000;
+        do {
+            Thread.sleep(10);
+            String body = mockMvc.perform(get(location).header("Authorization", "Bearer " + token))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            receipt = objectMapper.readValue(body, GateEventReceipt.class);
+        } while (receipt.getState() != GateEventState.COMPLETED && System.currentTimeMillis() < deadline);
+
+        assertThat(receipt.getResult().getStatus()).isEqualTo(GateEventStatus.SUCCESS);
+        mockMvc.perform(get("/api/v1/parking-lots/ASYNC-LOT/status")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(jsonPath("$.occupiedSpaces").value(1));
+    }
+
+    @Test
+    @DisplayName("Should fail only the conflicting event when a vehicle is checked in concurrently")
+    void shouldFailOnlyConflictingEventWhenVehicleIsCheckedInConcurrently() throws Exception {
+        parkingLotService.registerParkingLot(
+                new ParkingLotRequest("RACE-LOT", "Race Test Location", 5, new BigDecimal("1.00"), null));
+        vehicleService.registerVehicle(new VehicleRequest("RACE-1", VehicleType.CAR, "Race Tester"));
+        vehicleService.registerVehicle(new VehicleRequest("RACE-2", VehicleType.CAR, "Race Tester"));
+
+        CountDownLatch inserted = new CountDownLatch(1);
+        CompletableFuture<Void> concurrentCheckIn = CompletableFuture.runAsync(() ->
+                new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                    jdbcTemplate.update("INSERT INTO parking_sessions (license_plate, lot_id, vehicle_type, check_in_time) "
+                            + "VALUES (?, ?, ?, ?)", "RACE-1", "RACE-LOT", "CAR", LocalDateTime.now());
+                    inserted.countDown();
+                    try {
+                        Thread.sleep(500);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }));
+        assertThat(inserted.await(5, TimeUnit.SECONDS)).isTrue();
+
+        GateEventBatchResponse response = vehicleService.processGateEvents(List.of(
+                new GateEventRequest(GateEventType.CHECK_IN, "RACE-1", "RACE-LOT"),
+                new GateEventRequest(GateEventType.CHECK_IN, "RACE-2", "RACE-LOT")));
+        concurrentCheckIn.get(5, TimeUnit.SECONDS);
+
+        assertThat(response.getResults()).extracting(GateEventResult::getStatus)
+                .containsExactly(GateEventStatus.ALREADY_PARKED, GateEventStatus.SUCCESS);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM parking_sessions WHERE lot_id = 'RACE-LOT'", Integer.class)).isEqualTo(2);
+    }
+
+    private String login() throws Exception {
+        MvcResult loginResult = mockMvc.perform(post("/api/v1/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new AuthRequest("admin", "admin123"))))
+                .andExpect(status().isOk())
+                .andReturn();
+        return objectMapper.readValue(loginResult.getResponse().getContentAsString(), AuthResponse.class).getToken();
+    }
+
+    private ResultActions performAsync(RequestBuilder builder) throws Exception {
+        MvcResult result = mockMvc.perform(builder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(result));
+    }
+}
@@ -0,0 +1,165 @@
+package com.hitachi.smartpark.integration;
+
+import com.hitachi.smartpark.dto.GateEventRequest;
+import com.hitachi.smartpark.dto.GateEventType;
+import com.hitachi.smartpark.dto.ParkingLotRequest;
+import com.hitachi.smartpark.dto.VehicleRequest;
+import com.hitachi.smartpark.entity.VehicleType;
+import com.hitachi.smartpark.security.JwtUtil;
+import com.hitachi.smartpark.service.OccupancyBroadcaster;
+import com.hitachi.smartpark.service.ParkingLotService;
+import com.hitachi.smartpark.service.VehicleService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"app.occupancy.push.window-ms=250", "app.concurrency.enabled=false"})
+@DisplayName("Occupancy Stream Load Tests")
+@Tag("perf")
+class OccupancyStreamLoadTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(OccupancyStreamLoadTest.class);
+
+    private static final String LOT_ID = "PUSH-LOT";
+    private static final int SUBSCRIBERS = 2_000;
+    private static final int CONNECT_BATCH = 100;
+    private static final int BURST = 50;
+    private static final long WINDOW_MILLIS = 250;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ParkingLotService parkingLotService;
+
+    @Autowired
+    private VehicleService vehicleService;
+
+    @Autowired
+    private OccupancyBroadcaster occupancyBroadcaster;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Test
+    @DisplayName("Should push one coalesced update per burst to thousands of subscribers")
+    void shouldPushCoalescedUpdatesToThousandsOfSubscribers() throws Exception {
+        parkingLotService.registerParkingLot(
+                new ParkingLotRequest(LOT_ID, "Push Load Test Lot", BURST, new BigDecimal("1.00"), null));
+        for (int i = 0; i < BURST; i++) {
+            vehicleService.registerVehicle(new VehicleRequest("PUSH-" + i, VehicleType.CAR, "Push Owner"));
+        }
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        HttpRequest request = HttpRequest.newBuilder(
+                        URI.create("http://localhost:" + port + "/api/v1/parking-lots/status/stream?lotId=" + LOT_ID))
+                .header("Authorization", "Bearer " + jwtUtil.generateToken("admin"))
+                .header("Accept", "text/event-stream")
+                .build();
+
+        List<StatusStream> streams = new ArrayList<>(SUBSCRIBERS);
+        long connectStartedAt = System.nanoTime();
+        try {
+            while (streams.size() < SUBSCRIBERS) {
+                for (int i = 0; i < CONNECT_BATCH && streams.size() < SUBSCRIBERS; i++) {
+                    StatusStream stream = new StatusStream();
+                    client.sendAsync(request, HttpResponse.BodyHandlers.fromLineSubscriber(stream));
+                    streams.add(stream);
+                }
+                await(streams, stream -> stream.events.get() >= 1, 30);
+            }
+            long connectMillis = (System.nanoTime() - connectStartedAt) / 1_000_000;
+            assertThat(occupancyBroadcaster.getSubscriberCount()).isGreaterThanOrEqualTo(SUBSCRIBERS);
+
+            List<GateEventRequest> checkIns = new ArrayList<>(BURST);
+            for (int i = 0; i < BURST; i++) {
+                checkIns.add(new GateEventRequest(GateEventType.CHECK_IN, "PUSH-" + i, LOT_ID));
+            }
+            long burstStartedAt = System.nanoTime();
+            vehicleService.processGateEvents(checkIns);
+            long burstMillis = (System.nanoTime() - burstStartedAt) / 1_000_000;
+            await(streams, stream -> stream.lastData.contains("\"occupiedSpaces\":" + BURST), 60);
+            long deliveryMillis = (System.nanoTime() - burstStartedAt) / 1_000_000;
+
+            int maxUpdates = streams.stream().mapToInt(stream -> stream.events.get() - 1).max().orElse(0);
+            double averageUpdates = streams.stream().mapToInt(stream -> stream.events.get() - 1).average().orElse(0);
+            logger.info("{} subscribers connected in {} ms; {} check-ins took {} ms and reached every subscriber " +
+                            "within {} ms; updates per subscriber: avg {}, max {}",
+                    SUBSCRIBERS, connectMillis, BURST, burstMillis, deliveryMillis,
+                    String.format("%.2f", averageUpdates), maxUpdates);
+
+            assertThat(maxUpdates).isLessThanOrEqualTo((int) (burstMillis / WINDOW_MILLIS) + 2).isLessThan(BURST);
+        } finally {
+            streams.forEach(StatusStream::cancel);
+        }
+    }
+
+    private static void await(List<StatusStream> streams, Predicate<StatusStream> condition, long timeoutSeconds)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(timeoutSeconds);
+        while (!streams.stream().allMatch(condition)) {
+            assertThat(System.nanoTime()).as("subscribers did not catch up in time").isLessThan(deadline);
+            Thread.sleep(20);
+        }
+    }
+
+    private static final class StatusStream implements Flow.Subscriber<String> {
+
+        private final AtomicInteger events = new AtomicInteger();
+        private volatile String lastData = "";
+        private volatile Flow.Subscription subscription;
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(String line) {
+            if (line.startsWith("data:")) {
+                lastData = line;
+                events.incrementAndGet();
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+        }
+
+        @Override
+        public void onComplete() {
+        }
+
+        void cancel() {
+            Flow.Subscription current = subscription;
+            if (current != null) {
+                current.cancel();
+            }
+        }
+    }
+}
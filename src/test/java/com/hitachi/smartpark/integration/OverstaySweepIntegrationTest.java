@@ -0,0 +1,110 @@
+package com.hitachi.smartpark.integration;
+
+import com.hitachi.smartpark.dto.OverstayShardResult;
+import com.hitachi.smartpark.dto.OverstaySweepResult;
+import com.hitachi.smartpark.entity.ParkingLot;
+import com.hitachi.smartpark.repository.ParkingLotRepository;
+import com.hitachi.smartpark.repository.ParkingSessionRepository;
+import com.hitachi.smartpark.service.OccupancyEngine;
+import com.hitachi.smartpark.service.OverstaySweeper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@SpringBootTest
+@DisplayName("Overstay Sweep Integration Tests")
+class OverstaySweepIntegrationTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(OverstaySweepIntegrationTest.class);
+
+    private static final int EXPIRED = 100_000;
+    private static final int RECENT = 100;
+    private static final int LONG_STAY = 50;
+
+    @Autowired
+    private OverstaySweeper overstaySweeper;
+
+    @Autowired
+    private ParkingSessionRepository parkingSessionRepository;
+
+    @Autowired
+    private ParkingLotRepository parkingLotRepository;
+
+    @Autowired
+    private OccupancyEngine occupancyEngine;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Should remove a hundred thousand expired sessions in set-based, lot-sharded chunks")
+    void shouldRemoveExpiredSessionsInSetBasedChunks() {
+        for (String lotId : List.of("SWEEP-A", "SWEEP-B", "SWEEP-LONG")) {
+            ParkingLot lot = new ParkingLot();
+            lot.setLotId(lotId);
+            lot.setLocation("Sweep Test Lot");
+            lot.setCapacity(EXPIRED + RECENT);
+            lot.setOccupiedSpaces(0);
+            lot.setCostPerMinute(new BigDecimal("1.00"));
+            lot.setMaxStayMinutes(lotId.equals("SWEEP-LONG") ? 180 : null);
+            parkingLotRepository.save(lot);
+        }
+
+        LocalDateTime expiredCheckIn = LocalDateTime.now().minusHours(2);
+        LocalDateTime recentCheckIn = LocalDateTime.now();
+        List<Object[]> rows = new ArrayList<>(EXPIRED + RECENT + LONG_STAY);
+        for (int i = 0; i < EXPIRED + RECENT; i++) {
+            rows.add(new Object[]{"SWEEP-" + i, i % 3 == 0 ? "TRUCK" : "CAR", "Sweep Owner",
+                    i % 2 == 0 ? "SWEEP-A" : "SWEEP-B", i < EXPIRED ? expiredCheckIn : recentCheckIn});
+        }
+        for (int i = 0; i < LONG_STAY; i++) {
+            rows.add(new Object[]{"SWEEP-LONG-" + i, "CAR", "Sweep Owner", "SWEEP-LONG", expiredCheckIn});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO vehicles (license_plate, type, owner_name) VALUES (?, ?, ?)",
+                rows.stream().map(row -> new Object[]{row[0], row[1], row[2]}).toList());
+        jdbcTemplate.batchUpdate("INSERT INTO parking_sessions (license_plate, lot_id, vehicle_type, check_in_time) " +
+                "VALUES (?, ?, ?, ?)", rows.stream().map(row -> new Object[]{row[0], row[3], row[1], row[4]}).toList());
+        occupancyEngine.rebuild();
+
+        OverstaySweepResult result = overstaySweeper.sweep();
+        occupancyEngine.flush();
+
+        logger.info("Swept {} expired sessions across {} lots in {} ms",
+                result.getRemoved(), result.getShards().size(), result.getElapsedMillis());
+        for (OverstayShardResult shard : result.getShards()) {
+            logger.info("Shard {}: {} removed in {} chunks, {} ms",
+                    shard.getLotId(), shard.getRemoved(), shard.getChunks(), shard.getElapsedMillis());
+        }
+        assertThat(result.getRemoved()).isEqualTo(EXPIRED);
+        assertThat(result.getFailedShards()).isZero();
+        assertThat(result.getShards())
+                .filteredOn(shard -> shard.getLotId().startsWith("SWEEP-"))
+                .extracting(OverstayShardResult::getLotId, OverstayShardResult::getRemoved)
+                .containsExactlyInAnyOrder(
+                        tuple("SWEEP-A", (long) EXPIRED / 2),
+                        tuple("SWEEP-B", (long) EXPIRED / 2),
+                        tuple("SWEEP-LONG", 0L));
+        assertThat(parkingSessionRepository.countByLotId("SWEEP-LONG")).isEqualTo(LONG_STAY);
+        assertThat(parkingSessionRepository.countByLotId("SWEEP-A")
+                + parkingSessionRepository.countByLotId("SWEEP-B")).isEqualTo(RECENT);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM parking_session_history " +
+                "WHERE end_reason = 'OVERSTAY_REMOVED' AND lot_id IN ('SWEEP-A', 'SWEEP-B')", Long.class))
+                .isEqualTo(EXPIRED);
+        assertThat(occupancyEngine.getOccupiedSpaces("SWEEP-A") + occupancyEngine.getOccupiedSpaces("SWEEP-B"))
+                .isEqualTo(RECENT);
+        assertThat(parkingLotRepository.findById("SWEEP-A").orElseThrow().getOccupiedSpaces()
+                + parkingLotRepository.findById("SWEEP-B").orElseThrow().getOccupiedSpaces()).isEqualTo(RECENT);
+    }
+}
@@ -11,6 +11,8 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
 
 import java.math.BigDecimal;
 
@@ -49,7 +51,7 @@ class ParkingIntegrationTest {
         lotRequest.setCapacity(10);
         lotRequest.setCostPerMinute(new BigDecimal("1.00"));
 
-        mockMvc.perform(post("/api/v1/parking-lots")
+        performAsync(post("/api/v1/parking-lots")
                         .header("Authorization", "Bearer " + token)
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(lotRequest)))
@@ -61,7 +63,7 @@ class ParkingIntegrationTest {
         vehicleRequest.setType(VehicleType.CAR);
         vehicleRequest.setOwnerName("Integration Test User");
 
-        mockMvc.perform(post("/api/v1/vehicles")
+        performAsync(post("/api/v1/vehicles")
                         .header("Authorization", "Bearer " + token)
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(vehicleRequest)))
@@ -78,7 +80,7 @@ class ParkingIntegrationTest {
         checkInRequest.setLicensePlate("INT-VEH-001");
         checkInRequest.setLotId("INT-LOT-001");
 
-        mockMvc.perform(post("/api/v1/vehicles/check-in")
+        performAsync(post("/api/v1/vehicles/check-in")
                         .header("Authorization", "Bearer " + token)
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(checkInRequest)))
@@ -93,7 +95,7 @@ class ParkingIntegrationTest {
 
         Thread.sleep(2000);
 
-        mockMvc.perform(post("/api/v1/vehicles/INT-VEH-001/check-out")
+        performAsync(post("/api/v1/vehicles/INT-VEH-001/check-out")
                         .header("Authorization", "Bearer " + token))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.licensePlate").value("INT-VEH-001"))
@@ -127,26 +129,32 @@ class ParkingIntegrationTest {
         lotRequest.setCapacity(1);
         lotRequest.setCostPerMinute(new BigDecimal("1.00"));
 
-        mockMvc.perform(post("/api/v1/parking-lots")
+        performAsync(post("/api/v1/parking-lots")
                         .header("Authorization", "Bearer " + token)
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(lotRequest)))
                 .andExpect(status().isCreated());
 
         CheckInRequest checkIn1 = new CheckInRequest("ABC-123", "FULL-LOT");
-        mockMvc.perform(post("/api/v1/vehicles/check-in")
+        performAsync(post("/api/v1/vehicles/check-in")
                         .header("Authorization", "Bearer " + token)
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(checkIn1)))
                 .andExpect(status().isOk());
 
         CheckInRequest checkIn2 = new CheckInRequest("XYZ-789", "FULL-LOT");
-        mockMvc.perform(post("/api/v1/vehicles/check-in")
+        performAsync(post("/api/v1/vehicles/check-in")
                         .header("Authorization", "Bearer " + token)
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(checkIn2)))
                 .andExpect(status().isBadRequest())
                 .andExpect(jsonPath("$.message").value("Parking lot is full"));
     }
-}
 
+    private ResultActions performAsync(RequestBuilder builder) throws Exception {
+        MvcResult result = mockMvc.perform(builder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(result));
+    }
+}
@@ -0,0 +1,136 @@
+package com.hitachi.smartpark.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hitachi.smartpark.dto.CheckInRequest;
+import com.hitachi.smartpark.dto.PageResponse;
+import com.hitachi.smartpark.dto.ParkingLotRequest;
+import com.hitachi.smartpark.dto.ParkingLotResponse;
+import com.hitachi.smartpark.dto.VehicleRequest;
+import com.hitachi.smartpark.dto.VehicleResponse;
+import com.hitachi.smartpark.entity.ParkingLot;
+import com.hitachi.smartpark.entity.VehicleType;
+import com.hitachi.smartpark.repository.ParkingLotRepository;
+import com.hitachi.smartpark.service.ParkingLotService;
+import com.hitachi.smartpark.service.VehicleService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@DisplayName("Read Model Integration Tests")
+class ReadModelIntegrationTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReadModelIntegrationTest.class);
+
+    private static final String LOT_ID = "READ-LOT";
+    private static final int VEHICLES = 40;
+
+    @Autowired
+    private VehicleService vehicleService;
+
+    @Autowired
+    private ParkingLotService parkingLotService;
+
+    @Autowired
+    private ParkingLotRepository parkingLotRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        if (parkingLotRepository.existsById(LOT_ID)) {
+            return;
+        }
+        parkingLotService.registerParkingLot(
+                new ParkingLotRequest(LOT_ID, "Read Model Lot", VEHICLES, new BigDecimal("0.50"), null));
+        for (int i = 0; i < VEHICLES; i++) {
+            String licensePlate = String.format("READ-%03d", i);
+            vehicleService.registerVehicle(new VehicleRequest(licensePlate, VehicleType.CAR, "Read Model Owner"));
+            if (i % 2 == 0) {
+                vehicleService.checkIn(new CheckInRequest(licensePlate, LOT_ID));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should serve each read endpoint with at most one Hibernate statement")
+    void shouldServeEachReadEndpointWithBoundedStatements() throws Exception {
+        long vehicle = statementsFor("GET /vehicles/{plate}", () -> vehicleService.getVehicle("READ-000"));
+        long vehicles = statementsFor("GET /vehicles", () -> vehicleService.getVehicles("READ-", VEHICLES, null, null, null));
+        long lot = statementsFor("GET /parking-lots/{id}", () -> parkingLotService.getParkingLot(LOT_ID));
+        long lots = statementsFor("GET /parking-lots", () -> parkingLotService.getParkingLots(null, 100));
+        long lotVehicles = statementsFor("GET /parking-lots/{id}/vehicles",
+                () -> parkingLotService.getVehiclesInLot(LOT_ID, null, VEHICLES, null));
+
+        assertThat(vehicle).isEqualTo(1);
+        assertThat(vehicles).isZero();
+        assertThat(lot).isLessThanOrEqualTo(1);
+        assertThat(lots).isEqualTo(1);
+        assertThat(lotVehicles).isLessThanOrEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should serialize lean responses smaller than the equivalent entity graph")
+    void shouldSerializeLeanResponsesSmallerThanEntityGraph() throws Exception {
+        PageResponse<VehicleResponse> page = parkingLotService.getVehiclesInLot(LOT_ID, null, VEHICLES, null);
+        ParkingLot parkingLot = new ParkingLot(LOT_ID, "Read Model Lot", VEHICLES, page.getItems().size(),
+                new BigDecimal("0.50"), null);
+        List<Map<String, Object>> entityGraph = page.getItems().stream()
+                .map(response -> vehicleEntityShape(response, parkingLot))
+                .toList();
+
+        int entityBytes = objectMapper.writeValueAsBytes(new PageResponse<>(entityGraph, null)).length;
+        int responseBytes = objectMapper.writeValueAsBytes(page).length;
+        logger.info("GET /parking-lots/{}/vehicles: {} rows, entity graph {} bytes, response {} bytes",
+                LOT_ID, page.getItems().size(), entityBytes, responseBytes);
+
+        ParkingLotResponse lot = parkingLotService.getParkingLot(LOT_ID);
+        logger.info("GET /parking-lots/{}: entity {} bytes, response {} bytes", LOT_ID,
+                objectMapper.writeValueAsBytes(parkingLot).length, objectMapper.writeValueAsBytes(lot).length);
+
+        assertThat(page.getItems()).hasSize(VEHICLES / 2);
+        assertThat(responseBytes).isLessThan(entityBytes);
+    }
+
+    private Map<String, Object> vehicleEntityShape(VehicleResponse response, ParkingLot parkingLot) {
+        Map<String, Object> vehicle = new LinkedHashMap<>();
+        vehicle.put("licensePlate", response.getLicensePlate());
+        vehicle.put("type", response.getType());
+        vehicle.put("ownerName", response.getOwnerName());
+        vehicle.put("parkingLot", parkingLot);
+        vehicle.put("checkInTime", response.getCheckInTime());
+        vehicle.put("checkOutTime", null);
+        vehicle.put("parked", true);
+        return vehicle;
+    }
+
+    private long statementsFor(String endpoint, Callable<?> call) throws Exception {
+        statistics.clear();
+        call.call();
+        long statements = statistics.getPrepareStatementCount();
+        logger.info("{}: {} statements", endpoint, statements);
+        return statements;
+    }
+}
@@ -0,0 +1,64 @@
+package com.hitachi.smartpark.integration;
+
+import com.hitachi.smartpark.config.SecondLevelCacheConfig;
+import com.hitachi.smartpark.dto.CacheRegionStats;
+import com.hitachi.smartpark.entity.ParkingLot;
+import com.hitachi.smartpark.repository.ParkingLotRepository;
+import com.hitachi.smartpark.service.CacheStatsService;
+import com.hitachi.smartpark.service.OccupancyEngine;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@DisplayName("Second-Level Cache Integration Tests")
+class SecondLevelCacheIntegrationTest {
+
+    @Autowired
+    private ParkingLotRepository parkingLotRepository;
+
+    @Autowired
+    private OccupancyEngine occupancyEngine;
+
+    @Autowired
+    private CacheStatsService cacheStatsService;
+
+    @Test
+    @DisplayName("Should serve repeated lot lookups from the cache and refresh them after an occupancy flush")
+    void shouldServeRepeatedLookupsFromCacheAndRefreshAfterFlush() {
+        ParkingLot lot = new ParkingLot();
+        lot.setLotId("CACHE-LOT");
+        lot.setLocation("Cache Test Lot");
+        lot.setCapacity(10);
+        lot.setOccupiedSpaces(0);
+        lot.setCostPerMinute(new BigDecimal("1.00"));
+        parkingLotRepository.save(lot);
+        occupancyEngine.register(lot);
+
+        parkingLotRepository.findById("CACHE-LOT").orElseThrow();
+        long hitsBefore = parkingLotStats().getHits();
+        parkingLotRepository.findById("CACHE-LOT").orElseThrow();
+        parkingLotRepository.findById("CACHE-LOT").orElseThrow();
+
+        assertThat(parkingLotStats().getHits()).isEqualTo(hitsBefore + 2);
+
+        occupancyEngine.tryAdmit("CACHE-LOT");
+        occupancyEngine.tryAdmit("CACHE-LOT");
+        occupancyEngine.flush();
+
+        assertThat(parkingLotRepository.findById("CACHE-LOT").orElseThrow().getOccupiedSpaces()).isEqualTo(2);
+        assertThat(parkingLotStats().getSize()).isPositive();
+    }
+
+    private CacheRegionStats parkingLotStats() {
+        return cacheStatsService.getRegionStats().stream()
+                .filter(stats -> stats.getRegion().equals(SecondLevelCacheConfig.PARKING_LOTS_REGION))
+                .findFirst()
+                .orElseThrow();
+    }
+}
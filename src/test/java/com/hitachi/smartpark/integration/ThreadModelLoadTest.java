@@ -0,0 +1,122 @@
+package com.hitachi.smartpark.integration;
+
+import com.hitachi.smartpark.config.WorkerThreads;
+import com.hitachi.smartpark.dto.ParkingLotRequest;
+import com.hitachi.smartpark.dto.VehicleRequest;
+import com.hitachi.smartpark.entity.VehicleType;
+import com.hitachi.smartpark.security.JwtUtil;
+import com.hitachi.smartpark.service.ParkingLotService;
+import com.hitachi.smartpark.service.VehicleService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "app.rate-limit.enabled=false",
+        "app.concurrency.enabled=false",
+        "spring.jpa.show-sql=false",
+        "server.tomcat.max-connections=20000",
+        "server.tomcat.accept-count=4096",
+        "app.lanes.status.queue-depth=20000",
+        "app.lanes.status.queue-timeout-ms=120000"
+})
+@DisplayName("Thread Model Load Tests")
+@Tag("perf")
+class ThreadModelLoadTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(ThreadModelLoadTest.class);
+
+    private static final int CLIENTS = Integer.getInteger("loadtest.clients", 1_000);
+    private static final int WARM_UP_CLIENTS = 200;
+    private static final int VEHICLES = 200;
+
+    @LocalServerPort
+    private int port;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    @Autowired
+    private ParkingLotService parkingLotService;
+
+    @Autowired
+    private VehicleService vehicleService;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Test
+    @DisplayName("Should serve every concurrent client and report throughput and p99 for the thread model")
+    void shouldServeEveryConcurrentClientAndReportThroughputAndP99() throws Exception {
+        parkingLotService.registerParkingLot(
+                new ParkingLotRequest("LOAD-LOT", "Thread Model Load Lot", VEHICLES, new BigDecimal("1.00"), null));
+        for (int i = 0; i < VEHICLES; i++) {
+            vehicleService.registerVehicle(new VehicleRequest("LOAD-" + i, VehicleType.CAR, "Load Owner"));
+        }
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(30))
+                .build();
+        String authorization = "Bearer " + jwtUtil.generateToken("admin");
+
+        fireConcurrently(client, authorization, WARM_UP_CLIENTS, new long[WARM_UP_CLIENTS]);
+
+        long[] latencies = new long[CLIENTS];
+        long startedAt = System.nanoTime();
+        List<CompletableFuture<Integer>> responses = fireConcurrently(client, authorization, CLIENTS, latencies);
+        long elapsedNanos = System.nanoTime() - startedAt;
+
+        long succeeded = responses.stream().filter(response -> response.join() == 200).count();
+        Arrays.sort(latencies);
+        double throughput = CLIENTS / (elapsedNanos / 1_000_000_000.0);
+        logger.info("{} thread mode: {} concurrent clients served in {} ms ({} req/s); latency p50 {} ms, p99 {} ms",
+                virtualThreads && WorkerThreads.virtualThreadsAvailable() ? "virtual" : "platform", CLIENTS,
+                TimeUnit.NANOSECONDS.toMillis(elapsedNanos), String.format("%.0f", throughput),
+                TimeUnit.NANOSECONDS.toMillis(latencies[CLIENTS / 2]),
+                TimeUnit.NANOSECONDS.toMillis(latencies[(int) Math.ceil(CLIENTS * 0.99) - 1]));
+
+        assertThat(succeeded).isEqualTo(CLIENTS);
+    }
+
+    private List<CompletableFuture<Integer>> fireConcurrently(HttpClient client, String authorization, int clients,
+                                                             long[] latencies) throws Exception {
+        List<CompletableFuture<Integer>> responses = new ArrayList<>(clients);
+        for (int i = 0; i < clients; i++) {
+            int clientIndex = i;
+            HttpRequest request = HttpRequest.newBuilder(
+                            URI.create("http://localhost:" + port + "/api/v1/vehicles/LOAD-" + (i % VEHICLES)))
+                    .header("Authorization", authorization)
+                    .timeout(Duration.ofSeconds(120))
+                    .build();
+            long sentAt = System.nanoTime();
+            responses.add(client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .thenApply(response -> {
+                        latencies[clientIndex] = System.nanoTime() - sentAt;
+                        return response.statusCode();
+                    }));
+        }
+        CompletableFuture.allOf(responses.toArray(new CompletableFuture[0])).get(5, TimeUnit.MINUTES);
+        return responses;
+    }
+}
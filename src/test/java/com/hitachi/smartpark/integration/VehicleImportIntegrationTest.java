@@ -0,0 +1,150 @@
+package com.hitachi.smartpark.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hitachi.smartpark.dto.AuthRequest;
+import com.hitachi.smartpark.dto.AuthResponse;
+import com.hitachi.smartpark.dto.VehicleImportSummary;
+import com.hitachi.smartpark.repository.VehicleRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@DisplayName("Vehicle Import Integration Tests")
+class VehicleImportIntegrationTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(VehicleImportIntegrationTest.class);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private VehicleRepository vehicleRepository;
+
+    @Test
+    @DisplayName("Should import CSV rows and report invalid and duplicate rows")
+    void shouldImportCsvRowsAndReportInvalidAndDuplicateRows() throws Exception {
+        String token = login();
+        String csv = "licensePlate,type,ownerName\n"
+                + "CSV-1,CAR,\"John Doe\"\n"
+                + "CSV-2,motorcycle,Jane\n"
+                + "CSV-1,CAR,Someone Else\n"
+                + "CSV-3,BUS,Bob\n"
+                + "bad plate,CAR,Eve\n"
+                + "CSV-4,TRUCK\n";
+
+        performAsync(post("/api/v1/vehicles/import")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType("text/csv")
+                        .content(csv))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalRows").value(6))
+                .andExpect(jsonPath("$.imported").value(2))
+                .andExpect(jsonPath("$.duplicates").value(1))
+                .andExpect(jsonPath("$.invalid").value(3))
+                .andExpect(jsonPath("$.errors.length()").value(4))
+                .andExpect(jsonPath("$.errors[0].row").value(4))
+                .andExpect(jsonPath("$.errors[0].licensePlate").value("CSV-1"))
+                .andExpect(jsonPath("$.errors[1].message").value("Invalid vehicle type: BUS"))
+                .andExpect(jsonPath("$.errors[3].message").value("Expected 3 columns but found 2"));
+
+        assertThat(vehicleRepository.findById("CSV-1")).get()
+                .extracting(vehicle -> vehicle.getOwnerName()).isEqualTo("John Doe");
+
+        performAsync(post("/api/v1/vehicles/import")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType("text/csv")
+                        .content("licensePlate,type,ownerName\nCSV-2,CAR,Jane\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(0))
+                .andExpect(jsonPath("$.duplicates").value(1));
+    }
+
+    @Test
+    @DisplayName("Should stream a large NDJSON import in chunks")
+    void shouldStreamLargeNdjsonImportInChunks() throws Exception {
+        String token = login();
+        int rows = 20_000;
+        StringBuilder body = new StringBuilder(rows * 64);
+        for (int i = 0; i < rows; i++) {
+            body.append("{\"licensePlate\":\"NDJ-").append(i)
+                    .append("\",\"type\":\"CAR\",\"ownerName\":\"Bulk Owner\"}\n");
+        }
+        body.append("{not json}\n");
+
+        MvcResult result = performAsync(post("/api/v1/vehicles/import")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType("application/x-ndjson")
+                        .content(body.toString()))
+                .andExpect(status().isOk())
+                .andReturn();
+        VehicleImportSummary summary = objectMapper.readValue(
+                result.getResponse().getContentAsString(), VehicleImportSummary.class);
+
+        logger.info("Imported {} NDJSON rows in {} ms ({} rows/s)",
+                summary.getImported(), summary.getElapsedMillis(), summary.getRowsPerSecond());
+        assertThat(summary.getTotalRows()).isEqualTo(rows + 1);
+        assertThat(summary.getImported()).isEqualTo(rows);
+        assertThat(summary.getInvalid()).isEqualTo(1);
+        assertThat(summary.getErrors().get(0).getRow()).isEqualTo(rows + 1);
+        assertThat(vehicleRepository.existsById("NDJ-" + (rows - 1))).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should reject null and over-long NDJSON lines as row errors")
+    void shouldRejectNullAndOverLongNdjsonLinesAsRowErrors() throws Exception {
+        String token = login();
+        String body = "{\"licensePlate\":\"NUL-1\",\"type\":\"CAR\",\"ownerName\":\"Owner\"}\r\n"
+                + "null\r\n"
+                + "{\"licensePlate\":\"NUL-2\",\"type\":\"CAR\",\"ownerName\":\"" + "x".repeat(10_000) + "\"}\n"
+                + "{\"licensePlate\":\"NUL-3\",\"type\":\"CAR\",\"ownerName\":\"Owner\"}";
+
+        performAsync(post("/api/v1/vehicles/import")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType("application/x-ndjson")
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalRows").value(4))
+                .andExpect(jsonPath("$.imported").value(2))
+                .andExpect(jsonPath("$.invalid").value(2))
+                .andExpect(jsonPath("$.errors[0].row").value(2))
+                .andExpect(jsonPath("$.errors[0].message").value("Row must be a JSON object"))
+                .andExpect(jsonPath("$.errors[1].row").value(3))
+                .andExpect(jsonPath("$.errors[1].message").value("Line exceeds the maximum length of 4096 characters"));
+
+        assertThat(vehicleRepository.existsById("NUL-3")).isTrue();
+    }
+
+    private String login() throws Exception {
+        MvcResult loginResult = mockMvc.perform(post("/api/v1/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new AuthRequest("admin", "admin123"))))
+                .andExpect(status().isOk())
+                .andReturn();
+        return objectMapper.readValue(loginResult.getResponse().getContentAsString(), AuthResponse.class).getToken();
+    }
+
+    private ResultActions performAsync(RequestBuilder builder) throws Exception {
+        MvcResult result = mockMvc.perform(builder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(result));
+    }
+}
@@ -1,28 +1,53 @@
 package com.hitachi.smartpark.repository;
 
+import com.hitachi.smartpark.dto.ParkingLotResponse;
 import com.hitachi.smartpark.entity.ParkingLot;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
 
 import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
 @DataJpaTest
+@Import(ParkingLotJdbcRepository.class)
 @DisplayName("ParkingLot Repository Tests")
 class ParkingLotRepositoryTest {
 
+    private static final Logger logger = LoggerFactory.getLogger(ParkingLotRepositoryTest.class);
+
     @Autowired
     private TestEntityManager entityManager;
 
     @Autowired
     private ParkingLotRepository parkingLotRepository;
 
+    @Autowired
+    private ParkingLotJdbcRepository parkingLotJdbcRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
     private ParkingLot testParkingLot;
 
     @BeforeEach
@@ -70,6 +95,29 @@ class ParkingLotRepositoryTest {
         assertThat(lots).hasSize(2);
     }
 
+    @Test
+    @DisplayName("Should page parking lot responses in lot ID order")
+    void shouldPageParkingLotResponsesInLotIdOrder() {
+        testParkingLot.setOccupiedSpaces(20);
+        parkingLotRepository.save(testParkingLot);
+
+        ParkingLot lot2 = new ParkingLot();
+        lot2.setLotId("LOT-TEST-2");
+        lot2.setLocation("Test Location 2");
+        lot2.setCapacity(100);
+        lot2.setOccupiedSpaces(0);
+        lot2.setCostPerMinute(new BigDecimal("0.75"));
+        parkingLotRepository.save(lot2);
+        entityManager.flush();
+
+        List<ParkingLotResponse> first = parkingLotRepository.findFirstPage(Limit.of(1));
+        List<ParkingLotResponse> second = parkingLotRepository.findPageAfter("LOT-TEST", Limit.of(1));
+
+        assertThat(first).extracting(ParkingLotResponse::getLotId).containsExactly("LOT-TEST");
+        assertThat(first.get(0).getAvailableSpaces()).isEqualTo(30);
+        assertThat(second).extracting(ParkingLotResponse::getLotId).containsExactly("LOT-TEST-2");
+    }
+
     @Test
     @DisplayName("Should update parking lot occupied spaces")
     void shouldUpdateParkingLotOccupiedSpaces() {
@@ -113,31 +161,77 @@ class ParkingLotRepositoryTest {
     }
 
     @Test
-    @DisplayName("Should calculate available spaces correctly")
-    void shouldCalculateAvailableSpacesCorrectly() {
-        testParkingLot.setOccupiedSpaces(20);
+    @DisplayName("Should apply occupied spaces delta in a single statement")
+    void shouldApplyOccupiedSpacesDelta() {
+        testParkingLot.setOccupiedSpaces(10);
         parkingLotRepository.save(testParkingLot);
         entityManager.flush();
 
-        ParkingLot found = parkingLotRepository.findById("LOT-TEST").orElse(null);
+        int[] updated = parkingLotJdbcRepository.addOccupiedSpaces(Map.of("LOT-TEST", 5));
+        parkingLotJdbcRepository.addOccupiedSpaces(Map.of("LOT-TEST", -3));
+        entityManager.clear();
 
-        assertThat(found).isNotNull();
-        assertThat(found.getAvailableSpaces()).isEqualTo(30);
-        assertThat(found.isFull()).isFalse();
+        assertThat(updated).containsExactly(1);
+        assertThat(parkingLotRepository.findById("LOT-TEST").orElseThrow().getOccupiedSpaces()).isEqualTo(12);
     }
 
     @Test
-    @DisplayName("Should detect when parking lot is full")
-    void shouldDetectWhenParkingLotIsFull() {
-        testParkingLot.setOccupiedSpaces(50);
+    @DisplayName("Should overwrite occupied spaces")
+    void shouldOverwriteOccupiedSpaces() {
+        testParkingLot.setOccupiedSpaces(10);
         parkingLotRepository.save(testParkingLot);
         entityManager.flush();
 
-        ParkingLot found = parkingLotRepository.findById("LOT-TEST").orElse(null);
+        parkingLotRepository.updateOccupiedSpaces("LOT-TEST", 4);
+        entityManager.clear();
 
-        assertThat(found).isNotNull();
-        assertThat(found.isFull()).isTrue();
-        assertThat(found.getAvailableSpaces()).isEqualTo(0);
+        assertThat(parkingLotRepository.findById("LOT-TEST").orElseThrow().getOccupiedSpaces()).isEqualTo(4);
     }
-}
 
+    @Test
+    @DisplayName("Should flush a lot update with the same work regardless of how many vehicles it holds")
+    void shouldFlushLotUpdateIndependentlyOfParkedVehicles() {
+        FlushCost small = measureLotFlush("LOT-SMALL", 10);
+        FlushCost large = measureLotFlush("LOT-LARGE", 5_000);
+
+        logger.info("Lot flush with {} vehicles: {} statements, {} entities loaded, {} us",
+                small.vehicles(), small.statements(), small.entitiesLoaded(), small.micros());
+        logger.info("Lot flush with {} vehicles: {} statements, {} entities loaded, {} us",
+                large.vehicles(), large.statements(), large.entitiesLoaded(), large.micros());
+
+        assertThat(large.statements()).isEqualTo(small.statements());
+        assertThat(large.entitiesLoaded()).isEqualTo(small.entitiesLoaded()).isEqualTo(1);
+    }
+
+    private FlushCost measureLotFlush(String lotId, int vehicles) {
+        ParkingLot lot = new ParkingLot(lotId, "Flush Benchmark", vehicles, vehicles, new BigDecimal("1.00"), null);
+        parkingLotRepository.save(lot);
+        entityManager.flush();
+        List<Object[]> vehicleRows = new ArrayList<>();
+        List<Object[]> sessionRows = new ArrayList<>();
+        Timestamp checkInTime = Timestamp.valueOf(LocalDateTime.of(2024, 1, 1, 8, 0));
+        for (int i = 0; i < vehicles; i++) {
+            String licensePlate = lotId + "-" + i;
+            vehicleRows.add(new Object[]{licensePlate, "CAR", "Flush Owner"});
+            sessionRows.add(new Object[]{licensePlate, lotId, "CAR", checkInTime});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO vehicles (license_plate, type, owner_name) VALUES (?, ?, ?)", vehicleRows);
+        jdbcTemplate.batchUpdate("INSERT INTO parking_sessions (license_plate, lot_id, vehicle_type, check_in_time) " +
+                "VALUES (?, ?, ?, ?)", sessionRows);
+        entityManager.clear();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        long start = System.nanoTime();
+        ParkingLot found = parkingLotRepository.findById(lotId).orElseThrow();
+        found.setLocation("Flush Benchmark Moved");
+        entityManager.flush();
+        long micros = (System.nanoTime() - start) / 1_000;
+        entityManager.clear();
+
+        return new FlushCost(vehicles, statistics.getPrepareStatementCount(), statistics.getEntityLoadCount(), micros);
+    }
+
+    private record FlushCost(int vehicles, long statements, long entitiesLoaded, long micros) {
+    }
+}
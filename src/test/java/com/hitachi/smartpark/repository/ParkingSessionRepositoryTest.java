@@ -0,0 +1,163 @@
+package com.hitachi.smartpark.repository;
+
+import com.hitachi.smartpark.dto.ParkingSessionResponse;
+import com.hitachi.smartpark.entity.CompletedParkingSession;
+import com.hitachi.smartpark.entity.ParkingLot;
+import com.hitachi.smartpark.entity.SessionEndReason;
+import com.hitachi.smartpark.entity.Vehicle;
+import com.hitachi.smartpark.entity.VehicleType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import(ParkingSessionJdbcRepository.class)
+@DisplayName("Parking Session Repository Tests")
+class ParkingSessionRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ParkingSessionRepository parkingSessionRepository;
+
+    @Autowired
+    private CompletedParkingSessionRepository completedParkingSessionRepository;
+
+    @Autowired
+    private ParkingSessionJdbcRepository parkingSessionJdbcRepository;
+
+    @Autowired
+    private VehicleRepository vehicleRepository;
+
+    private final LocalDateTime checkInTime = LocalDateTime.now().minusMinutes(30).truncatedTo(ChronoUnit.MICROS);
+
+    @BeforeEach
+    void setUp() {
+        ParkingLot parkingLot = new ParkingLot();
+        parkingLot.setLotId("LOT-TEST");
+        parkingLot.setLocation("Test Location");
+        parkingLot.setCapacity(50);
+        parkingLot.setOccupiedSpaces(0);
+        parkingLot.setCostPerMinute(new BigDecimal("0.50"));
+        entityManager.persist(parkingLot);
+
+        for (String licensePlate : List.of("TEST-123", "TEST-456")) {
+            Vehicle vehicle = new Vehicle();
+            vehicle.setLicensePlate(licensePlate);
+            vehicle.setType(VehicleType.CAR);
+            vehicle.setOwnerName("Test Owner");
+            entityManager.persist(vehicle);
+        }
+        entityManager.flush();
+    }
+
+    @Test
+    @DisplayName("Should open a session only when the vehicle is not already parked")
+    void shouldOpenSessionOnlyWhenVehicleIsNotAlreadyParked() {
+        int[] updated = parkingSessionJdbcRepository.applyTransitions(List.of(
+                ParkingSessionTransition.checkIn("TEST-123", "LOT-TEST", VehicleType.CAR, checkInTime),
+                ParkingSessionTransition.checkIn("TEST-123", "LOT-TEST", VehicleType.CAR, checkInTime.plusMinutes(1))));
+
+        assertThat(updated).containsExactly(1, 0);
+        assertThat(parkingSessionRepository.findById("TEST-123")).get()
+                .extracting("checkInTime").isEqualTo(checkInTime);
+        assertThat(vehicleRepository.findResponseByLicensePlate("TEST-123")).get()
+                .extracting("lotId").isEqualTo("LOT-TEST");
+    }
+
+    @Test
+    @DisplayName("Should close only the matching session and append it to the history")
+    void shouldCloseOnlyMatchingSessionAndAppendHistory() {
+        LocalDateTime checkOutTime = checkInTime.plusMinutes(30);
+        int[] updated = parkingSessionJdbcRepository.applyTransitions(List.of(
+                ParkingSessionTransition.checkIn("TEST-123", "LOT-TEST", VehicleType.CAR, checkInTime),
+                ParkingSessionTransition.checkOut("TEST-123", "LOT-TEST", VehicleType.CAR,
+                        checkInTime.minusMinutes(1), checkOutTime, BigDecimal.ONE),
+                ParkingSessionTransition.checkOut("TEST-123", "LOT-TEST", VehicleType.CAR,
+                        checkInTime, checkOutTime, new BigDecimal("15.00")),
+                ParkingSessionTransition.checkIn("TEST-123", "LOT-TEST", VehicleType.CAR, checkOutTime)));
+
+        assertThat(updated).containsExactly(1, 0, 1, 1);
+        List<ParkingSessionResponse> history =
+                completedParkingSessionRepository.findFirstPageByLicensePlate("TEST-123", Limit.of(10));
+        assertThat(history).hasSize(1);
+        assertThat(history.get(0).getCheckInTime()).isEqualTo(checkInTime);
+        assertThat(history.get(0).getEndReason()).isEqualTo(SessionEndReason.CHECKED_OUT);
+        assertThat(history.get(0).getParkingCost()).isEqualByComparingTo("15.00");
+        assertThat(parkingSessionRepository.findById("TEST-123")).get()
+                .extracting("checkInTime").isEqualTo(checkOutTime);
+    }
+
+    @Test
+    @DisplayName("Should lock expired sessions and move them to the history")
+    void shouldLockExpiredSessionsAndMoveThemToHistory() {
+        parkingSessionJdbcRepository.applyTransitions(List.of(
+                ParkingSessionTransition.checkIn("TEST-123", "LOT-TEST", VehicleType.CAR, checkInTime),
+                ParkingSessionTransition.checkIn("TEST-456", "LOT-TEST", VehicleType.CAR, LocalDateTime.now())));
+
+        List<ParkedSession> expired = parkingSessionJdbcRepository.lockSessionsCheckedInBefore(
+                "LOT-TEST", VehicleType.CAR, checkInTime.plusMinutes(1), 10);
+        int removed = parkingSessionJdbcRepository.removeSessions(expired, LocalDateTime.now());
+
+        assertThat(expired).extracting(ParkedSession::getLicensePlate).containsExactly("TEST-123");
+        assertThat(removed).isEqualTo(1);
+        assertThat(parkingSessionRepository.countByLotId("LOT-TEST")).isEqualTo(1);
+        assertThat(completedParkingSessionRepository.findFirstPageByLotId("LOT-TEST", Limit.of(10)))
+                .extracting(ParkingSessionResponse::getEndReason)
+                .containsExactly(SessionEndReason.OVERSTAY_REMOVED);
+    }
+
+    @Test
+    @DisplayName("Should page session history newest first and break check-out ties by id")
+    void shouldPageSessionHistoryNewestFirst() {
+        LocalDateTime checkOutTime = checkInTime.plusMinutes(10);
+        for (int i = 0; i < 3; i++) {
+            entityManager.persist(new CompletedParkingSession(null, "TEST-123", "LOT-TEST", VehicleType.CAR,
+                    checkInTime, i < 2 ? checkOutTime : checkOutTime.plusMinutes(1), SessionEndReason.CHECKED_OUT,
+                    BigDecimal.ONE));
+        }
+        entityManager.flush();
+
+        List<ParkingSessionResponse> first =
+                completedParkingSessionRepository.findFirstPageByLicensePlate("TEST-123", Limit.of(2));
+        ParkingSessionResponse last = first.get(1);
+        List<ParkingSessionResponse> second = completedParkingSessionRepository.findPageByLicensePlateBefore(
+                "TEST-123", last.getCheckOutTime(), last.getId(), Limit.of(2));
+
+        assertThat(first).extracting(ParkingSessionResponse::getCheckOutTime)
+                .containsExactly(checkOutTime.plusMinutes(1), checkOutTime);
+        assertThat(second).hasSize(1);
+        assertThat(second.get(0).getCheckOutTime()).isEqualTo(checkOutTime);
+        assertThat(second.get(0).getId()).isLessThan(last.getId());
+        assertThat(completedParkingSessionRepository.findPageByLotIdBefore(
+                "LOT-TEST", last.getCheckOutTime(), last.getId(), Limit.of(2))).isEqualTo(second);
+    }
+
+    @Test
+    @DisplayName("Should count active sessions per parking lot")
+    void shouldCountActiveSessionsPerParkingLot() {
+        parkingSessionJdbcRepository.applyTransitions(List.of(
+                ParkingSessionTransition.checkIn("TEST-123", "LOT-TEST", VehicleType.CAR, checkInTime)));
+
+        List<LotOccupancyCount> counts = parkingSessionRepository.countSessionsByLot();
+
+        assertThat(counts).hasSize(1);
+        assertThat(counts.get(0).getLotId()).isEqualTo("LOT-TEST");
+        assertThat(counts.get(0).getOccupied()).isEqualTo(1);
+        assertThat(parkingSessionRepository.findParkedSessions())
+                .extracting(ParkedSession::getLicensePlate).containsExactly("TEST-123");
+    }
+}
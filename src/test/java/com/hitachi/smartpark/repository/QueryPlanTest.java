@@ -0,0 +1,133 @@
+package com.hitachi.smartpark.repository;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@DisplayName("Query Plan Tests")
+class QueryPlanTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Should look up sessions in a lot through the lot index")
+    void shouldLookUpSessionsInLotThroughIndex() {
+        String plan = explain("SELECT * FROM parking_sessions s WHERE s.lot_id = 'LOT-001'");
+
+        assertThat(plan).containsIgnoringCase("IDX_PARKING_SESSIONS_LOT");
+    }
+
+    @Test
+    @DisplayName("Should find overstaying sessions through the check-in time index")
+    void shouldFindOverstayingSessionsThroughCheckInIndex() {
+        String plan = explain("SELECT * FROM parking_sessions s " +
+                "WHERE s.check_in_time < TIMESTAMP '2024-01-01 08:00:00'");
+
+        assertThat(plan).containsIgnoringCase("IDX_PARKING_SESSIONS_CHECK_IN_TIME");
+    }
+
+    @Test
+    @DisplayName("Should lock a lot's expired sessions through the composite index")
+    void shouldLockExpiredSessionsThroughCompositeIndex() {
+        String plan = explain("SELECT license_plate, lot_id, vehicle_type, check_in_time FROM parking_sessions " +
+                "WHERE lot_id = 'LOT-001' AND vehicle_type = 'CAR' " +
+                "AND check_in_time < TIMESTAMP '2024-01-01 08:00:00' LIMIT 1000 FOR UPDATE");
+
+        assertThat(plan).containsIgnoringCase("IDX_PARKING_SESSIONS_LOT_TYPE_CHECK_IN")
+                .containsIgnoringCase("CHECK_IN_TIME <");
+    }
+
+    @Test
+    @DisplayName("Should count active sessions per lot without scanning the table")
+    void shouldCountActiveSessionsPerLotThroughIndex() {
+        String plan = explain("SELECT s.lot_id, COUNT(*) FROM parking_sessions s GROUP BY s.lot_id");
+
+        assertThat(plan).containsIgnoringCase("IDX_PARKING_SESSIONS_");
+    }
+
+    @Test
+    @DisplayName("Should seek a vehicle's session history pages through the plate index")
+    void shouldSeekVehicleHistoryPagesThroughPlateIndex() {
+        String plan = explain("SELECT * FROM parking_session_history h WHERE h.license_plate = 'ABC-123' " +
+                "AND h.check_out_time <= TIMESTAMP '2024-01-01 08:00:00' " +
+                "AND (h.check_out_time < TIMESTAMP '2024-01-01 08:00:00' " +
+                "OR (h.check_out_time = TIMESTAMP '2024-01-01 08:00:00' AND h.id < 42)) " +
+                "ORDER BY h.check_out_time DESC, h.id DESC LIMIT 101");
+
+        assertThat(plan).containsIgnoringCase("IDX_SESSION_HISTORY_PLATE_CHECK_OUT")
+                .containsIgnoringCase("CHECK_OUT_TIME <=");
+    }
+
+    @Test
+    @DisplayName("Should seek a lot's session history pages through the lot index")
+    void shouldSeekLotHistoryPagesThroughLotIndex() {
+        String plan = explain("SELECT * FROM parking_session_history h WHERE h.lot_id = 'LOT-001' " +
+                "AND h.check_out_time <= TIMESTAMP '2024-01-01 08:00:00' " +
+                "AND (h.check_out_time < TIMESTAMP '2024-01-01 08:00:00' " +
+                "OR (h.check_out_time = TIMESTAMP '2024-01-01 08:00:00' AND h.id < 42)) " +
+                "ORDER BY h.check_out_time DESC, h.id DESC LIMIT 101");
+
+        assertThat(plan).containsIgnoringCase("IDX_SESSION_HISTORY_LOT_CHECK_OUT")
+                .containsIgnoringCase("CHECK_OUT_TIME <=");
+    }
+
+    @Test
+    @DisplayName("Should back the session foreign keys with the named indexes")
+    void shouldBackForeignKeysWithNamedIndexes() {
+        Integer indexes = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM INFORMATION_SCHEMA.INDEXES " +
+                "WHERE TABLE_NAME IN ('VEHICLES', 'PARKING_SESSIONS') AND INDEX_NAME LIKE 'FK_%'", Integer.class);
+
+        assertThat(indexes).isZero();
+    }
+
+    @Test
+    @DisplayName("Should seek vehicle pages on the primary key without sorting")
+    void shouldSeekVehiclePagesOnPrimaryKey() {
+        String plan = explain("SELECT v.license_plate, v.type, v.owner_name, s.lot_id, s.check_in_time " +
+                "FROM vehicles v LEFT JOIN parking_sessions s ON s.license_plate = v.license_plate " +
+                "WHERE v.license_plate > 'ABC-123' ORDER BY v.license_plate LIMIT 101");
+
+        assertThat(plan).containsIgnoringCase("LICENSE_PLATE > 'ABC-123'").containsIgnoringCase("index sorted");
+    }
+
+    @Test
+    @DisplayName("Should seek vehicle pages of one type through the type index")
+    void shouldSeekVehiclePagesOfOneTypeThroughTypeIndex() {
+        String plan = explain("SELECT v.license_plate, v.type, v.owner_name, s.lot_id, s.check_in_time " +
+                "FROM vehicles v LEFT JOIN parking_sessions s ON s.license_plate = v.license_plate " +
+                "WHERE v.type = 'CAR' AND v.license_plate > 'ABC-123' ORDER BY v.type, v.license_plate LIMIT 101");
+
+        assertThat(plan).containsIgnoringCase("IDX_VEHICLES_TYPE_PLATE").containsIgnoringCase("index sorted");
+    }
+
+    @Test
+    @DisplayName("Should seek a lot's vehicle pages through the lot and plate index")
+    void shouldSeekLotVehiclePagesThroughLotPlateIndex() {
+        String plan = explain("SELECT v.license_plate, v.type, v.owner_name, s.lot_id, s.check_in_time " +
+                "FROM parking_sessions s JOIN vehicles v ON v.license_plate = s.license_plate " +
+                "WHERE s.lot_id = 'LOT-001' AND s.license_plate > 'ABC-123' " +
+                "ORDER BY s.lot_id, s.license_plate LIMIT 101");
+
+        assertThat(plan).containsIgnoringCase("IDX_PARKING_SESSIONS_LOT_PLATE").containsIgnoringCase("index sorted");
+    }
+
+    @Test
+    @DisplayName("Should seek parking lot pages on the primary key without sorting")
+    void shouldSeekParkingLotPagesOnPrimaryKey() {
+        String plan = explain("SELECT * FROM parking_lots p WHERE p.lot_id > 'LOT-001' ORDER BY p.lot_id LIMIT 101");
+
+        assertThat(plan).containsIgnoringCase("LOT_ID > 'LOT-001'").containsIgnoringCase("index sorted");
+    }
+
+    private String explain(String sql) {
+        String plan = jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class);
+        assertThat(plan).doesNotContainIgnoringCase("tableScan");
+        return plan;
+    }
+}
@@ -1,6 +1,8 @@
 package com.hitachi.smartpark.repository;
 
+import com.hitachi.smartpark.dto.VehicleResponse;
 import com.hitachi.smartpark.entity.ParkingLot;
+import com.hitachi.smartpark.entity.ParkingSession;
 import com.hitachi.smartpark.entity.Vehicle;
 import com.hitachi.smartpark.entity.VehicleType;
 import org.junit.jupiter.api.BeforeEach;
@@ -9,6 +11,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -17,6 +20,7 @@ import java.util.List;
 import static org.assertj.core.api.Assertions.assertThat;
 
 @DataJpaTest
+@Import(VehicleJdbcRepository.class)
 @DisplayName("Vehicle Repository Tests")
 class VehicleRepositoryTest {
 
@@ -29,6 +33,9 @@ class VehicleRepositoryTest {
     @Autowired
     private ParkingLotRepository parkingLotRepository;
 
+    @Autowired
+    private VehicleJdbcRepository vehicleJdbcRepository;
+
     private ParkingLot testParkingLot;
     private Vehicle testVehicle;
 
@@ -63,84 +70,90 @@ class VehicleRepositoryTest {
     }
 
     @Test
-    @DisplayName("Should find vehicles by parking lot ID")
-    void shouldFindVehiclesByParkingLotId() {
-        testVehicle.setParkingLot(testParkingLot);
-        testVehicle.setCheckInTime(LocalDateTime.now());
-        vehicleRepository.save(testVehicle);
-        entityManager.flush();
-
-        List<Vehicle> vehicles = vehicleRepository.findByParkingLotLotId("LOT-TEST");
-
-        assertThat(vehicles).hasSize(1);
-        assertThat(vehicles.get(0).getLicensePlate()).isEqualTo("TEST-123");
-    }
+    @DisplayName("Should delete vehicle")
+    void shouldDeleteVehicle() {
+        park(LocalDateTime.now());
 
-    @Test
-    @DisplayName("Should find vehicles parked longer than specified time")
-    void shouldFindVehiclesParkedLongerThanSpecifiedTime() {
-        testVehicle.setParkingLot(testParkingLot);
-        testVehicle.setCheckInTime(LocalDateTime.now().minusMinutes(20));
-        vehicleRepository.save(testVehicle);
+        vehicleRepository.deleteById("TEST-123");
         entityManager.flush();
 
-        LocalDateTime cutoffTime = LocalDateTime.now().minusMinutes(15);
-        List<Vehicle> vehicles = vehicleRepository.findVehiclesParkedLongerThan(cutoffTime);
-
-        assertThat(vehicles).hasSize(1);
-        assertThat(vehicles.get(0).getLicensePlate()).isEqualTo("TEST-123");
+        var found = vehicleRepository.findById("TEST-123");
+        assertThat(found).isEmpty();
+        assertThat(entityManager.find(ParkingSession.class, "TEST-123")).isNull();
     }
 
     @Test
-    @DisplayName("Should not find vehicles parked less than specified time")
-    void shouldNotFindVehiclesParkedLessThanSpecifiedTime() {
-        testVehicle.setParkingLot(testParkingLot);
-        testVehicle.setCheckInTime(LocalDateTime.now().minusMinutes(10));
-        vehicleRepository.save(testVehicle);
+    @DisplayName("Should page through vehicles by license plate after the cursor")
+    void shouldPageThroughVehiclesAfterCursor() {
+        for (int i = 1; i <= 5; i++) {
+            Vehicle vehicle = new Vehicle();
+            vehicle.setLicensePlate("PAGE-" + i);
+            vehicle.setType(i % 2 == 0 ? VehicleType.TRUCK : VehicleType.CAR);
+            vehicle.setOwnerName("Page Owner");
+            entityManager.persist(vehicle);
+        }
         entityManager.flush();
 
-        LocalDateTime cutoffTime = LocalDateTime.now().minusMinutes(15);
-        List<Vehicle> vehicles = vehicleRepository.findVehiclesParkedLongerThan(cutoffTime);
+        List<VehicleResponse> first = vehicleJdbcRepository.findPage(null, null, null, null, 2);
+        List<VehicleResponse> second = vehicleJdbcRepository.findPage("PAGE-2", null, null, null, 2);
+        List<VehicleResponse> trucks = vehicleJdbcRepository.findPage(null, VehicleType.TRUCK, null, null, 10);
 
-        assertThat(vehicles).isEmpty();
+        assertThat(first).extracting(VehicleResponse::getLicensePlate).containsExactly("PAGE-1", "PAGE-2");
+        assertThat(second).extracting(VehicleResponse::getLicensePlate).containsExactly("PAGE-3", "PAGE-4");
+        assertThat(trucks).extracting(VehicleResponse::getLicensePlate).containsExactly("PAGE-2", "PAGE-4");
     }
 
     @Test
-    @DisplayName("Should find vehicle by license plate when parked")
-    void shouldFindVehicleByLicensePlateWhenParked() {
-        testVehicle.setParkingLot(testParkingLot);
-        testVehicle.setCheckInTime(LocalDateTime.now());
-        vehicleRepository.save(testVehicle);
+    @DisplayName("Should filter the vehicle listing by parked state and lot")
+    void shouldFilterVehicleResponseByParkedStateAndLot() {
+        LocalDateTime checkInTime = LocalDateTime.of(2024, 1, 1, 8, 0);
+        park(checkInTime);
+        Vehicle idle = new Vehicle();
+        idle.setLicensePlate("IDLE-1");
+        idle.setType(VehicleType.CAR);
+        idle.setOwnerName("Idle Owner");
+        vehicleRepository.save(idle);
         entityManager.flush();
 
-        var found = vehicleRepository.findByLicensePlateAndParkingLotIsNotNull("TEST-123");
+        List<VehicleResponse> parked = vehicleJdbcRepository.findPage(null, null, true, null, 10);
+        List<VehicleResponse> notParked = vehicleJdbcRepository.findPage(null, null, false, null, 10);
+        List<VehicleResponse> inLot = vehicleJdbcRepository.findPage(null, VehicleType.CAR, null, "LOT-TEST", 10);
 
-        assertThat(found).isPresent();
-        assertThat(found.get().getLicensePlate()).isEqualTo("TEST-123");
+        assertThat(parked).extracting(VehicleResponse::getLicensePlate).containsExactly("TEST-123");
+        assertThat(parked.get(0).getLotId()).isEqualTo("LOT-TEST");
+        assertThat(parked.get(0).getCheckInTime()).isEqualTo(checkInTime);
+        assertThat(notParked).extracting(VehicleResponse::getLicensePlate).containsExactly("IDLE-1");
+        assertThat(inLot).extracting(VehicleResponse::getLicensePlate).containsExactly("TEST-123");
+        assertThat(vehicleJdbcRepository.findPage(null, null, false, "LOT-TEST", 10)).isEmpty();
     }
 
     @Test
-    @DisplayName("Should not find vehicle by license plate when not parked")
-    void shouldNotFindVehicleByLicensePlateWhenNotParked() {
-        vehicleRepository.save(testVehicle);
+    @DisplayName("Should project a vehicle and its active session into a response")
+    void shouldProjectVehicleAndActiveSessionIntoResponse() {
+        LocalDateTime checkInTime = LocalDateTime.of(2024, 1, 1, 8, 0);
+        park(checkInTime);
+        Vehicle idle = new Vehicle();
+        idle.setLicensePlate("IDLE-1");
+        idle.setType(VehicleType.MOTORCYCLE);
+        idle.setOwnerName("Idle Owner");
+        vehicleRepository.save(idle);
         entityManager.flush();
 
-        var found = vehicleRepository.findByLicensePlateAndParkingLotIsNotNull("TEST-123");
+        VehicleResponse parked = vehicleRepository.findResponseByLicensePlate("TEST-123").orElseThrow();
+        VehicleResponse notParked = vehicleRepository.findResponseByLicensePlate("IDLE-1").orElseThrow();
 
-        assertThat(found).isEmpty();
+        assertThat(parked.getLotId()).isEqualTo("LOT-TEST");
+        assertThat(parked.getCheckInTime()).isEqualTo(checkInTime);
+        assertThat(notParked.isParked()).isFalse();
+        assertThat(notParked.getType()).isEqualTo(VehicleType.MOTORCYCLE);
+        assertThat(vehicleRepository.findResponseByLicensePlate("NOPE-1")).isEmpty();
     }
 
-    @Test
-    @DisplayName("Should delete vehicle")
-    void shouldDeleteVehicle() {
+    private void park(LocalDateTime checkInTime) {
         vehicleRepository.save(testVehicle);
+        entityManager.persist(new ParkingSession(
+                testVehicle.getLicensePlate(), testParkingLot.getLotId(), testVehicle.getType(), checkInTime));
         entityManager.flush();
-
-        vehicleRepository.deleteById("TEST-123");
-        entityManager.flush();
-
-        var found = vehicleRepository.findById("TEST-123");
-        assertThat(found).isEmpty();
+        entityManager.clear();
     }
 }
-
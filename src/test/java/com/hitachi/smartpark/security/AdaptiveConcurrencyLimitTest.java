@@ -0,0 +1,72 @@
+package com.hitachi.smartpark.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Adaptive Concurrency Limit Tests")
+class AdaptiveConcurrencyLimitTest {
+
+    private static final long MILLI = 1_000_000L;
+
+    @Test
+    @DisplayName("Should shrink the limit when latency climbs above its long-term baseline")
+    void shouldShrinkLimitWhenLatencyClimbs() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(100, 10, 1000, 0.8, 1.5, 0.2);
+        for (int i = 0; i < 200; i++) {
+            limit.onSample(10 * MILLI, 100);
+        }
+        int steadyLimit = limit.getLimit();
+
+        for (int i = 0; i < 50; i++) {
+            limit.onSample(80 * MILLI, steadyLimit);
+        }
+
+        assertThat(limit.getLimit()).isLessThan(steadyLimit / 2);
+        assertThat(limit.getLimit()).isGreaterThanOrEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("Should probe upwards while latency is stable and the limit is in use")
+    void shouldProbeUpwardsWhileLatencyIsStableAndLimitIsUsed() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(20, 10, 200, 0.8, 1.5, 0.2);
+
+        for (int i = 0; i < 100; i++) {
+            limit.onSample(10 * MILLI, limit.getLimit());
+        }
+
+        assertThat(limit.getLimit()).isEqualTo(200);
+    }
+
+    @Test
+    @DisplayName("Should hold the limit when traffic does not use it")
+    void shouldHoldLimitWhenTrafficDoesNotUseIt() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(100, 10, 1000, 0.8, 1.5, 0.2);
+
+        for (int i = 0; i < 100; i++) {
+            limit.onSample(10 * MILLI, 5);
+        }
+
+        assertThat(limit.getLimit()).isEqualTo(100);
+    }
+
+    @Test
+    @DisplayName("Should reserve headroom above the non-priority share for priority requests")
+    void shouldReserveHeadroomForPriorityRequests() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(10, 10, 10, 0.8, 1.5, 0.2);
+
+        for (int i = 0; i < 8; i++) {
+            assertThat(limit.tryAcquire(false)).isTrue();
+        }
+        assertThat(limit.tryAcquire(false)).isFalse();
+        assertThat(limit.tryAcquire(true)).isTrue();
+        assertThat(limit.tryAcquire(true)).isTrue();
+        assertThat(limit.tryAcquire(true)).isFalse();
+
+        limit.release(MILLI, true);
+        assertThat(limit.getInFlight()).isEqualTo(9);
+        assertThat(limit.getPriorityRejections()).isEqualTo(1);
+        assertThat(limit.getOtherRejections()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,133 @@
+package com.hitachi.smartpark.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.hitachi.smartpark.config.ExecutionLanes;
+import com.hitachi.smartpark.dto.ConcurrencyLimitStats;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Concurrency Limit Filter Tests")
+class ConcurrencyLimitFilterTest {
+
+    private ConcurrencyLimitFilter filter;
+    private ExecutorService executor;
+    private CountDownLatch release;
+
+    @BeforeEach
+    void setUp() {
+        filter = new ConcurrencyLimitFilter();
+        ReflectionTestUtils.setField(filter, "objectMapper", new ObjectMapper().registerModule(new JavaTimeModule()));
+        ReflectionTestUtils.setField(filter, "enabled", true);
+        ReflectionTestUtils.setField(filter, "initialLimit", 5);
+        ReflectionTestUtils.setField(filter, "minLimit", 5);
+        ReflectionTestUtils.setField(filter, "maxLimit", 5);
+        ReflectionTestUtils.setField(filter, "nonGateShare", 0.6);
+        ReflectionTestUtils.setField(filter, "rttTolerance", 1.5);
+        ReflectionTestUtils.setField(filter, "smoothing", 0.2);
+        filter.init();
+        executor = Executors.newCachedThreadPool();
+        release = new CountDownLatch(1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Should shed listing requests with 503 while still admitting gate operations")
+    void shouldShedListingRequestsWhileAdmittingGateOperations() throws Exception {
+        List<Future<MockHttpServletResponse>> held = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            held.add(executor.submit(() -> perform("GET", "/api/v1/vehicles")));
+        }
+        awaitInFlight(3);
+
+        MockHttpServletResponse shed = perform("GET", "/api/v1/parking-lots");
+        assertThat(shed.getStatus()).isEqualTo(503);
+        assertThat(shed.getHeader("Retry-After")).isEqualTo("1");
+        assertThat(shed.getContentAsString()).contains("\"status\":503");
+
+        held.add(executor.submit(() -> perform("POST", "/api/v1/vehicles/check-in")));
+        held.add(executor.submit(() -> perform("POST", "/api/v1/vehicles/ABC-123/check-out")));
+        awaitInFlight(5);
+        assertThat(perform("POST", "/api/v1/vehicles/check-in").getStatus()).isEqualTo(503);
+
+        release.countDown();
+        for (Future<MockHttpServletResponse> response : held) {
+            assertThat(response.get(5, TimeUnit.SECONDS).getStatus()).isEqualTo(200);
+        }
+
+        ConcurrencyLimitStats stats = filter.getStats();
+        assertThat(stats.getInFlight()).isZero();
+        assertThat(stats.getGateRejections()).isEqualTo(1);
+        assertThat(stats.getOtherRejections()).isEqualTo(1);
+        assertThat(stats.getLimit()).isEqualTo(5);
+        assertThat(stats.getShortRttMillis()).isPositive();
+    }
+
+    @Test
+    @DisplayName("Should hold the slot of a lane-backed async request until it completes")
+    void shouldHoldSlotOfLaneBackedAsyncRequestUntilItCompletes() throws Exception {
+        release.countDown();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/vehicles");
+        request.setAsyncSupported(true);
+
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            req.startAsync();
+            req.setAttribute(ExecutionLanes.LANE_ATTRIBUTE, ExecutionLanes.Lane.BULK);
+        });
+
+        assertThat(filter.getStats().getInFlight()).isEqualTo(1);
+        request.getAsyncContext().complete();
+        assertThat(filter.getStats().getInFlight()).isZero();
+        assertThat(filter.getStats().getShortRttMillis()).isPositive();
+    }
+
+    @Test
+    @DisplayName("Should leave requests outside the API untouched")
+    void shouldLeaveRequestsOutsideApiUntouched() throws Exception {
+        release.countDown();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/h2-console");
+
+        assertThat(filter.shouldNotFilter(request)).isTrue();
+    }
+
+    private void awaitInFlight(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (filter.getStats().getInFlight() < expected) {
+            assertThat(System.nanoTime()).isLessThan(deadline);
+            Thread.sleep(5);
+        }
+    }
+
+    private MockHttpServletResponse perform(String method, String uri) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, (req, res) -> {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        return response;
+    }
+}
@@ -0,0 +1,204 @@
+package com.hitachi.smartpark.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@DisplayName("JWT Authentication Filter Tests")
+class JwtAuthenticationFilterTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(JwtAuthenticationFilterTest.class);
+
+    private static final String SECRET = "SmartParkSecretKeyForJWTTokenGenerationAndValidationMustBeLongEnough";
+
+    private JwtUtil realJwtUtil;
+    private CustomUserDetailsService realUserDetailsService;
+    private JwtUtil jwtUtil;
+    private CustomUserDetailsService userDetailsService;
+    private JwtAuthenticationFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        realJwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(realJwtUtil, "secret", SECRET);
+        ReflectionTestUtils.setField(realJwtUtil, "expiration", 86400000L);
+        realJwtUtil.init();
+        jwtUtil = spy(realJwtUtil);
+
+        realUserDetailsService = new CustomUserDetailsService();
+        ReflectionTestUtils.setField(realUserDetailsService, "appUsername", "admin");
+        ReflectionTestUtils.setField(realUserDetailsService, "appPassword", "admin123");
+        realUserDetailsService.init();
+        userDetailsService = spy(realUserDetailsService);
+
+        filter = new JwtAuthenticationFilter(jwtUtil, userDetailsService, 100);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Should verify a token once and serve repeat requests from the cache")
+    void shouldVerifyTokenOnceAndServeRepeatRequestsFromCache() throws Exception {
+        String token = jwtUtil.generateToken("admin");
+
+        for (int i = 0; i < 3; i++) {
+            Authentication authentication = authenticate(token);
+            assertThat(authentication).isNotNull();
+            assertThat(authentication.getName()).isEqualTo("admin");
+        }
+
+        verify(jwtUtil, times(1)).extractAllClaims(token);
+        verify(userDetailsService, times(1)).loadUserByUsername("admin");
+        assertThat(filter.getCachedTokenCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should leave requests with invalid tokens unauthenticated and uncached")
+    void shouldLeaveInvalidTokensUnauthenticatedAndUncached() throws Exception {
+        String token = jwtUtil.generateToken("admin");
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+        assertThat(authenticate(tampered)).isNull();
+        assertThat(authenticate("invalid.token.here")).isNull();
+        assertThat(filter.getCachedTokenCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should not authenticate with an expired token")
+    void shouldNotAuthenticateWithExpiredToken() throws Exception {
+        ReflectionTestUtils.setField(jwtUtil, "expiration", -1000L);
+        String token = jwtUtil.generateToken("admin");
+
+        assertThat(authenticate(token)).isNull();
+        assertThat(filter.getCachedTokenCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should evict cached tokens once the cache reaches its bound")
+    void shouldEvictCachedTokensAtBound() throws Exception {
+        for (String token : distinctTokens(150)) {
+            assertThat(authenticate(token)).isNotNull();
+        }
+
+        assertThat(filter.getCachedTokenCount()).isLessThanOrEqualTo(100);
+    }
+
+    @Test
+    @DisplayName("Should verify a cached token again once it reaches its expiry")
+    void shouldVerifyCachedTokenAgainAtExpiry() throws Exception {
+        long expiresAtMillis = (System.currentTimeMillis() / 1000 + 2) * 1000;
+        String token = Jwts.builder().subject("admin").expiration(new Date(expiresAtMillis))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8))).compact();
+
+        assertThat(authenticate(token)).isNotNull();
+        assertThat(authenticate(token)).isNotNull();
+        verify(jwtUtil, times(1)).extractAllClaims(token);
+
+        Thread.sleep(expiresAtMillis - System.currentTimeMillis() + 50);
+
+        assertThat(authenticate(token)).isNull();
+        verify(jwtUtil, times(2)).extractAllClaims(token);
+    }
+
+    @Test
+    @Tag("perf")
+    @DisplayName("Should authenticate far cheaper than the per-request parse and hash path")
+    void shouldAuthenticateFarCheaperThanLegacyPath() throws Exception {
+        String token = jwtUtil.generateToken("admin");
+        BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
+        int legacyRequests = 20;
+        int cachedRequests = 50_000;
+        String[] uncachedTokens = distinctTokens(2_000);
+        filter = new JwtAuthenticationFilter(realJwtUtil, realUserDetailsService, 100);
+
+        legacyAuthenticate(token, passwordEncoder);
+        long legacyStartedAt = System.nanoTime();
+        for (int i = 0; i < legacyRequests; i++) {
+            legacyAuthenticate(token, passwordEncoder);
+        }
+        double legacyMicros = (System.nanoTime() - legacyStartedAt) / 1_000.0 / legacyRequests;
+
+        for (int i = 0; i < 5_000; i++) {
+            authenticate(token);
+        }
+        long uncachedStartedAt = System.nanoTime();
+        for (String uncachedToken : uncachedTokens) {
+            authenticate(uncachedToken);
+        }
+        double uncachedMicros = (System.nanoTime() - uncachedStartedAt) / 1_000.0 / uncachedTokens.length;
+
+        long cachedStartedAt = System.nanoTime();
+        for (int i = 0; i < cachedRequests; i++) {
+            authenticate(token);
+        }
+        double cachedMicros = (System.nanoTime() - cachedStartedAt) / 1_000.0 / cachedRequests;
+
+        logger.info("JWT filter cost per request: parse-and-hash path {} us, first use of a token {} us, " +
+                        "cached token {} us", String.format("%.1f", legacyMicros),
+                String.format("%.1f", uncachedMicros), String.format("%.1f", cachedMicros));
+
+        assertThat(uncachedMicros).isLessThan(legacyMicros);
+        assertThat(cachedMicros).isLessThan(uncachedMicros);
+    }
+
+    private Authentication authenticate(String token) throws Exception {
+        SecurityContextHolder.clearContext();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/parking-lots");
+        request.addHeader("Authorization", "Bearer " + token);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    private static String[] distinctTokens(int count) {
+        SecretKey key = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        Date expiration = new Date(System.currentTimeMillis() + 60_000);
+        String[] tokens = new String[count];
+        for (int i = 0; i < count; i++) {
+            tokens[i] = Jwts.builder().id(String.valueOf(i)).subject("admin").expiration(expiration)
+                    .signWith(key).compact();
+        }
+        return tokens;
+    }
+
+    private static boolean legacyAuthenticate(String token, BCryptPasswordEncoder passwordEncoder) {
+        String username = legacyClaims(token).getSubject();
+        passwordEncoder.encode("admin123");
+        return legacyClaims(token).getSubject().equals(username)
+                && !legacyClaims(token).getExpiration().before(new Date());
+    }
+
+    private static Claims legacyClaims(String token) {
+        SecretKey key = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        return Jwts.parser()
+                .verifyWith(key)
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+}
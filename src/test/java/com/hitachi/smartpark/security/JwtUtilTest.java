@@ -19,6 +19,7 @@ class JwtUtilTest {
         jwtUtil = new JwtUtil();
         ReflectionTestUtils.setField(jwtUtil, "secret", "SmartParkSecretKeyForJWTTokenGenerationAndValidationMustBeLongEnough");
         ReflectionTestUtils.setField(jwtUtil, "expiration", 86400000L);
+        jwtUtil.init();
     }
 
     @Test
@@ -78,6 +79,7 @@ class JwtUtilTest {
         JwtUtil shortLivedJwtUtil = new JwtUtil();
         ReflectionTestUtils.setField(shortLivedJwtUtil, "secret", "SmartParkSecretKeyForJWTTokenGenerationAndValidationMustBeLongEnough");
         ReflectionTestUtils.setField(shortLivedJwtUtil, "expiration", -1000L);
+        shortLivedJwtUtil.init();
 
         String token = shortLivedJwtUtil.generateToken("admin");
 
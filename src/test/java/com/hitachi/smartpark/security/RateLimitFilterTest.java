@@ -0,0 +1,179 @@
+package com.hitachi.smartpark.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Rate Limit Filter Tests")
+class RateLimitFilterTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(RateLimitFilterTest.class);
+
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        filter = new RateLimitFilter();
+        ReflectionTestUtils.setField(filter, "objectMapper", new ObjectMapper().registerModule(new JavaTimeModule()));
+        ReflectionTestUtils.setField(filter, "enabled", true);
+        ReflectionTestUtils.setField(filter, "maxClients", 1000L);
+        ReflectionTestUtils.setField(filter, "idleTimeoutMillis", 600000L);
+        ReflectionTestUtils.setField(filter, "authCapacity", 2);
+        ReflectionTestUtils.setField(filter, "authPerSecond", 0.1);
+        ReflectionTestUtils.setField(filter, "gateCapacity", 3);
+        ReflectionTestUtils.setField(filter, "gatePerSecond", 0.5);
+        ReflectionTestUtils.setField(filter, "writeCapacity", 3);
+        ReflectionTestUtils.setField(filter, "writePerSecond", 0.5);
+        ReflectionTestUtils.setField(filter, "readCapacity", 3);
+        ReflectionTestUtils.setField(filter, "readPerSecond", 0.5);
+        filter.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Should reject a client over its limit with 429 and Retry-After")
+    void shouldRejectClientOverLimitWith429AndRetryAfter() throws Exception {
+        authenticateAs("gate-1");
+        for (int i = 0; i < 3; i++) {
+            assertThat(perform("POST", "/api/v1/vehicles/check-in").getStatus()).isEqualTo(200);
+        }
+
+        MockHttpServletResponse rejected = perform("POST", "/api/v1/vehicles/check-in");
+
+        assertThat(rejected.getStatus()).isEqualTo(429);
+        assertThat(rejected.getHeader("Retry-After")).isEqualTo("2");
+        assertThat(rejected.getContentAsString()).contains("\"status\":429", "Too Many Requests");
+    }
+
+    @Test
+    @DisplayName("Should keep separate buckets per client and per endpoint group")
+    void shouldKeepSeparateBucketsPerClientAndGroup() throws Exception {
+        authenticateAs("gate-1");
+        for (int i = 0; i < 3; i++) {
+            perform("POST", "/api/v1/vehicles/ABC-123/check-out");
+        }
+        assertThat(perform("POST", "/api/v1/vehicles/gate-events").getStatus()).isEqualTo(429);
+        assertThat(perform("GET", "/api/v1/parking-lots").getStatus()).isEqualTo(200);
+        assertThat(perform("POST", "/api/v1/parking-lots").getStatus()).isEqualTo(200);
+
+        authenticateAs("gate-2");
+        assertThat(perform("POST", "/api/v1/vehicles/check-in").getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    @DisplayName("Should fall back to the client address for unauthenticated requests")
+    void shouldFallBackToClientAddressForUnauthenticatedRequests() throws Exception {
+        assertThat(perform("POST", "/api/v1/auth/login", "10.0.0.1").getStatus()).isEqualTo(200);
+        assertThat(perform("POST", "/api/v1/auth/login", "10.0.0.1").getStatus()).isEqualTo(200);
+        assertThat(perform("POST", "/api/v1/auth/login", "10.0.0.1").getStatus()).isEqualTo(429);
+        assertThat(perform("POST", "/api/v1/auth/login", "10.0.0.2").getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    @DisplayName("Should classify endpoints into groups")
+    void shouldClassifyEndpointsIntoGroups() {
+        assertThat(RateLimitFilter.resolveGroup(new MockHttpServletRequest("POST", "/api/v1/auth/login")))
+                .isEqualTo(RateLimitFilter.Group.AUTH);
+        for (String gatePath : List.of("/api/v1/vehicles/check-in", "/api/v1/vehicles/ABC/check-out",
+                "/api/v1/vehicles/batch", "/api/v1/vehicles/gate-events")) {
+            assertThat(RateLimitFilter.resolveGroup(new MockHttpServletRequest("POST", gatePath)))
+                    .isEqualTo(RateLimitFilter.Group.GATE);
+        }
+        assertThat(RateLimitFilter.resolveGroup(new MockHttpServletRequest("POST", "/api/v1/vehicles")))
+                .isEqualTo(RateLimitFilter.Group.WRITE);
+        assertThat(RateLimitFilter.resolveGroup(new MockHttpServletRequest("GET", "/api/v1/vehicles/gate-events/1")))
+                .isEqualTo(RateLimitFilter.Group.READ);
+    }
+
+    @Test
+    @DisplayName("Should bound limiter state by the configured number of clients")
+    void shouldBoundLimiterStateByConfiguredClients() {
+        for (int i = 0; i < 5000; i++) {
+            filter.tryAcquire(RateLimitFilter.Group.READ, "client-" + i, System.nanoTime());
+        }
+
+        assertThat(filter.getTrackedClientCount(RateLimitFilter.Group.READ)).isLessThanOrEqualTo(1000);
+    }
+
+    @Test
+    @DisplayName("Should admit every request while tokens refill faster than clients spend them")
+    void shouldAdmitEveryRequestWhileTokensRefillFaster() {
+        ReflectionTestUtils.setField(filter, "readCapacity", 100);
+        ReflectionTestUtils.setField(filter, "readPerSecond", 1e9);
+        filter.init();
+
+        long denied = 0;
+        for (int i = 0; i < 10_000; i++) {
+            denied += filter.tryAcquire(RateLimitFilter.Group.READ, "client-" + (i & 63), System.nanoTime());
+        }
+
+        assertThat(denied).isZero();
+        assertThat(filter.getTrackedClientCount(RateLimitFilter.Group.READ)).isEqualTo(64);
+    }
+
+    @Test
+    @Tag("perf")
+    @DisplayName("Should add only microseconds per admitted request")
+    void shouldAddOnlyMicrosecondsPerAdmittedRequest() {
+        ReflectionTestUtils.setField(filter, "readCapacity", Integer.MAX_VALUE);
+        ReflectionTestUtils.setField(filter, "readPerSecond", 1e9);
+        filter.init();
+        String[] clients = new String[64];
+        for (int i = 0; i < clients.length; i++) {
+            clients[i] = "gate-" + i;
+        }
+        int iterations = 2_000_000;
+
+        long denied = 0;
+        for (int i = 0; i < iterations / 4; i++) {
+            denied += filter.tryAcquire(RateLimitFilter.Group.READ, clients[i & 63], System.nanoTime());
+        }
+        long startedAt = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            denied += filter.tryAcquire(RateLimitFilter.Group.READ, clients[i & 63], System.nanoTime());
+        }
+        double nanosPerRequest = (double) (System.nanoTime() - startedAt) / iterations;
+        logger.info("Rate limiter cost per admitted request: {} ns across {} clients",
+                String.format("%.0f", nanosPerRequest), clients.length);
+
+        assertThat(denied).isZero();
+        assertThat(nanosPerRequest).isLessThan(20_000);
+    }
+
+    private void authenticateAs(String principal) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, List.of()));
+    }
+
+    private MockHttpServletResponse perform(String method, String uri) throws Exception {
+        return perform(method, uri, "127.0.0.1");
+    }
+
+    private MockHttpServletResponse perform(String method, String uri, String remoteAddr) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        request.setRemoteAddr(remoteAddr);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+}
@@ -0,0 +1,288 @@
+package com.hitachi.smartpark.service;
+
+import com.hitachi.smartpark.entity.VehicleType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+@DisplayName("Event Journal Tests")
+class EventJournalTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(EventJournalTest.class);
+
+    @TempDir
+    Path directory;
+
+    private final List<EventJournal> journals = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        journals.forEach(EventJournal::close);
+    }
+
+    @Test
+    @DisplayName("Should replay appended events in sequence order")
+    void shouldReplayAppendedEventsInSequenceOrder() throws IOException {
+        EventJournal journal = openJournal(1024 * 1024);
+        LocalDateTime checkInTime = LocalDateTime.of(2024, 5, 1, 8, 30, 15, 123_456_000);
+
+        assertThat(journal.append(JournalEventType.CHECK_IN, "ABC-123", "LOT-001", VehicleType.CAR, checkInTime))
+                .isEqualTo(1);
+        assertThat(journal.append(JournalEventType.CHECK_OUT, "ABC-123", "LOT-001", VehicleType.CAR,
+                checkInTime.plusHours(1))).isEqualTo(2);
+        assertThat(journal.append(JournalEventType.OVERSTAY_REMOVED, "ÄBC-9", "LOT-002", null,
+                checkInTime.plusHours(2))).isEqualTo(3);
+
+        List<String> events = new ArrayList<>();
+        long replayed = journal.replay(1, (sequence, type, plate, lotId, vehicleType, eventTime) ->
+                events.add(sequence + ":" + type + ":" + plate + ":" + lotId + ":" + vehicleType + ":" + eventTime));
+
+        assertThat(replayed).isEqualTo(3);
+        assertThat(events).containsExactly(
+                "1:CHECK_IN:ABC-123:LOT-001:CAR:" + checkInTime,
+                "2:CHECK_OUT:ABC-123:LOT-001:CAR:" + checkInTime.plusHours(1),
+                "3:OVERSTAY_REMOVED:ÄBC-9:LOT-002:null:" + checkInTime.plusHours(2));
+    }
+
+    @Test
+    @DisplayName("Should roll over segments and replay from a later sequence")
+    void shouldRollOverSegmentsAndReplayFromLaterSequence() throws IOException {
+        EventJournal journal = openJournal(1024);
+        LocalDateTime now = LocalDateTime.now();
+
+        for (int i = 0; i < 200; i++) {
+            journal.append(JournalEventType.CHECK_IN, "PLATE-" + i, "LOT-001", VehicleType.CAR, now);
+        }
+
+        assertThat(segmentCount()).isGreaterThan(1);
+        List<Long> sequences = new ArrayList<>();
+        journal.replay(150, (sequence, type, plate, lotId, vehicleType, eventTime) -> sequences.add(sequence));
+        assertThat(sequences).hasSize(51);
+        assertThat(sequences.get(0)).isEqualTo(150);
+        assertThat(sequences.get(50)).isEqualTo(200);
+    }
+
+    @Test
+    @DisplayName("Should resume after the last valid record when the tail is torn")
+    void shouldResumeAfterLastValidRecordWhenTailIsTorn() throws IOException {
+        EventJournal journal = openJournal(4096);
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < 10; i++) {
+            journal.append(JournalEventType.CHECK_IN, "PLATE-" + i, "LOT-001", VehicleType.CAR, now);
+        }
+        journal.close();
+        journals.remove(journal);
+
+        Path segment;
+        try (Stream<Path> files = Files.list(directory)) {
+            segment = files.findFirst().orElseThrow();
+        }
+        int recordSize = JournalSegment.RECORD_HEADER_SIZE + 8 + 8 + 1 + 1 + 1 + "PLATE-0".length() + 1 + "LOT-001".length();
+        try (RandomAccessFile file = new RandomAccessFile(segment.toFile(), "rw")) {
+            file.seek(JournalSegment.HEADER_SIZE + 9L * recordSize + JournalSegment.RECORD_HEADER_SIZE + 3);
+            file.write(0x7F);
+        }
+
+        EventJournal reopened = openJournal(4096);
+        assertThat(reopened.getAppendedSequence()).isEqualTo(9);
+        assertThat(reopened.append(JournalEventType.CHECK_OUT, "PLATE-0", "LOT-001", VehicleType.CAR, now))
+                .isEqualTo(10);
+
+        List<Long> sequences = new ArrayList<>();
+        reopened.replay(1, (sequence, type, plate, lotId, vehicleType, eventTime) -> sequences.add(sequence));
+        assertThat(sequences).hasSize(10);
+        assertThat(sequences.get(9)).isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("Should not replay stale records left behind a torn record")
+    void shouldNotReplayStaleRecordsLeftBehindTornRecord() throws IOException {
+        EventJournal journal = openJournal(4096);
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < 10; i++) {
+            journal.append(JournalEventType.CHECK_IN, "PLATE-" + i, "LOT-001", VehicleType.CAR, now);
+        }
+        journal.close();
+        journals.remove(journal);
+
+        Path segment;
+        try (Stream<Path> files = Files.list(directory)) {
+            segment = files.findFirst().orElseThrow();
+        }
+        int recordSize = JournalSegment.RECORD_HEADER_SIZE + 8 + 8 + 1 + 1 + 1 + "PLATE-0".length() + 1 + "LOT-001".length();
+        try (RandomAccessFile file = new RandomAccessFile(segment.toFile(), "rw")) {
+            file.seek(JournalSegment.HEADER_SIZE + 4L * recordSize + JournalSegment.RECORD_HEADER_SIZE + 3);
+            file.write(0x7F);
+        }
+
+        EventJournal reopened = openJournal(4096);
+        assertThat(reopened.getAppendedSequence()).isEqualTo(4);
+        reopened.append(JournalEventType.CHECK_OUT, "PLATE-0", "LOT-001", VehicleType.CAR, now);
+
+        List<Long> sequences = new ArrayList<>();
+        reopened.replay(1, (sequence, type, plate, lotId, vehicleType, eventTime) -> sequences.add(sequence));
+        assertThat(sequences).containsExactly(1L, 2L, 3L, 4L, 5L);
+    }
+
+    @Test
+    @DisplayName("Should mark appended events durable through the group commit flusher")
+    void shouldMarkAppendedEventsDurable() throws Exception {
+        EventJournal journal = openJournal(1024 * 1024);
+
+        long sequence = journal.append(JournalEventType.CHECK_IN, "ABC-123", "LOT-001", VehicleType.CAR,
+                LocalDateTime.now());
+
+        assertThat(journal.awaitDurable(sequence, 5, TimeUnit.SECONDS)).isTrue();
+        assertThat(journal.getDurableSequence()).isGreaterThanOrEqualTo(sequence);
+    }
+
+    @Test
+    @DisplayName("Should build active sessions from the journal")
+    void shouldBuildActiveSessionsFromJournal() throws IOException {
+        EventJournal journal = openJournal(1024 * 1024);
+        LocalDateTime now = LocalDateTime.now();
+        journal.append(JournalEventType.CHECK_IN, "ABC-123", "LOT-001", VehicleType.CAR, now);
+        journal.append(JournalEventType.CHECK_IN, "XYZ-789", "LOT-001", VehicleType.TRUCK, now);
+        journal.append(JournalEventType.CHECK_IN, "MOTO-1", "LOT-002", VehicleType.MOTORCYCLE, now);
+        journal.append(JournalEventType.CHECK_OUT, "ABC-123", "LOT-001", VehicleType.CAR, now);
+        journal.append(JournalEventType.OVERSTAY_REMOVED, "MOTO-1", "LOT-002", null, now);
+
+        JournalSessionProjection projection = new JournalSessionProjection();
+        journal.replay(1, projection);
+
+        assertThat(projection.getSessions()).hasSize(1);
+        assertThat(projection.getSessions().get(0).getLicensePlate()).isEqualTo("XYZ-789");
+        assertThat(projection.getOccupancyByLot()).containsEntry("LOT-001", 1).doesNotContainKey("LOT-002");
+        assertThat(projection.getLastSequence()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("Should append buffered events once after commit and count failed appends")
+    void shouldAppendBufferedEventsAfterCommitAndCountFailures() throws IOException {
+        EventJournal journal = openJournal(1024 * 1024);
+        LocalDateTime now = LocalDateTime.now();
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            journal.appendAfterCommit(JournalEventType.CHECK_IN, "ABC-123", "LOT-001", VehicleType.CAR, now);
+            journal.appendAfterCommit(JournalEventType.CHECK_IN, null, "LOT-001", VehicleType.CAR, now);
+            journal.appendAfterCommit(JournalEventType.CHECK_IN, "XYZ-789", "LOT-001", VehicleType.CAR, now);
+
+            List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+            assertThat(synchronizations).hasSize(1);
+            assertThat(journal.getAppendedSequence()).isZero();
+
+            synchronizations.forEach(TransactionSynchronization::afterCommit);
+            synchronizations.forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(journal.getAppendedSequence()).isEqualTo(2);
+        assertThat(journal.getAppendFailures()).isEqualTo(1);
+        assertThat(TransactionSynchronizationManager.hasResource(journal)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should drop buffered events when the transaction rolls back")
+    void shouldDropBufferedEventsOnRollback() throws IOException {
+        EventJournal journal = openJournal(1024 * 1024);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            journal.appendAfterCommit(JournalEventType.CHECK_IN, "ABC-123", "LOT-001", VehicleType.CAR,
+                    LocalDateTime.now());
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(journal.getAppendedSequence()).isZero();
+        assertThat(TransactionSynchronizationManager.hasResource(journal)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should release replay mappings once the segments are scanned")
+    void shouldReleaseReplayMappings() throws IOException {
+        Path maps = Path.of("/proc/self/maps");
+        assumeTrue(Files.isReadable(maps));
+        EventJournal journal = openJournal(1024);
+        for (int i = 0; i < 50; i++) {
+            journal.append(JournalEventType.CHECK_IN, "PLATE-" + i, "LOT-001", VehicleType.CAR, LocalDateTime.now());
+        }
+        long mappedBefore = mappedSegments(maps);
+
+        journal.replay(1, (sequence, type, plate, lotId, vehicleType, eventTime) -> { });
+
+        assertThat(segmentCount()).isGreaterThan(1);
+        assertThat(mappedSegments(maps)).isEqualTo(mappedBefore);
+    }
+
+    @Test
+    @DisplayName("Should append events without blocking on fsync")
+    void shouldAppendEventsWithoutBlockingOnFsync() throws IOException {
+        EventJournal journal = openJournal(64 * 1024 * 1024);
+        LocalDateTime now = LocalDateTime.now();
+        String[] plates = new String[1024];
+        for (int i = 0; i < plates.length; i++) {
+            plates[i] = "PLATE-" + i;
+        }
+
+        for (int i = 0; i < 50_000; i++) {
+            journal.append(JournalEventType.CHECK_IN, plates[i & 1023], "LOT-001", VehicleType.CAR, now);
+        }
+        int events = 200_000;
+        long startedAt = System.nanoTime();
+        for (int i = 0; i < events; i++) {
+            journal.append(JournalEventType.CHECK_IN, plates[i & 1023], "LOT-001", VehicleType.CAR, now);
+        }
+        long elapsed = System.nanoTime() - startedAt;
+
+        logger.info("Appended {} journal events in {} ms ({} ns/event)",
+                events, elapsed / 1_000_000, elapsed / events);
+        assertThat(journal.getAppendedSequence()).isEqualTo(250_000);
+    }
+
+    private EventJournal openJournal(int segmentSize) throws IOException {
+        EventJournal journal = new EventJournal();
+        ReflectionTestUtils.setField(journal, "enabled", true);
+        ReflectionTestUtils.setField(journal, "directory", directory.toString());
+        ReflectionTestUtils.setField(journal, "segmentSize", segmentSize);
+        ReflectionTestUtils.setField(journal, "flushIntervalMillis", 1L);
+        journal.open();
+        journals.add(journal);
+        return journal;
+    }
+
+    private long mappedSegments(Path maps) throws IOException {
+        try (Stream<String> lines = Files.lines(maps)) {
+            return lines.filter(line -> line.contains(directory.toString())).count();
+        }
+    }
+
+    private long segmentCount() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.count();
+        }
+    }
+}
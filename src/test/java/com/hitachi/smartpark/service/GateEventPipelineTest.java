@@ -0,0 +1,166 @@
+package com.hitachi.smartpark.service;
+
+import com.hitachi.smartpark.dto.GateEventBatchResponse;
+import com.hitachi.smartpark.dto.GateEventReceipt;
+import com.hitachi.smartpark.dto.GateEventRequest;
+import com.hitachi.smartpark.dto.GateEventResult;
+import com.hitachi.smartpark.dto.GateEventState;
+import com.hitachi.smartpark.dto.GateEventStatus;
+import com.hitachi.smartpark.dto.GateEventType;
+import com.hitachi.smartpark.exception.ResourceNotFoundException;
+import com.hitachi.smartpark.exception.ServiceOverloadedException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Gate Event Pipeline Tests")
+class GateEventPipelineTest {
+
+    @Mock
+    private VehicleService vehicleService;
+
+    @InjectMocks
+    private GateEventPipeline gateEventPipeline;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(gateEventPipeline, "shardCount", 1);
+        ReflectionTestUtils.setField(gateEventPipeline, "bufferSize", 4);
+        ReflectionTestUtils.setField(gateEventPipeline, "maxGroupSize", 8);
+        ReflectionTestUtils.setField(gateEventPipeline, "resultRetention", 16);
+        ReflectionTestUtils.setField(gateEventPipeline, "shutdownTimeoutMillis", 5000L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (gateEventPipeline.isRunning()) {
+            gateEventPipeline.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("Should acknowledge immediately and complete the event asynchronously")
+    void shouldAcknowledgeAndCompleteAsynchronously() throws Exception {
+        when(vehicleService.processGateEvents(anyList())).thenAnswer(invocation -> succeedAll(invocation.getArgument(0)));
+        gateEventPipeline.start();
+
+        GateEventReceipt accepted = gateEventPipeline.submit(checkIn("ABC-123"));
+
+        assertThat(accepted.getState()).isEqualTo(GateEventState.PENDING);
+        GateEventReceipt completed = awaitCompletion(accepted.getEventId());
+        assertThat(completed.getResult().getStatus()).isEqualTo(GateEventStatus.SUCCESS);
+        assertThat(completed.getResult().getLicensePlate()).isEqualTo("ABC-123");
+    }
+
+    @Test
+    @DisplayName("Should push back when the buffer is full")
+    void shouldPushBackWhenBufferIsFull() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch committing = new CountDownLatch(1);
+        when(vehicleService.processGateEvents(anyList())).thenAnswer(invocation -> {
+            committing.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return succeedAll(invocation.getArgument(0));
+        });
+        gateEventPipeline.start();
+
+        gateEventPipeline.submit(checkIn("FIRST-1"));
+        assertThat(committing.await(5, TimeUnit.SECONDS)).isTrue();
+        for (int i = 0; i < 4; i++) {
+            gateEventPipeline.submit(checkIn("QUEUED-" + i));
+        }
+
+        assertThatThrownBy(() -> gateEventPipeline.submit(checkIn("OVERFLOW-1")))
+                .isInstanceOf(ServiceOverloadedException.class);
+        release.countDown();
+        assertThatThrownBy(() -> gateEventPipeline.getReceipt(6))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    @DisplayName("Should drain every accepted event on shutdown and then refuse new ones")
+    void shouldDrainAcceptedEventsOnShutdown() {
+        List<String> committed = new ArrayList<>();
+        when(vehicleService.processGateEvents(anyList())).thenAnswer(invocation -> {
+            List<GateEventRequest> group = invocation.getArgument(0);
+            Thread.sleep(20);
+            group.forEach(event -> committed.add(event.getLicensePlate()));
+            return succeedAll(group);
+        });
+        gateEventPipeline.start();
+
+        List<Long> eventIds = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            eventIds.add(gateEventPipeline.submit(checkIn("DRAIN-" + i)).getEventId());
+        }
+        gateEventPipeline.stop();
+
+        assertThat(committed).containsExactly("DRAIN-0", "DRAIN-1", "DRAIN-2", "DRAIN-3");
+        for (long eventId : eventIds) {
+            assertThat(gateEventPipeline.getReceipt(eventId).getState()).isEqualTo(GateEventState.COMPLETED);
+        }
+        assertThatThrownBy(() -> gateEventPipeline.submit(checkIn("LATE-1")))
+                .isInstanceOf(ServiceOverloadedException.class);
+    }
+
+    @Test
+    @DisplayName("Should mark the whole group as failed when the commit fails")
+    void shouldMarkGroupAsFailedWhenCommitFails() throws Exception {
+        when(vehicleService.processGateEvents(anyList())).thenThrow(new IllegalStateException("database unavailable"));
+        gateEventPipeline.start();
+
+        long eventId = gateEventPipeline.submit(checkIn("ABC-123")).getEventId();
+
+        GateEventReceipt receipt = awaitCompletion(eventId);
+        assertThat(receipt.getResult().getStatus()).isEqualTo(GateEventStatus.FAILED);
+        assertThat(receipt.getResult().getMessage()).isEqualTo("database unavailable");
+    }
+
+    @Test
+    @DisplayName("Should reject unknown event ids")
+    void shouldRejectUnknownEventIds() {
+        gateEventPipeline.start();
+
+        assertThatThrownBy(() -> gateEventPipeline.getReceipt(42))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    private GateEventReceipt awaitCompletion(long eventId) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        GateEventReceipt receipt = gateEventPipeline.getReceipt(eventId);
+        while (receipt.getState() != GateEventState.COMPLETED && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+            receipt = gateEventPipeline.getReceipt(eventId);
+        }
+        return receipt;
+    }
+
+    private static GateEventRequest checkIn(String licensePlate) {
+        return new GateEventRequest(GateEventType.CHECK_IN, licensePlate, "LOT-001");
+    }
+
+    private static GateEventBatchResponse succeedAll(List<GateEventRequest> group) {
+        List<GateEventResult> results = new ArrayList<>();
+        for (int i = 0; i < group.size(); i++) {
+            results.add(GateEventResult.of(i, group.get(i), GateEventStatus.SUCCESS, null));
+        }
+        return new GateEventBatchResponse(group.size(), group.size(), 0, results);
+    }
+}
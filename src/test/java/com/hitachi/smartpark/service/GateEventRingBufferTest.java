@@ -0,0 +1,105 @@
+package com.hitachi.smartpark.service;
+
+import com.hitachi.smartpark.dto.GateEventRequest;
+import com.hitachi.smartpark.dto.GateEventType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Gate Event Ring Buffer Tests")
+class GateEventRingBufferTest {
+
+    private final GateEventRequest event = new GateEventRequest(GateEventType.CHECK_IN, "ABC-123", "LOT-001");
+
+    @Test
+    @DisplayName("Should reject capacities that are not a power of two")
+    void shouldRejectNonPowerOfTwoCapacity() {
+        assertThatThrownBy(() -> new GateEventRingBuffer(100))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Should refuse offers when full and accept again after draining")
+    void shouldRefuseOffersWhenFull() {
+        GateEventRingBuffer buffer = new GateEventRingBuffer(4);
+        AtomicLong ids = new AtomicLong(1);
+
+        for (int i = 1; i <= 4; i++) {
+            assertThat(buffer.offer(ids::getAndIncrement, event)).isEqualTo(i);
+        }
+        assertThat(buffer.offer(ids::getAndIncrement, event)).isNegative();
+        assertThat(ids.get()).isEqualTo(5);
+
+        List<Long> drained = new ArrayList<>();
+        assertThat(buffer.drain((eventId, e) -> drained.add(eventId), 2)).isEqualTo(2);
+        assertThat(drained).containsExactly(1L, 2L);
+        assertThat(buffer.offer(ids::getAndIncrement, event)).isEqualTo(5);
+        assertThat(buffer.size()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should deliver every event exactly once with concurrent producers")
+    void shouldDeliverEveryEventExactlyOnceWithConcurrentProducers() throws Exception {
+        int producers = 4;
+        int perProducer = 20_000;
+        GateEventRingBuffer buffer = new GateEventRingBuffer(1024);
+        AtomicLong ids = new AtomicLong();
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        CountDownLatch done = new CountDownLatch(producers);
+        for (int p = 0; p < producers; p++) {
+            executor.execute(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    while (buffer.offer(ids::getAndIncrement, event) < 0) {
+                        Thread.onSpinWait();
+                    }
+                }
+                done.countDown();
+            });
+        }
+
+        BitSet seen = new BitSet();
+        int received = 0;
+        while (received < producers * perProducer) {
+            received += buffer.drain((eventId, e) -> {
+                assertThat(seen.get((int) eventId)).isFalse();
+                seen.set((int) eventId);
+            }, 256);
+        }
+
+        assertThat(done.await(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(seen.cardinality()).isEqualTo(producers * perProducer);
+        assertThat(buffer.size()).isZero();
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Should wake a waiting consumer as soon as an event is offered")
+    void shouldWakeWaitingConsumerWhenEventIsOffered() throws Exception {
+        GateEventRingBuffer buffer = new GateEventRingBuffer(4);
+        CountDownLatch woken = new CountDownLatch(1);
+        Thread consumer = new Thread(() -> {
+            buffer.awaitEvents(TimeUnit.SECONDS.toNanos(30));
+            woken.countDown();
+        });
+        consumer.start();
+        while (consumer.getState() != Thread.State.TIMED_WAITING) {
+            Thread.onSpinWait();
+        }
+
+        buffer.offer(() -> 1L, event);
+
+        assertThat(woken.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(buffer.isEmpty()).isFalse();
+    }
+}
@@ -0,0 +1,141 @@
+package com.hitachi.smartpark.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Occupancy Broadcaster Tests")
+class OccupancyBroadcasterTest {
+
+    @Mock
+    private OccupancyEngine occupancyEngine;
+
+    @InjectMocks
+    private OccupancyBroadcaster occupancyBroadcaster;
+
+    private LotOccupancy lot;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(occupancyBroadcaster, "objectMapper", new ObjectMapper());
+        ReflectionTestUtils.setField(occupancyBroadcaster, "windowMillis", 60_000L);
+        ReflectionTestUtils.setField(occupancyBroadcaster, "heartbeatMillis", 60_000L);
+        ReflectionTestUtils.setField(occupancyBroadcaster, "senders", 1);
+        ReflectionTestUtils.setField(occupancyBroadcaster, "emitterTimeoutMillis", 60_000L);
+        ReflectionTestUtils.setField(occupancyBroadcaster, "maxLagMillis", 60_000L);
+        ReflectionTestUtils.setField(occupancyBroadcaster, "sendTimeoutMillis", 60_000L);
+        occupancyBroadcaster.start();
+        lot = new LotOccupancy("LOT-001", "Test Location", 10, 0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        occupancyBroadcaster.stop();
+    }
+
+    @Test
+    @DisplayName("Should publish a lot once per version change however many check-ins it absorbed")
+    void shouldPublishLotOncePerVersionChange() {
+        when(occupancyEngine.snapshotLots()).thenReturn(List.of(lot));
+
+        assertThat(occupancyBroadcaster.publishChanges()).isEqualTo(1);
+        assertThat(occupancyBroadcaster.publishChanges()).isZero();
+
+        for (int i = 0; i < 5; i++) {
+            lot.tryAcquire();
+        }
+
+        assertThat(occupancyBroadcaster.publishChanges()).isEqualTo(1);
+        assertThat(occupancyBroadcaster.publishChanges()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should register a subscriber for each opened stream")
+    void shouldRegisterSubscriberForEachOpenedStream() {
+        when(occupancyEngine.getStatuses(List.of("LOT-001"))).thenReturn(List.of(lot.getStatus()));
+
+        occupancyBroadcaster.subscribe("LOT-001");
+
+        assertThat(occupancyBroadcaster.getSubscriberCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should complete the stream of a subscriber dropped for lagging")
+    void shouldCompleteStreamOfLaggingSubscriber() throws Exception {
+        ReflectionTestUtils.setField(occupancyBroadcaster, "maxLagMillis", 1L);
+        when(occupancyEngine.getStatuses(null)).thenReturn(List.of());
+        when(occupancyEngine.snapshotLots()).thenReturn(List.of(lot));
+        ExecutorService sender = (ExecutorService) ReflectionTestUtils.getField(occupancyBroadcaster, "sender");
+        CountDownLatch release = new CountDownLatch(1);
+        sender.execute(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        SseEmitter emitter = occupancyBroadcaster.subscribe(null);
+        occupancyBroadcaster.publishChanges();
+        lot.tryAcquire();
+        Thread.sleep(5);
+        occupancyBroadcaster.publishChanges();
+        release.countDown();
+
+        assertThat(occupancyBroadcaster.getSubscriberCount()).isZero();
+        assertThatThrownBy(() -> emitter.send("late")).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @DisplayName("Should register a subscriber before reading the snapshot it starts from")
+    void shouldRegisterSubscriberBeforeReadingSnapshot() {
+        when(occupancyEngine.getStatuses(null)).thenAnswer(invocation -> {
+            assertThat(occupancyBroadcaster.getSubscriberCount()).isEqualTo(1);
+            return List.of(lot.getStatus());
+        });
+
+        occupancyBroadcaster.subscribe(null);
+
+        verify(occupancyEngine).getStatuses(null);
+    }
+
+    @Test
+    @DisplayName("Should evict a subscriber whose send stalls and replace its sender thread")
+    void shouldEvictSubscriberWhoseSendStalls() {
+        ReflectionTestUtils.setField(occupancyBroadcaster, "sendTimeoutMillis", 1_000L);
+        when(occupancyEngine.getStatuses(null)).thenReturn(List.of());
+        SseEmitter emitter = occupancyBroadcaster.subscribe(null);
+        Set<?> subscribers = (Set<?>) ReflectionTestUtils.getField(occupancyBroadcaster, "subscribers");
+        AtomicLong sendStartedAt = (AtomicLong) ReflectionTestUtils.getField(subscribers.iterator().next(), "sendStartedAt");
+
+        sendStartedAt.set(System.currentTimeMillis() - 500);
+        assertThat(occupancyBroadcaster.evictStalledSenders()).isZero();
+
+        sendStartedAt.set(System.currentTimeMillis() - 5_000);
+        assertThat(occupancyBroadcaster.evictStalledSenders()).isEqualTo(1);
+
+        assertThat(occupancyBroadcaster.getSubscriberCount()).isZero();
+        assertThat(occupancyBroadcaster.getSenderPoolSize()).isEqualTo(2);
+        assertThatThrownBy(() -> emitter.send("late")).isInstanceOf(IllegalStateException.class);
+    }
+}
@@ -0,0 +1,223 @@
+package com.hitachi.smartpark.service;
+
+import com.hitachi.smartpark.dto.ParkingLotStatusResponse;
+import com.hitachi.smartpark.entity.ParkingLot;
+import com.hitachi.smartpark.exception.ResourceNotFoundException;
+import com.hitachi.smartpark.repository.LotOccupancyCount;
+import com.hitachi.smartpark.repository.ParkingLotJdbcRepository;
+import com.hitachi.smartpark.repository.ParkingLotRepository;
+import com.hitachi.smartpark.repository.ParkingSessionRepository;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Occupancy Engine Tests")
+class OccupancyEngineTest {
+
+    @Mock
+    private ParkingLotRepository parkingLotRepository;
+
+    @Mock
+    private ParkingLotJdbcRepository parkingLotJdbcRepository;
+
+    @Mock
+    private ParkingSessionRepository parkingSessionRepository;
+
+    @Mock
+    private EntityManagerFactory entityManagerFactory;
+
+    @Mock
+    private Cache secondLevelCache;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private OccupancyEngine occupancyEngine;
+
+    private ParkingLot testParkingLot;
+
+    @BeforeEach
+    void setUp() {
+        testParkingLot = new ParkingLot();
+        testParkingLot.setLotId("LOT-001");
+        testParkingLot.setLocation("Test Location");
+        testParkingLot.setCapacity(2);
+        testParkingLot.setOccupiedSpaces(0);
+        testParkingLot.setCostPerMinute(new BigDecimal("0.50"));
+    }
+
+    @Test
+    @DisplayName("Should admit vehicles in memory until capacity is reached")
+    void shouldAdmitVehiclesUntilCapacityIsReached() {
+        occupancyEngine.register(testParkingLot);
+
+        assertThat(occupancyEngine.tryAdmit("LOT-001")).isTrue();
+        assertThat(occupancyEngine.tryAdmit("LOT-001")).isTrue();
+        assertThat(occupancyEngine.tryAdmit("LOT-001")).isFalse();
+
+        ParkingLotStatusResponse status = occupancyEngine.getStatus("LOT-001");
+        assertThat(status.getOccupiedSpaces()).isEqualTo(2);
+        assertThat(status.getAvailableSpaces()).isZero();
+        verifyNoInteractions(parkingLotRepository);
+    }
+
+    @Test
+    @DisplayName("Should not release below zero")
+    void shouldNotReleaseBelowZero() {
+        occupancyEngine.register(testParkingLot);
+
+        occupancyEngine.release("LOT-001");
+
+        assertThat(occupancyEngine.getOccupiedSpaces("LOT-001")).isZero();
+    }
+
+    @Test
+    @DisplayName("Should flush aggregated deltas once per lot")
+    void shouldFlushAggregatedDeltasOncePerLot() {
+        occupancyEngine.register(testParkingLot);
+        occupancyEngine.tryAdmit("LOT-001");
+        occupancyEngine.tryAdmit("LOT-001");
+        occupancyEngine.release("LOT-001");
+        when(entityManagerFactory.getCache()).thenReturn(secondLevelCache);
+
+        int flushed = occupancyEngine.flush();
+        int flushedAgain = occupancyEngine.flush();
+
+        assertThat(flushed).isEqualTo(1);
+        assertThat(flushedAgain).isZero();
+        verify(parkingLotJdbcRepository, times(1)).addOccupiedSpaces(Map.of("LOT-001", 1));
+        verify(secondLevelCache, times(1)).evict(ParkingLot.class, "LOT-001");
+    }
+
+    @Test
+    @DisplayName("Should keep pending deltas when flush fails")
+    void shouldKeepPendingDeltasWhenFlushFails() {
+        occupancyEngine.register(testParkingLot);
+        occupancyEngine.tryAdmit("LOT-001");
+        when(parkingLotJdbcRepository.addOccupiedSpaces(anyMap()))
+                .thenThrow(new IllegalStateException("database unavailable"))
+                .thenReturn(new int[]{1});
+        when(entityManagerFactory.getCache()).thenReturn(secondLevelCache);
+
+        assertThatThrownBy(() -> occupancyEngine.flush()).isInstanceOf(IllegalStateException.class);
+        occupancyEngine.flush();
+
+        verify(parkingLotJdbcRepository, times(2)).addOccupiedSpaces(Map.of("LOT-001", 1));
+        verify(secondLevelCache, times(1)).evict(ParkingLot.class, "LOT-001");
+    }
+
+    @Test
+    @DisplayName("Should rebuild occupancy from parked vehicles and correct stale counts")
+    void shouldRebuildOccupancyFromParkedVehicles() {
+        testParkingLot.setOccupiedSpaces(2);
+        LotOccupancyCount count = mock(LotOccupancyCount.class);
+        when(count.getLotId()).thenReturn("LOT-001");
+        when(count.getOccupied()).thenReturn(1L);
+        when(parkingSessionRepository.countSessionsByLot()).thenReturn(List.of(count));
+        when(parkingLotRepository.findAll()).thenReturn(List.of(testParkingLot));
+
+        occupancyEngine.rebuild();
+
+        assertThat(occupancyEngine.getOccupiedSpaces("LOT-001")).isEqualTo(1);
+        verify(parkingLotRepository).updateOccupiedSpaces("LOT-001", 1);
+    }
+
+    @Test
+    @DisplayName("Should lazily load unknown lots and reject missing ones")
+    void shouldLazilyLoadUnknownLots() {
+        when(parkingLotRepository.findById("LOT-001")).thenReturn(Optional.of(testParkingLot));
+        when(parkingSessionRepository.countByLotId("LOT-001")).thenReturn(2L);
+        when(parkingLotRepository.findById("LOT-999")).thenReturn(Optional.empty());
+
+        assertThat(occupancyEngine.tryAdmit("LOT-001")).isFalse();
+        assertThatThrownBy(() -> occupancyEngine.tryAdmit("LOT-999"))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    @DisplayName("Should serve the same status snapshot until occupancy changes")
+    void shouldServeSameStatusSnapshotUntilOccupancyChanges() {
+        occupancyEngine.register(testParkingLot);
+        ParkingLotStatusResponse before = occupancyEngine.getStatus("LOT-001");
+
+        assertThat(occupancyEngine.getStatus("LOT-001")).isSameAs(before);
+
+        occupancyEngine.tryAdmit("LOT-001");
+        ParkingLotStatusResponse after = occupancyEngine.getStatus("LOT-001");
+
+        assertThat(after).isNotSameAs(before);
+        assertThat(after.getOccupiedSpaces()).isEqualTo(1);
+        assertThat(after.getAvailableSpaces()).isEqualTo(1);
+        assertThat(before.getOccupiedSpaces()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should correct drifted occupancy only after it is seen on two consecutive checks")
+    void shouldCorrectDriftOnlyAfterTwoConsecutiveChecks() {
+        occupancyEngine.register(testParkingLot);
+        occupancyEngine.tryAdmit("LOT-001");
+        occupancyEngine.tryAdmit("LOT-001");
+        when(parkingSessionRepository.countSessionsByLot()).thenReturn(List.of());
+
+        int firstCheck = occupancyEngine.reconcile();
+        int secondCheck = occupancyEngine.reconcile();
+
+        assertThat(firstCheck).isZero();
+        assertThat(secondCheck).isEqualTo(1);
+        assertThat(occupancyEngine.getStatus("LOT-001").getOccupiedSpaces()).isZero();
+        assertThat(occupancyEngine.flush()).isZero();
+        verify(parkingLotJdbcRepository, never()).addOccupiedSpaces(anyMap());
+    }
+
+    @Test
+    @DisplayName("Should not correct a mismatch that changes between checks")
+    void shouldNotCorrectMismatchThatChangesBetweenChecks() {
+        occupancyEngine.register(testParkingLot);
+        occupancyEngine.tryAdmit("LOT-001");
+        when(parkingSessionRepository.countSessionsByLot()).thenReturn(List.of());
+
+        occupancyEngine.reconcile();
+        occupancyEngine.tryAdmit("LOT-001");
+        int corrected = occupancyEngine.reconcile();
+
+        assertThat(corrected).isZero();
+        assertThat(occupancyEngine.getOccupiedSpaces("LOT-001")).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should change the status tag only when a selected lot changes")
+    void shouldChangeStatusTagOnlyWhenSelectedLotChanges() {
+        ParkingLot otherLot = new ParkingLot("LOT-002", "Other Location", 5, 0, BigDecimal.ONE, null);
+        occupancyEngine.register(testParkingLot);
+        occupancyEngine.register(otherLot);
+        String allLots = occupancyEngine.getStatusTag(null);
+        String firstLot = occupancyEngine.getStatusTag(List.of("LOT-001"));
+
+        occupancyEngine.tryAdmit("LOT-002");
+
+        assertThat(occupancyEngine.getStatusTag(null)).isNotEqualTo(allLots);
+        assertThat(occupancyEngine.getStatusTag(List.of("LOT-001"))).isEqualTo(firstLot);
+        assertThat(occupancyEngine.getStatuses(null))
+                .extracting(ParkingLotStatusResponse::getLotId)
+                .containsExactly("LOT-001", "LOT-002");
+    }
+}
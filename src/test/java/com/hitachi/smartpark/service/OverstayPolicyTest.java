@@ -0,0 +1,79 @@
+package com.hitachi.smartpark.service;
+
+import com.hitachi.smartpark.entity.ParkingLot;
+import com.hitachi.smartpark.entity.VehicleType;
+import com.hitachi.smartpark.repository.ParkingLotRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Overstay Policy Tests")
+class OverstayPolicyTest {
+
+    @Mock
+    private ParkingLotRepository parkingLotRepository;
+
+    @InjectMocks
+    private OverstayPolicy overstayPolicy;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(overstayPolicy, "environment",
+                new MockEnvironment().withProperty("app.overstay.type-limit-minutes.truck", "30"));
+        ReflectionTestUtils.setField(overstayPolicy, "defaultLimitMinutes", 15);
+        overstayPolicy.init();
+    }
+
+    @Test
+    @DisplayName("Should fall back to the default or vehicle type limit when the lot has none")
+    void shouldFallBackToDefaultOrTypeLimit() {
+        when(parkingLotRepository.findById("LOT-001")).thenReturn(Optional.of(lot("LOT-001", null)));
+
+        assertThat(overstayPolicy.limitFor("LOT-001", VehicleType.CAR)).isEqualTo(15);
+        assertThat(overstayPolicy.limitFor("LOT-001", VehicleType.TRUCK)).isEqualTo(30);
+        verify(parkingLotRepository, times(1)).findById("LOT-001");
+    }
+
+    @Test
+    @DisplayName("Should apply the stricter of the lot and vehicle type limits")
+    void shouldApplyStricterOfLotAndTypeLimits() {
+        when(parkingLotRepository.findById("LOT-002")).thenReturn(Optional.of(lot("LOT-002", 120)));
+        when(parkingLotRepository.findById("LOT-003")).thenReturn(Optional.of(lot("LOT-003", 10)));
+
+        assertThat(overstayPolicy.limitFor("LOT-002", VehicleType.CAR)).isEqualTo(120);
+        assertThat(overstayPolicy.limitFor("LOT-002", VehicleType.TRUCK)).isEqualTo(30);
+        assertThat(overstayPolicy.limitFor("LOT-003", VehicleType.TRUCK)).isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("Should use the limit of a newly registered lot without querying it")
+    void shouldUseLimitOfRegisteredLot() {
+        overstayPolicy.register(lot("LOT-004", 45));
+
+        assertThat(overstayPolicy.limitFor("LOT-004", VehicleType.MOTORCYCLE)).isEqualTo(45);
+        verify(parkingLotRepository, never()).findById(any());
+    }
+
+    private ParkingLot lot(String lotId, Integer maxStayMinutes) {
+        ParkingLot lot = new ParkingLot();
+        lot.setLotId(lotId);
+        lot.setLocation("Test Location");
+        lot.setCapacity(10);
+        lot.setCostPerMinute(new BigDecimal("1.00"));
+        lot.setMaxStayMinutes(maxStayMinutes);
+        return lot;
+    }
+}
@@ -0,0 +1,97 @@
+package com.hitachi.smartpark.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Overstay Wheel Tests")
+class OverstayWheelTest {
+
+    private final LocalDateTime checkInTime = LocalDateTime.of(2024, 1, 1, 8, 0);
+
+    @Test
+    @DisplayName("Should reject wheel sizes that are not a power of two")
+    void shouldRejectNonPowerOfTwoWheelSize() {
+        assertThatThrownBy(() -> new OverstayWheel(100, 1000, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Should fire deadlines only once they are due")
+    void shouldFireDeadlinesOnlyOnceDue() {
+        OverstayWheel wheel = new OverstayWheel(16, 1000, 0);
+        wheel.schedule(deadline("ABC-123", 2500));
+        wheel.schedule(deadline("XYZ-789", 5000));
+
+        assertThat(wheel.poll(2000, 10)).isEmpty();
+        assertThat(wheel.poll(2500, 10)).extracting(OverstayDeadline::licensePlate).containsExactly("ABC-123");
+        assertThat(wheel.poll(4999, 10)).isEmpty();
+        assertThat(wheel.poll(6000, 10)).extracting(OverstayDeadline::licensePlate).containsExactly("XYZ-789");
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should keep deadlines beyond one revolution until their round comes")
+    void shouldKeepDeadlinesBeyondOneRevolution() {
+        OverstayWheel wheel = new OverstayWheel(4, 1000, 0);
+        wheel.schedule(deadline("ABC-123", 9000));
+
+        assertThat(wheel.poll(5000, 10)).isEmpty();
+        assertThat(wheel.poll(8999, 10)).isEmpty();
+        assertThat(wheel.poll(9000, 10)).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Should not fire cancelled or superseded deadlines")
+    void shouldNotFireCancelledOrSupersededDeadlines() {
+        OverstayWheel wheel = new OverstayWheel(16, 1000, 0);
+        wheel.schedule(deadline("ABC-123", 1000));
+        wheel.schedule(deadline("XYZ-789", 1000));
+
+        assertThat(wheel.cancel("ABC-123", checkInTime.plusMinutes(1))).isFalse();
+        assertThat(wheel.cancel("ABC-123", checkInTime)).isTrue();
+        OverstayDeadline superseding = new OverstayDeadline("XYZ-789", "LOT-002", checkInTime.plusHours(1), 8000);
+        wheel.schedule(superseding);
+
+        assertThat(wheel.poll(3000, 10)).isEmpty();
+        assertThat(wheel.poll(8000, 10)).containsExactly(superseding);
+    }
+
+    @Test
+    @DisplayName("Should bound each poll to the batch size and resume on the next poll")
+    void shouldBoundEachPollToBatchSize() {
+        OverstayWheel wheel = new OverstayWheel(16, 1000, 0);
+        for (int i = 0; i < 25; i++) {
+            wheel.schedule(deadline("CAR-" + i, 1000 + i * 100L));
+        }
+
+        List<OverstayDeadline> first = wheel.poll(10_000, 10);
+        List<OverstayDeadline> second = wheel.poll(10_000, 10);
+        List<OverstayDeadline> third = wheel.poll(10_000, 10);
+
+        assertThat(first).hasSize(10);
+        assertThat(second).hasSize(10);
+        assertThat(third).hasSize(5);
+        assertThat(first.get(0).licensePlate()).isEqualTo("CAR-0");
+        assertThat(wheel.poll(10_000, 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should fire deadlines scheduled in the past on the next poll")
+    void shouldFireDeadlinesScheduledInThePast() {
+        OverstayWheel wheel = new OverstayWheel(16, 1000, 0);
+        wheel.poll(60_000, 10);
+        wheel.schedule(deadline("ABC-123", 1000));
+
+        assertThat(wheel.poll(60_000, 10)).hasSize(1);
+    }
+
+    private OverstayDeadline deadline(String licensePlate, long deadlineMillis) {
+        return new OverstayDeadline(licensePlate, "LOT-001", checkInTime, deadlineMillis);
+    }
+}
@@ -1,13 +1,20 @@
 package com.hitachi.smartpark.service;
 
+import com.hitachi.smartpark.dto.PageResponse;
 import com.hitachi.smartpark.dto.ParkingLotRequest;
+import com.hitachi.smartpark.dto.ParkingLotResponse;
 import com.hitachi.smartpark.dto.ParkingLotStatusResponse;
+import com.hitachi.smartpark.dto.ParkingSessionResponse;
+import com.hitachi.smartpark.dto.VehicleResponse;
 import com.hitachi.smartpark.entity.ParkingLot;
-import com.hitachi.smartpark.entity.Vehicle;
+import com.hitachi.smartpark.entity.SessionEndReason;
+import com.hitachi.smartpark.entity.VehicleType;
+import com.hitachi.smartpark.exception.BusinessException;
 import com.hitachi.smartpark.exception.ResourceAlreadyExistsException;
 import com.hitachi.smartpark.exception.ResourceNotFoundException;
+import com.hitachi.smartpark.repository.CompletedParkingSessionRepository;
 import com.hitachi.smartpark.repository.ParkingLotRepository;
-import com.hitachi.smartpark.repository.VehicleRepository;
+import com.hitachi.smartpark.repository.VehicleJdbcRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -15,8 +22,11 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -34,7 +44,16 @@ class ParkingLotServiceTest {
     private ParkingLotRepository parkingLotRepository;
 
     @Mock
-    private VehicleRepository vehicleRepository;
+    private VehicleJdbcRepository vehicleJdbcRepository;
+
+    @Mock
+    private CompletedParkingSessionRepository completedParkingSessionRepository;
+
+    @Mock
+    private OccupancyEngine occupancyEngine;
+
+    @Mock
+    private OverstayPolicy overstayPolicy;
 
     @InjectMocks
     private ParkingLotService parkingLotService;
@@ -44,6 +63,7 @@ class ParkingLotServiceTest {
 
     @BeforeEach
     void setUp() {
+        ReflectionTestUtils.setField(parkingLotService, "maxPageSize", 1000);
         testParkingLot = new ParkingLot();
         testParkingLot.setLotId("LOT-001");
         testParkingLot.setLocation("Test Location");
@@ -64,14 +84,17 @@ class ParkingLotServiceTest {
         when(parkingLotRepository.existsById("LOT-001")).thenReturn(false);
         when(parkingLotRepository.save(any(ParkingLot.class))).thenReturn(testParkingLot);
 
-        ParkingLot result = parkingLotService.registerParkingLot(testRequest);
+        ParkingLotResponse result = parkingLotService.registerParkingLot(testRequest);
 
         assertThat(result).isNotNull();
         assertThat(result.getLotId()).isEqualTo("LOT-001");
         assertThat(result.getLocation()).isEqualTo("Test Location");
         assertThat(result.getCapacity()).isEqualTo(50);
         assertThat(result.getOccupiedSpaces()).isEqualTo(0);
+        assertThat(result.getAvailableSpaces()).isEqualTo(50);
         verify(parkingLotRepository).save(any(ParkingLot.class));
+        verify(occupancyEngine).register(testParkingLot);
+        verify(overstayPolicy).register(testParkingLot);
     }
 
     @Test
@@ -91,7 +114,7 @@ class ParkingLotServiceTest {
     void shouldGetParkingLotByIdSuccessfully() {
         when(parkingLotRepository.findById("LOT-001")).thenReturn(Optional.of(testParkingLot));
 
-        ParkingLot result = parkingLotService.getParkingLot("LOT-001");
+        ParkingLotResponse result = parkingLotService.getParkingLot("LOT-001");
 
         assertThat(result).isNotNull();
         assertThat(result.getLotId()).isEqualTo("LOT-001");
@@ -111,8 +134,8 @@ class ParkingLotServiceTest {
     @Test
     @DisplayName("Should get parking lot status successfully")
     void shouldGetParkingLotStatusSuccessfully() {
-        testParkingLot.setOccupiedSpaces(10);
-        when(parkingLotRepository.findById("LOT-001")).thenReturn(Optional.of(testParkingLot));
+        when(occupancyEngine.getStatus("LOT-001"))
+                .thenReturn(new ParkingLotStatusResponse("LOT-001", "Test Location", 50, 10, 40));
 
         ParkingLotStatusResponse result = parkingLotService.getParkingLotStatus("LOT-001");
 
@@ -126,28 +149,98 @@ class ParkingLotServiceTest {
     @Test
     @DisplayName("Should get all parking lots successfully")
     void shouldGetAllParkingLotsSuccessfully() {
-        ParkingLot lot2 = new ParkingLot();
-        lot2.setLotId("LOT-002");
-        List<ParkingLot> lots = Arrays.asList(testParkingLot, lot2);
+        ParkingLotResponse lot1 = ParkingLotResponse.from(testParkingLot);
+        ParkingLotResponse lot2 = new ParkingLotResponse("LOT-002", "Other Location", 20, 5, 15, BigDecimal.ONE, null);
+        List<ParkingLotResponse> lots = Arrays.asList(lot1, lot2);
+
+        when(parkingLotRepository.findFirstPage(Limit.of(11))).thenReturn(lots);
 
-        when(parkingLotRepository.findAll()).thenReturn(lots);
+        PageResponse<ParkingLotResponse> result = parkingLotService.getParkingLots(null, 10);
 
-        List<ParkingLot> result = parkingLotService.getAllParkingLots();
+        assertThat(result.getItems()).containsExactly(lot1, lot2);
+        assertThat(result.getNextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should continue the parking lot listing after the cursor")
+    void shouldContinueParkingLotListingAfterCursor() {
+        ParkingLotResponse lot1 = ParkingLotResponse.from(testParkingLot);
+        ParkingLotResponse lot2 = new ParkingLotResponse("LOT-002", "Other Location", 20, 5, 15, BigDecimal.ONE, null);
+        when(parkingLotRepository.findPageAfter("LOT-000", Limit.of(2))).thenReturn(List.of(lot1, lot2));
+
+        PageResponse<ParkingLotResponse> result = parkingLotService.getParkingLots("LOT-000", 1);
+
+        assertThat(result.getItems()).containsExactly(lot1);
+        assertThat(result.getNextCursor()).isEqualTo("LOT-001");
+    }
+
+    @Test
+    @DisplayName("Should reject page sizes above the limit")
+    void shouldRejectPageSizesAboveLimit() {
+        assertThatThrownBy(() -> parkingLotService.getParkingLots(null, 1001))
+                .isInstanceOf(BusinessException.class)
+                .hasMessageContaining("Page size");
 
-        assertThat(result).hasSize(2);
-        assertThat(result).contains(testParkingLot, lot2);
+        verifyNoInteractions(parkingLotRepository);
     }
 
     @Test
     @DisplayName("Should get vehicles in lot successfully")
     void shouldGetVehiclesInLotSuccessfully() {
         when(parkingLotRepository.findById("LOT-001")).thenReturn(Optional.of(testParkingLot));
-        when(vehicleRepository.findByParkingLotLotId("LOT-001")).thenReturn(Arrays.asList(new Vehicle()));
+        LocalDateTime checkInTime = LocalDateTime.now().minusMinutes(5);
+        when(vehicleJdbcRepository.findPage(null, null, true, "LOT-001", 101)).thenReturn(List.of(
+                new VehicleResponse("ABC-123", VehicleType.CAR, "John Doe", "LOT-001", checkInTime)));
+
+        PageResponse<VehicleResponse> result = parkingLotService.getVehiclesInLot("LOT-001", null, 100, null);
+
+        assertThat(result.getItems()).hasSize(1);
+        assertThat(result.getItems().get(0).getLotId()).isEqualTo("LOT-001");
+        assertThat(result.getItems().get(0).getCheckInTime()).isEqualTo(checkInTime);
+        assertThat(result.getNextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should get completed session history for a parking lot")
+    void shouldGetCompletedSessionHistoryForParkingLot() {
+        when(parkingLotRepository.findById("LOT-001")).thenReturn(Optional.of(testParkingLot));
+        LocalDateTime checkOutTime = LocalDateTime.of(2024, 1, 1, 10, 0);
+        when(completedParkingSessionRepository.findFirstPageByLotId("LOT-001", Limit.of(2))).thenReturn(List.of(
+                new ParkingSessionResponse(7L, "ABC-123", "LOT-001", VehicleType.CAR, checkOutTime.minusHours(1),
+                        checkOutTime, SessionEndReason.CHECKED_OUT, new BigDecimal("30.00")),
+                new ParkingSessionResponse(6L, "XYZ-789", "LOT-001", VehicleType.CAR, checkOutTime.minusHours(2),
+                        checkOutTime, SessionEndReason.CHECKED_OUT, new BigDecimal("60.00"))));
+
+        PageResponse<ParkingSessionResponse> result = parkingLotService.getSessionHistory("LOT-001", null, 1);
+
+        assertThat(result.getItems()).extracting(ParkingSessionResponse::getId).containsExactly(7L);
+        assertThat(result.getNextCursor()).isEqualTo("2024-01-01T10:00_7");
+        verifyNoInteractions(vehicleJdbcRepository);
+    }
+
+    @Test
+    @DisplayName("Should continue lot session history after the cursor's check-out time and id")
+    void shouldContinueLotSessionHistoryAfterCursor() {
+        when(parkingLotRepository.findById("LOT-001")).thenReturn(Optional.of(testParkingLot));
+        when(completedParkingSessionRepository.findPageByLotIdBefore("LOT-001",
+                LocalDateTime.of(2024, 1, 1, 10, 0), 7L, Limit.of(101))).thenReturn(List.of());
+
+        PageResponse<ParkingSessionResponse> result =
+                parkingLotService.getSessionHistory("LOT-001", "2024-01-01T10:00_7", 100);
+
+        assertThat(result.getItems()).isEmpty();
+        assertThat(result.getNextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should reject malformed session history cursors")
+    void shouldRejectMalformedSessionHistoryCursors() {
+        when(parkingLotRepository.findById("LOT-001")).thenReturn(Optional.of(testParkingLot));
 
-        List<Vehicle> result = parkingLotService.getVehiclesInLot("LOT-001");
+        assertThatThrownBy(() -> parkingLotService.getSessionHistory("LOT-001", "not-a-cursor", 100))
+                .isInstanceOf(BusinessException.class);
 
-        assertThat(result).hasSize(1);
-        verify(vehicleRepository).findByParkingLotLotId("LOT-001");
+        verifyNoInteractions(completedParkingSessionRepository);
     }
 }
 
@@ -0,0 +1,169 @@
+package com.hitachi.smartpark.service;
+
+import com.hitachi.smartpark.repository.LotOccupancyCount;
+import com.hitachi.smartpark.repository.ParkingLotRepository;
+import com.hitachi.smartpark.repository.ParkingSessionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Snapshot Service Tests")
+class SnapshotServiceTest {
+
+    @Mock
+    private OccupancyEngine occupancyEngine;
+
+    @Mock
+    private OverstayTracker overstayTracker;
+
+    @Mock
+    private ParkingLotRepository parkingLotRepository;
+
+    @Mock
+    private ParkingSessionRepository parkingSessionRepository;
+
+    @InjectMocks
+    private SnapshotService snapshotService;
+
+    @TempDir
+    Path tempDir;
+
+    private Path snapshotPath;
+
+    @BeforeEach
+    void setUp() {
+        snapshotPath = tempDir.resolve("occupancy.snapshot");
+        ReflectionTestUtils.setField(snapshotService, "enabled", true);
+        ReflectionTestUtils.setField(snapshotService, "path", snapshotPath.toString());
+    }
+
+    @Test
+    @DisplayName("Should restore occupancy and sessions from a clean shutdown snapshot")
+    @SuppressWarnings("unchecked")
+    void shouldRestoreFromCleanShutdownSnapshot() {
+        LocalDateTime checkInTime = LocalDateTime.of(2024, 1, 1, 8, 30, 15, 123456000);
+        OverstayDeadline deadline = new OverstayDeadline("ABC-123", "LOT-001", checkInTime, 1_704_098_715_123L);
+        when(occupancyEngine.snapshotLots()).thenReturn(List.of(new LotOccupancy("LOT-001", "Downtown Plaza", 50, 1)));
+        when(overstayTracker.snapshotDeadlines()).thenReturn(List.of(deadline));
+        stubDatabase(1, checkInTime);
+
+        snapshotService.writeOnShutdown();
+        snapshotService.restore();
+
+        ArgumentCaptor<Collection<LotOccupancy>> lots = ArgumentCaptor.forClass(Collection.class);
+        verify(occupancyEngine).flush();
+        verify(occupancyEngine).restore(lots.capture());
+        verify(overstayTracker).restoreSnapshot(List.of(deadline));
+        LotOccupancy lot = lots.getValue().iterator().next();
+        assertThat(lot.getLotId()).isEqualTo("LOT-001");
+        assertThat(lot.getLocation()).isEqualTo("Downtown Plaza");
+        assertThat(lot.getCapacity()).isEqualTo(50);
+        assertThat(lot.getOccupied()).isEqualTo(1);
+        assertThat(snapshotService.getLastRestoreMillis()).isGreaterThanOrEqualTo(0);
+        assertThat(snapshotPath).doesNotExist();
+    }
+
+    @Test
+    @DisplayName("Should restore from a periodic snapshot that still matches the database")
+    void shouldRestoreFromPeriodicSnapshotThatMatchesDatabase() throws IOException {
+        LocalDateTime checkInTime = LocalDateTime.of(2024, 1, 1, 8, 30, 15, 123456000);
+        OverstayDeadline deadline = new OverstayDeadline("ABC-123", "LOT-001", checkInTime, 1_704_098_715_123L);
+        when(occupancyEngine.snapshotLots()).thenReturn(List.of(new LotOccupancy("LOT-001", "Downtown Plaza", 50, 1)));
+        when(overstayTracker.snapshotDeadlines()).thenReturn(List.of(deadline));
+        stubDatabase(1, checkInTime);
+
+        snapshotService.writeSnapshot();
+        snapshotService.restore();
+
+        verify(occupancyEngine).restore(any());
+        verify(overstayTracker).restoreSnapshot(List.of(deadline));
+        assertThat(snapshotService.isRestored()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should rebuild instead of restoring a periodic snapshot the database has moved past")
+    void shouldNotRestoreFromPeriodicSnapshotBehindDatabase() throws IOException {
+        LocalDateTime checkInTime = LocalDateTime.of(2024, 1, 1, 8, 30, 15, 123456000);
+        OverstayDeadline deadline = new OverstayDeadline("ABC-123", "LOT-001", checkInTime, 1_704_098_715_123L);
+        when(occupancyEngine.snapshotLots()).thenReturn(List.of(new LotOccupancy("LOT-001", "Downtown Plaza", 50, 1)));
+        when(overstayTracker.snapshotDeadlines()).thenReturn(List.of(deadline));
+        stubDatabase(1, checkInTime.plusMinutes(5));
+
+        snapshotService.writeSnapshot();
+        snapshotService.restore();
+
+        verify(occupancyEngine, never()).restore(any());
+        verify(overstayTracker, never()).restoreSnapshot(any());
+        assertThat(snapshotService.isRestored()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should rebuild instead of restoring a periodic snapshot whose counts differ from the database")
+    void shouldNotRestoreFromPeriodicSnapshotWithDifferentCounts() throws IOException {
+        when(occupancyEngine.snapshotLots()).thenReturn(List.of(new LotOccupancy("LOT-001", "Downtown Plaza", 50, 7)));
+        when(overstayTracker.snapshotDeadlines()).thenReturn(List.of());
+        when(parkingLotRepository.count()).thenReturn(1L);
+        when(parkingSessionRepository.countSessionsByLot()).thenReturn(List.of(occupancy("LOT-001", 6)));
+
+        snapshotService.writeSnapshot();
+        snapshotService.restore();
+
+        verify(occupancyEngine, never()).restore(any());
+        verify(overstayTracker, never()).restoreSnapshot(any());
+    }
+
+    @Test
+    @DisplayName("Should ignore a corrupted snapshot")
+    void shouldIgnoreCorruptedSnapshot() throws IOException {
+        when(occupancyEngine.snapshotLots()).thenReturn(List.of(new LotOccupancy("LOT-001", "Downtown Plaza", 50, 7)));
+        when(overstayTracker.snapshotDeadlines()).thenReturn(List.of());
+        snapshotService.writeOnShutdown();
+        byte[] bytes = Files.readAllBytes(snapshotPath);
+        bytes[bytes.length - 12] ^= 0x01;
+        Files.write(snapshotPath, bytes);
+
+        snapshotService.restore();
+
+        verify(occupancyEngine, never()).restore(any());
+        assertThat(snapshotService.getLastRestoreMillis()).isEqualTo(-1);
+    }
+
+    private void stubDatabase(long occupied, LocalDateTime latestCheckIn) {
+        when(parkingLotRepository.count()).thenReturn(1L);
+        when(parkingSessionRepository.countSessionsByLot()).thenReturn(List.of(occupancy("LOT-001", occupied)));
+        lenient().when(parkingSessionRepository.findLatestCheckInTime()).thenReturn(latestCheckIn);
+    }
+
+    private static LotOccupancyCount occupancy(String lotId, long occupied) {
+        return new LotOccupancyCount() {
+            @Override
+            public String getLotId() {
+                return lotId;
+            }
+
+            @Override
+            public long getOccupied() {
+                return occupied;
+            }
+        };
+    }
+}
@@ -2,30 +2,51 @@ package com.hitachi.smartpark.service;
 
 import com.hitachi.smartpark.dto.CheckInRequest;
 import com.hitachi.smartpark.dto.CheckOutResponse;
+import com.hitachi.smartpark.dto.GateEventBatchResponse;
+import com.hitachi.smartpark.dto.GateEventRequest;
+import com.hitachi.smartpark.dto.GateEventStatus;
+import com.hitachi.smartpark.dto.GateEventType;
+import com.hitachi.smartpark.dto.PageResponse;
 import com.hitachi.smartpark.dto.VehicleRequest;
+import com.hitachi.smartpark.dto.VehicleResponse;
 import com.hitachi.smartpark.entity.ParkingLot;
+import com.hitachi.smartpark.entity.ParkingSession;
 import com.hitachi.smartpark.entity.Vehicle;
 import com.hitachi.smartpark.entity.VehicleType;
 import com.hitachi.smartpark.exception.BusinessException;
 import com.hitachi.smartpark.exception.ResourceAlreadyExistsException;
 import com.hitachi.smartpark.exception.ResourceNotFoundException;
+import com.hitachi.smartpark.repository.CompletedParkingSessionRepository;
+import com.hitachi.smartpark.repository.ParkedSession;
 import com.hitachi.smartpark.repository.ParkingLotRepository;
+import com.hitachi.smartpark.repository.ParkingSessionJdbcRepository;
+import com.hitachi.smartpark.repository.ParkingSessionRepository;
+import com.hitachi.smartpark.repository.ParkingSessionTransition;
+import com.hitachi.smartpark.repository.VehicleJdbcRepository;
 import com.hitachi.smartpark.repository.VehicleRepository;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -35,9 +56,33 @@ class VehicleServiceTest {
     @Mock
     private VehicleRepository vehicleRepository;
 
+    @Mock
+    private VehicleJdbcRepository vehicleJdbcRepository;
+
     @Mock
     private ParkingLotRepository parkingLotRepository;
 
+    @Mock
+    private OccupancyEngine occupancyEngine;
+
+    @Mock
+    private ParkingSessionRepository parkingSessionRepository;
+
+    @Mock
+    private ParkingSessionJdbcRepository parkingSessionJdbcRepository;
+
+    @Mock
+    private CompletedParkingSessionRepository completedParkingSessionRepository;
+
+    @Mock
+    private OverstayTracker overstayTracker;
+
+    @Mock
+    private EventJournal eventJournal;
+
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
     @InjectMocks
     private VehicleService vehicleService;
 
@@ -76,7 +121,7 @@ class VehicleServiceTest {
         when(vehicleRepository.existsById("ABC-123")).thenReturn(false);
         when(vehicleRepository.save(any(Vehicle.class))).thenReturn(testVehicle);
 
-        Vehicle result = vehicleService.registerVehicle(vehicleRequest);
+        VehicleResponse result = vehicleService.registerVehicle(vehicleRequest);
 
         assertThat(result).isNotNull();
         assertThat(result.getLicensePlate()).isEqualTo("ABC-123");
@@ -102,39 +147,57 @@ class VehicleServiceTest {
     void shouldCheckInVehicleSuccessfully() {
         when(vehicleRepository.findById("ABC-123")).thenReturn(Optional.of(testVehicle));
         when(parkingLotRepository.findById("LOT-001")).thenReturn(Optional.of(testParkingLot));
-        when(vehicleRepository.save(any(Vehicle.class))).thenReturn(testVehicle);
+        when(occupancyEngine.tryAdmit("LOT-001")).thenReturn(true);
+        when(parkingSessionJdbcRepository.applyTransitions(anyList())).thenReturn(new int[]{1});
 
-        Vehicle result = vehicleService.checkIn(checkInRequest);
+        VehicleResponse result = vehicleService.checkIn(checkInRequest);
 
         assertThat(result).isNotNull();
-        verify(parkingLotRepository).save(testParkingLot);
-        verify(vehicleRepository).save(any(Vehicle.class));
+        assertThat(result.isParked()).isTrue();
+        assertThat(result.getLotId()).isEqualTo("LOT-001");
+        verify(overstayTracker).track("ABC-123", "LOT-001", VehicleType.CAR, result.getCheckInTime());
+        verify(parkingLotRepository, never()).save(any(ParkingLot.class));
+        verify(vehicleRepository, never()).save(any(Vehicle.class));
     }
 
     @Test
     @DisplayName("Should throw exception when checking in to full parking lot")
     void shouldThrowExceptionWhenCheckingInToFullParkingLot() {
-        testParkingLot.setOccupiedSpaces(50);
         when(vehicleRepository.findById("ABC-123")).thenReturn(Optional.of(testVehicle));
-        when(parkingLotRepository.findById("LOT-001")).thenReturn(Optional.of(testParkingLot));
+        when(occupancyEngine.tryAdmit("LOT-001")).thenReturn(false);
 
         assertThatThrownBy(() -> vehicleService.checkIn(checkInRequest))
                 .isInstanceOf(BusinessException.class)
                 .hasMessageContaining("full");
 
-        verify(vehicleRepository, never()).save(any(Vehicle.class));
+        verify(parkingSessionJdbcRepository, never()).applyTransitions(any());
+    }
+
+    @Test
+    @DisplayName("Should throw exception when vehicle is parked concurrently during check-in")
+    void shouldThrowExceptionWhenVehicleIsParkedConcurrentlyDuringCheckIn() {
+        when(vehicleRepository.findById("ABC-123")).thenReturn(Optional.of(testVehicle));
+        when(parkingLotRepository.findById("LOT-001")).thenReturn(Optional.of(testParkingLot));
+        when(occupancyEngine.tryAdmit("LOT-001")).thenReturn(true);
+        when(parkingSessionJdbcRepository.applyTransitions(anyList())).thenReturn(new int[]{0});
+
+        assertThatThrownBy(() -> vehicleService.checkIn(checkInRequest))
+                .isInstanceOf(BusinessException.class)
+                .hasMessageContaining("already parked");
     }
 
     @Test
     @DisplayName("Should throw exception when checking in already parked vehicle")
     void shouldThrowExceptionWhenCheckingInAlreadyParkedVehicle() {
-        testVehicle.setParkingLot(testParkingLot);
-        testVehicle.setCheckInTime(LocalDateTime.now());
         when(vehicleRepository.findById("ABC-123")).thenReturn(Optional.of(testVehicle));
+        when(parkingSessionRepository.findById("ABC-123")).thenReturn(Optional.of(
+                new ParkingSession("ABC-123", "LOT-001", VehicleType.CAR, LocalDateTime.now())));
 
         assertThatThrownBy(() -> vehicleService.checkIn(checkInRequest))
                 .isInstanceOf(BusinessException.class)
-                .hasMessageContaining("already parked");
+                .hasMessageContaining("already parked in lot: LOT-001");
+
+        verify(occupancyEngine, never()).tryAdmit(any());
     }
 
     @Test
@@ -150,9 +213,12 @@ class VehicleServiceTest {
     @Test
     @DisplayName("Should check out vehicle successfully and calculate cost")
     void shouldCheckOutVehicleSuccessfullyAndCalculateCost() {
-        testVehicle.setParkingLot(testParkingLot);
-        testVehicle.setCheckInTime(LocalDateTime.now().minusMinutes(10));
+        LocalDateTime checkInTime = LocalDateTime.now().minusMinutes(10);
         when(vehicleRepository.findById("ABC-123")).thenReturn(Optional.of(testVehicle));
+        when(parkingSessionRepository.findById("ABC-123")).thenReturn(Optional.of(
+                new ParkingSession("ABC-123", "LOT-001", VehicleType.CAR, checkInTime)));
+        when(parkingLotRepository.findById("LOT-001")).thenReturn(Optional.of(testParkingLot));
+        when(parkingSessionJdbcRepository.applyTransitions(anyList())).thenReturn(new int[]{1});
 
         CheckOutResponse result = vehicleService.checkOut("ABC-123");
 
@@ -160,8 +226,194 @@ class VehicleServiceTest {
         assertThat(result.getLicensePlate()).isEqualTo("ABC-123");
         assertThat(result.getMinutesParked()).isGreaterThanOrEqualTo(10);
         assertThat(result.getParkingCost()).isGreaterThan(BigDecimal.ZERO);
-        verify(parkingLotRepository).save(testParkingLot);
-        verify(vehicleRepository).save(testVehicle);
+        verify(occupancyEngine).release("LOT-001");
+        verify(overstayTracker).untrack("ABC-123", checkInTime);
+        verify(vehicleRepository, never()).save(any(Vehicle.class));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<ParkingSessionTransition>> transitions = ArgumentCaptor.forClass(List.class);
+        verify(parkingSessionJdbcRepository).applyTransitions(transitions.capture());
+        ParkingSessionTransition transition = transitions.getValue().get(0);
+        assertThat(transition.isCheckOut()).isTrue();
+        assertThat(transition.getCheckInTime()).isEqualTo(checkInTime);
+        assertThat(transition.getParkingCost()).isEqualByComparingTo(result.getParkingCost());
     }
-}
 
+    @Test
+    @DisplayName("Should not release space when vehicle was checked out concurrently")
+    void shouldNotReleaseSpaceWhenVehicleWasCheckedOutConcurrently() {
+        LocalDateTime checkInTime = LocalDateTime.now().minusMinutes(10);
+        when(vehicleRepository.findById("ABC-123")).thenReturn(Optional.of(testVehicle));
+        when(parkingSessionRepository.findById("ABC-123")).thenReturn(Optional.of(
+                new ParkingSession("ABC-123", "LOT-001", VehicleType.CAR, checkInTime)));
+        when(parkingLotRepository.findById("LOT-001")).thenReturn(Optional.of(testParkingLot));
+        when(parkingSessionJdbcRepository.applyTransitions(anyList())).thenReturn(new int[]{0});
+
+        assertThatThrownBy(() -> vehicleService.checkOut("ABC-123"))
+                .isInstanceOf(BusinessException.class)
+                .hasMessageContaining("not currently parked");
+
+        verify(occupancyEngine, never()).release(any());
+    }
+
+    @Test
+    @DisplayName("Should process mixed gate events and report a result per event")
+    void shouldProcessMixedGateEventsAndReportResultPerEvent() {
+        ReflectionTestUtils.setField(vehicleService, "maxGateEventBatchSize", 100);
+        Vehicle parked = new Vehicle();
+        parked.setLicensePlate("XYZ-789");
+        parked.setType(VehicleType.CAR);
+        parked.setOwnerName("Jane Smith");
+        when(vehicleRepository.findAllById(any())).thenReturn(List.of(testVehicle, parked));
+        when(parkingSessionRepository.findAllById(any())).thenReturn(List.of(
+                new ParkingSession("XYZ-789", "LOT-001", VehicleType.CAR, LocalDateTime.now().minusMinutes(10))));
+        when(parkingLotRepository.findById("LOT-001")).thenReturn(Optional.of(testParkingLot));
+        when(occupancyEngine.tryAdmit("LOT-001")).thenReturn(true);
+        when(parkingSessionJdbcRepository.applyTransitions(any())).thenReturn(new int[]{1, 1});
+
+        List<GateEventRequest> events = Arrays.asList(
+                new GateEventRequest(GateEventType.CHECK_IN, "ABC-123", "LOT-001"),
+                new GateEventRequest(GateEventType.CHECK_IN, "ABC-123", "LOT-001"),
+                new GateEventRequest(GateEventType.CHECK_OUT, "XYZ-789", null),
+                new GateEventRequest(GateEventType.CHECK_OUT, "NOPE-1", null),
+                new GateEventRequest(GateEventType.CHECK_IN, "XYZ-789", null),
+                null
+        );
+
+        GateEventBatchResponse response = vehicleService.processGateEvents(events);
+
+        assertThat(response.getTotal()).isEqualTo(6);
+        assertThat(response.getSucceeded()).isEqualTo(2);
+        assertThat(response.getResults()).extracting("status").containsExactly(
+                GateEventStatus.SUCCESS,
+                GateEventStatus.ALREADY_PARKED,
+                GateEventStatus.SUCCESS,
+                GateEventStatus.NOT_FOUND,
+                GateEventStatus.INVALID,
+                GateEventStatus.INVALID);
+        assertThat(response.getResults().get(2).getParkingCost()).isGreaterThan(BigDecimal.ZERO);
+        verify(occupancyEngine).release("LOT-001");
+        verify(vehicleRepository, never()).save(any(Vehicle.class));
+    }
+
+    @Test
+    @DisplayName("Should report lot full and release reservation when batch check-in loses a race")
+    void shouldReportLotFullAndReleaseReservationWhenBatchCheckInLosesRace() {
+        ReflectionTestUtils.setField(vehicleService, "maxGateEventBatchSize", 100);
+        Vehicle other = new Vehicle();
+        other.setLicensePlate("XYZ-789");
+        other.setType(VehicleType.CAR);
+        other.setOwnerName("Jane Smith");
+        when(vehicleRepository.findAllById(any())).thenReturn(List.of(testVehicle, other));
+        when(parkingLotRepository.findById("LOT-001")).thenReturn(Optional.of(testParkingLot));
+        when(occupancyEngine.tryAdmit("LOT-001")).thenReturn(true, false);
+        when(parkingSessionJdbcRepository.applyTransitions(any())).thenReturn(new int[]{0});
+
+        GateEventBatchResponse response = vehicleService.processGateEvents(List.of(
+                new GateEventRequest(GateEventType.CHECK_IN, "ABC-123", "LOT-001"),
+                new GateEventRequest(GateEventType.CHECK_IN, "XYZ-789", "LOT-001")));
+
+        assertThat(response.getResults()).extracting("status")
+                .containsExactly(GateEventStatus.ALREADY_PARKED, GateEventStatus.LOT_FULL);
+        verify(occupancyEngine).release("LOT-001");
+    }
+
+    @Test
+    @DisplayName("Should revoke a check-in that reused a freed space when the lot cannot re-admit it")
+    void shouldRevokeCheckInThatReusedFreedSpaceWhenLotCannotReadmitIt() {
+        ReflectionTestUtils.setField(vehicleService, "maxGateEventBatchSize", 100);
+        Vehicle parked = new Vehicle();
+        parked.setLicensePlate("XYZ-789");
+        parked.setType(VehicleType.CAR);
+        parked.setOwnerName("Jane Smith");
+        when(vehicleRepository.findAllById(any())).thenReturn(List.of(testVehicle, parked));
+        when(parkingSessionRepository.findAllById(any())).thenReturn(List.of(
+                new ParkingSession("XYZ-789", "LOT-001", VehicleType.CAR, LocalDateTime.now().minusMinutes(10))));
+        when(parkingLotRepository.findById("LOT-001")).thenReturn(Optional.of(testParkingLot));
+        when(occupancyEngine.tryAdmit("LOT-001")).thenReturn(false);
+        when(parkingSessionJdbcRepository.applyTransitions(any())).thenReturn(new int[]{0, 1});
+
+        GateEventBatchResponse response = vehicleService.processGateEvents(List.of(
+                new GateEventRequest(GateEventType.CHECK_OUT, "XYZ-789", null),
+                new GateEventRequest(GateEventType.CHECK_IN, "ABC-123", "LOT-001")));
+
+        assertThat(response.getResults()).extracting("status")
+                .containsExactly(GateEventStatus.NOT_PARKED, GateEventStatus.LOT_FULL);
+        ArgumentCaptor<List<ParkingSessionTransition>> revoked = ArgumentCaptor.forClass(List.class);
+        verify(parkingSessionJdbcRepository).revokeCheckIns(revoked.capture());
+        assertThat(revoked.getValue()).extracting("licensePlate").containsExactly("ABC-123");
+        verify(overstayTracker, never()).track(any(), any(), any(), any());
+        verify(eventJournal, never()).appendAfterCommit(any(), any(), any(), any(), any());
+        verify(occupancyEngine, never()).release(any());
+    }
+
+    @Test
+    @DisplayName("Should reject gate event batches above the size limit")
+    void shouldRejectGateEventBatchesAboveSizeLimit() {
+        ReflectionTestUtils.setField(vehicleService, "maxGateEventBatchSize", 1);
+
+        assertThatThrownBy(() -> vehicleService.processGateEvents(List.of(
+                new GateEventRequest(GateEventType.CHECK_OUT, "ABC-123", null),
+                new GateEventRequest(GateEventType.CHECK_OUT, "XYZ-789", null))))
+                .isInstanceOf(BusinessException.class);
+    }
+
+    @Test
+    @DisplayName("Should return a vehicle page with the next cursor")
+    void shouldReturnVehiclePageWithNextCursor() {
+        ReflectionTestUtils.setField(vehicleService, "maxPageSize", 1000);
+        LocalDateTime checkInTime = LocalDateTime.now().minusMinutes(5);
+        when(vehicleJdbcRepository.findPage("AAA-000", VehicleType.CAR, null, null, 3)).thenReturn(List.of(
+                new VehicleResponse("ABC-123", VehicleType.CAR, "John Doe", "LOT-001", checkInTime),
+                new VehicleResponse("ABC-124", VehicleType.CAR, "Jane Doe", "LOT-001", checkInTime),
+                new VehicleResponse("ABC-125", VehicleType.CAR, "Jim Doe", null, null)));
+
+        PageResponse<VehicleResponse> page = vehicleService.getVehicles("AAA-000", 2, VehicleType.CAR, null, null);
+
+        assertThat(page.getItems()).extracting(VehicleResponse::getLicensePlate).containsExactly("ABC-123", "ABC-124");
+        assertThat(page.getItems()).allMatch(VehicleResponse::isParked);
+        assertThat(page.getNextCursor()).isEqualTo("ABC-124");
+        verifyNoInteractions(parkingLotRepository);
+    }
+
+    @Test
+    @DisplayName("Should reject vehicle pages smaller than one")
+    void shouldRejectVehiclePagesSmallerThanOne() {
+        ReflectionTestUtils.setField(vehicleService, "maxPageSize", 1000);
+
+        assertThatThrownBy(() -> vehicleService.getVehicles(null, 0, null, null, null))
+                .isInstanceOf(BusinessException.class);
+
+        verifyNoInteractions(vehicleJdbcRepository);
+    }
+
+    @Test
+    @DisplayName("Should reject session history lookups for unknown vehicles")
+    void shouldRejectSessionHistoryForUnknownVehicles() {
+        ReflectionTestUtils.setField(vehicleService, "maxPageSize", 1000);
+        when(vehicleRepository.existsById("NOPE-1")).thenReturn(false);
+
+        assertThatThrownBy(() -> vehicleService.getSessionHistory("NOPE-1", null, 100))
+                .isInstanceOf(ResourceNotFoundException.class);
+
+        verifyNoInteractions(completedParkingSessionRepository);
+    }
+
+    @Test
+    @DisplayName("Should expire overstays whose session is unchanged and release their spaces")
+    void shouldExpireOverstaysWhoseSessionIsUnchanged() {
+        LocalDateTime checkInTime = LocalDateTime.now().minusMinutes(20);
+        List<OverstayDeadline> deadlines = List.of(
+                new OverstayDeadline("ABC-123", "LOT-001", checkInTime, 0L),
+                new OverstayDeadline("XYZ-789", "LOT-001", checkInTime, 0L));
+        ParkedSession unchanged = new ParkedSession("ABC-123", "LOT-001", VehicleType.CAR, checkInTime);
+        ParkedSession reparked = new ParkedSession("XYZ-789", "LOT-001", VehicleType.CAR, checkInTime.plusMinutes(5));
+        when(parkingSessionJdbcRepository.lockSessions(any())).thenReturn(List.of(unchanged, reparked));
+
+        int expired = vehicleService.expireOverstays(deadlines);
+
+        assertThat(expired).isEqualTo(1);
+        verify(parkingSessionJdbcRepository).removeSessions(eq(List.of(unchanged)), any(LocalDateTime.class));
+        verify(occupancyEngine, times(1)).release("LOT-001");
+    }
+}